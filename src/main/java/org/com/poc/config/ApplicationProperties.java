@@ -1,5 +1,9 @@
 package org.com.poc.config;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +13,564 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final ApproximateCount approximateCount = new ApproximateCount();
+
+    private final Bulk bulk = new Bulk();
+
+    private final Statistics statistics = new Statistics();
+
+    private final QueryCache queryCache = new QueryCache();
+
+    private final DatasourceRouting datasourceRouting = new DatasourceRouting();
+
+    private final Cache cache = new Cache();
+
+    private final CacheWarmUp cacheWarmUp = new CacheWarmUp();
+
+    private final CacheInvalidation cacheInvalidation = new CacheInvalidation();
+
+    private final ResponseCache responseCache = new ResponseCache();
+
+    private final UserExistenceFilter userExistenceFilter = new UserExistenceFilter();
+
+    public ApproximateCount getApproximateCount() {
+        return approximateCount;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    public QueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    public DatasourceRouting getDatasourceRouting() {
+        return datasourceRouting;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public CacheWarmUp getCacheWarmUp() {
+        return cacheWarmUp;
+    }
+
+    public CacheInvalidation getCacheInvalidation() {
+        return cacheInvalidation;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public UserExistenceFilter getUserExistenceFilter() {
+        return userExistenceFilter;
+    }
+
+    public static class ApproximateCount {
+
+        /**
+         * Delay in milliseconds between two background refreshes of the cached entity counts.
+         */
+        private long refreshDelayMs = 60000;
+
+        public long getRefreshDelayMs() {
+            return refreshDelayMs;
+        }
+
+        public void setRefreshDelayMs(long refreshDelayMs) {
+            this.refreshDelayMs = refreshDelayMs;
+        }
+    }
+
+    public static class Bulk {
+
+        /**
+         * Number of rows committed per transaction by the bulk endpoints.
+         */
+        private int chunkSize = 1000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Statistics {
+
+        /**
+         * Delay in milliseconds between two reconciliations of the in-memory statistics with the database.
+         */
+        private long reconcileDelayMs = 300000;
+
+        public long getReconcileDelayMs() {
+            return reconcileDelayMs;
+        }
+
+        public void setReconcileDelayMs(long reconcileDelayMs) {
+            this.reconcileDelayMs = reconcileDelayMs;
+        }
+    }
+
+    public static class QueryCache {
+
+        /**
+         * Whether the results of the hot list queries are cached.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of pages cached per list query, from the first one.
+         */
+        private int maxPages = 5;
+
+        /**
+         * Maximum number of pages kept in the query results cache.
+         */
+        private long maxEntries = 1000;
+
+        /**
+         * Time to live of a cached page, in seconds.
+         */
+        private int timeToLiveSeconds = 300;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxPages() {
+            return maxPages;
+        }
+
+        public void setMaxPages(int maxPages) {
+            this.maxPages = maxPages;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public int getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+    }
+
+    public static class DatasourceRouting {
+
+        /**
+         * Whether the read-only transactions are sent to the replicas.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Time in milliseconds during which the requests of a client that wrote are sent to the primary.
+         */
+        private long readYourWritesMs = 5000;
+
+        /**
+         * The read replicas of the primary database.
+         */
+        private List<Replica> replicas = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getReadYourWritesMs() {
+            return readYourWritesMs;
+        }
+
+        public void setReadYourWritesMs(long readYourWritesMs) {
+            this.readYourWritesMs = readYourWritesMs;
+        }
+
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+
+        public void setReplicas(List<Replica> replicas) {
+            this.replicas = replicas;
+        }
+
+        public static class Replica {
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Sizing of the cache regions, by name: the entity and collection regions are named relatively to the
+         * domain package, such as {@code Room} or {@code [Resident.rooms]}. The regions not listed use the
+         * {@code jhipster.cache.ehcache} settings.
+         */
+        private Map<String, Region> regions = new LinkedHashMap<>();
+
+        /**
+         * One get out of this number is timed and has its key counted, to find the hot keys of the regions.
+         */
+        private int hotKeySampleRate = 16;
+
+        /**
+         * Number of hot keys listed per region.
+         */
+        private int hotKeyCount = 20;
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(Map<String, Region> regions) {
+            this.regions = regions;
+        }
+
+        public int getHotKeySampleRate() {
+            return hotKeySampleRate;
+        }
+
+        public void setHotKeySampleRate(int hotKeySampleRate) {
+            this.hotKeySampleRate = hotKeySampleRate;
+        }
+
+        public int getHotKeyCount() {
+            return hotKeyCount;
+        }
+
+        public void setHotKeyCount(int hotKeyCount) {
+            this.hotKeyCount = hotKeyCount;
+        }
+
+        public static class Region {
+
+            /**
+             * Number of entries kept on the heap, the {@code jhipster.cache.ehcache.max-entries} by default.
+             */
+            private Long heapEntries;
+
+            /**
+             * Size in megabytes of the off-heap tier, under the heap one; 0 for no off-heap tier.
+             */
+            private long offHeapMb = 0;
+
+            /**
+             * Time to live of the entries, in seconds, the {@code jhipster.cache.ehcache.time-to-live-seconds} by default.
+             */
+            private Integer timeToLiveSeconds;
+
+            /**
+             * Part of the time to live after which an entry read through {@code @Cacheable} is reloaded in the
+             * background, for instance 0.8; none by default.
+             */
+            private Double refreshAheadRatio;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+
+            public Integer getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Integer timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public Double getRefreshAheadRatio() {
+                return refreshAheadRatio;
+            }
+
+            public void setRefreshAheadRatio(Double refreshAheadRatio) {
+                this.refreshAheadRatio = refreshAheadRatio;
+            }
+        }
+    }
+
+    public static class CacheWarmUp {
+
+        /**
+         * Whether the caches are loaded at startup, the readiness probe reporting out of service meanwhile.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Time in milliseconds after which the application is reported ready even if the warm-up is not over.
+         */
+        private long timeBudgetMs = 60000;
+
+        /**
+         * Number of entities loaded per task.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Number of most recently modified rooms, residents and facilities loaded, per entity.
+         */
+        private int maxEntities = 10000;
+
+        /**
+         * Number of most recently modified users loaded.
+         */
+        private int maxUsers = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getTimeBudgetMs() {
+            return timeBudgetMs;
+        }
+
+        public void setTimeBudgetMs(long timeBudgetMs) {
+            this.timeBudgetMs = timeBudgetMs;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxEntities() {
+            return maxEntities;
+        }
+
+        public void setMaxEntities(int maxEntities) {
+            this.maxEntities = maxEntities;
+        }
+
+        public int getMaxUsers() {
+            return maxUsers;
+        }
+
+        public void setMaxUsers(int maxUsers) {
+            this.maxUsers = maxUsers;
+        }
+    }
+
+    public static class CacheInvalidation {
+
+        /**
+         * Whether the evictions of the local caches are broadcast to the other nodes, and the ones of the other nodes
+         * applied.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Id of the node in the messages, random if not set.
+         */
+        private String nodeId;
+
+        /**
+         * Name of the channel shared by the nodes of a deployment.
+         */
+        private String channel = "poc";
+
+        /**
+         * Time in milliseconds during which the invalidations are coalesced before being sent.
+         */
+        private long flushIntervalMs = 50;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getNodeId() {
+            return nodeId;
+        }
+
+        public void setNodeId(String nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public void setChannel(String channel) {
+            this.channel = channel;
+        }
+
+        public long getFlushIntervalMs() {
+            return flushIntervalMs;
+        }
+
+        public void setFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+        }
+    }
+
+    public static class ResponseCache {
+
+        /**
+         * Whether the responses of the hot {@code GET} endpoints are cached.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Memory used by the cached responses, in megabytes, their gzipped copy included.
+         */
+        private int maxSizeMb = 32;
+
+        /**
+         * Responses larger than this, in kilobytes, are not cached.
+         */
+        private int maxEntrySizeKb = 512;
+
+        /**
+         * Time to live of a cached response, in seconds.
+         */
+        private int timeToLiveSeconds = 300;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSizeMb() {
+            return maxSizeMb;
+        }
+
+        public void setMaxSizeMb(int maxSizeMb) {
+            this.maxSizeMb = maxSizeMb;
+        }
+
+        public int getMaxEntrySizeKb() {
+            return maxEntrySizeKb;
+        }
+
+        public void setMaxEntrySizeKb(int maxEntrySizeKb) {
+            this.maxEntrySizeKb = maxEntrySizeKb;
+        }
+
+        public int getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+    }
+
+    public static class UserExistenceFilter {
+
+        /**
+         * Whether the logins and emails are checked against in-memory filters before querying the database.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Rate of the unused logins and emails that the filters report as maybe used.
+         */
+        private double falsePositiveRate = 0.01;
+
+        /**
+         * Delay in milliseconds between two reads of the users inserted by the other instances.
+         */
+        private long refreshMs = 10000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getFalsePositiveRate() {
+            return falsePositiveRate;
+        }
+
+        public void setFalsePositiveRate(double falsePositiveRate) {
+            this.falsePositiveRate = falsePositiveRate;
+        }
+
+        public long getRefreshMs() {
+            return refreshMs;
+        }
+
+        public void setRefreshMs(long refreshMs) {
+            this.refreshMs = refreshMs;
+        }
+    }
+}
@@ -1,14 +1,37 @@
 package org.com.poc.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import org.com.poc.management.CacheAccessTracker;
+import org.com.poc.security.UserExistenceFilter;
+import org.com.poc.service.RoomStatisticsService;
+import org.com.poc.service.invalidation.CacheInvalidationBus;
+import org.com.poc.service.invalidation.CacheInvalidationTransport;
+import org.com.poc.service.invalidation.LoopbackCacheInvalidationTransport;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.annotation.CachingConfigurerSupport;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.*;
@@ -19,25 +42,52 @@ import tech.jhipster.config.cache.PrefixedKeyGenerator;
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final String DOMAIN_PACKAGE_PREFIX = org.com.poc.domain.User.class.getPackageName() + ".";
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.QueryCache queryCache;
+    private final Map<String, ApplicationProperties.Cache.Region> regions;
+    private final Map<String, Duration> refreshAheadAfter = new ConcurrentHashMap<>();
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.queryCache = applicationProperties.getQueryCache();
+        this.regions = applicationProperties.getCache().getRegions();
+    }
 
-        jcacheConfiguration =
-            Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder
-                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                    .build()
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(
+        javax.cache.CacheManager cacheManager,
+        CacheAccessTracker cacheAccessTracker,
+        CacheInvalidationBus cacheInvalidationBus,
+        UserExistenceFilter userExistenceFilter,
+        ObjectProvider<RoomStatisticsService> roomStatisticsService
+    ) {
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, new TrackingJCacheRegionFactory(cacheAccessTracker));
+            hibernateProperties.put(
+                EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () ->
+                    List.of(
+                        new CacheInvalidationIntegrator(cacheInvalidationBus),
+                        new UserExistenceFilterIntegrator(userExistenceFilter),
+                        new RoomStatisticsIntegrator(roomStatisticsService)
+                    )
             );
+        };
     }
 
+    /**
+     * The transport of the cache invalidations between the nodes: declare another {@link CacheInvalidationTransport}
+     * bean to use a message broker instead of the in-JVM loopback.
+     */
     @Bean
-    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
-        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    @ConditionalOnMissingBean
+    public CacheInvalidationTransport cacheInvalidationTransport(ApplicationProperties applicationProperties) {
+        return new LoopbackCacheInvalidationTransport(applicationProperties.getCacheInvalidation().getChannel());
     }
 
     @Bean
@@ -54,17 +104,99 @@ public class CacheConfiguration {
             createCache(cm, org.com.poc.domain.Room.class.getName() + ".facilities");
             createCache(cm, org.com.poc.domain.Facility.class.getName());
             createCache(cm, org.com.poc.domain.Room.class.getName() + ".rooms");
+            createCache(
+                cm,
+                org.com.poc.service.QueryCacheService.QUERY_RESULTS_CACHE,
+                queryCache.getMaxEntries(),
+                queryCache.getTimeToLiveSeconds()
+            );
             // jhipster-needle-ehcache-add-entry
         };
     }
 
+    /**
+     * The cache manager of the {@code @Cacheable} methods, on the same caches as the {@code cacheManager} bean, whose
+     * caches coalesce the concurrent loads of a key and refresh the regions with a {@code refresh-ahead-ratio}.
+     */
+    @Bean
+    public CachingConfigurer singleFlightCachingConfigurer(
+        javax.cache.CacheManager cacheManager,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        MeterRegistry meterRegistry
+    ) {
+        SingleFlightCacheManager singleFlightCacheManager = new SingleFlightCacheManager(
+            cacheManager,
+            refreshAheadAfter,
+            taskExecutor,
+            meterRegistry
+        );
+        singleFlightCacheManager.afterPropertiesSet();
+        return new CachingConfigurerSupport() {
+            @Override
+            public org.springframework.cache.CacheManager cacheManager() {
+                return singleFlightCacheManager;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder cacheTierMetrics(javax.cache.CacheManager cacheManager) {
+        return new CacheTierMetrics(cacheManager);
+    }
+
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, ehcache.getMaxEntries(), ehcache.getTimeToLiveSeconds());
+    }
+
+    private void createCache(javax.cache.CacheManager cm, String cacheName, long defaultHeapEntries, int defaultTimeToLiveSeconds) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, regionConfiguration(cacheName, defaultHeapEntries, defaultTimeToLiveSeconds));
+            // Feeds the cache.gets, cache.puts and cache.evictions meters bound to every region
+            cm.enableStatistics(cacheName, true);
+        }
+    }
+
+    /**
+     * Configuration of a region: a heap tier, and an off-heap tier when the region has some off-heap megabytes, so
+     * that a large region can keep many entries without growing the heap the garbage collector scans.
+     */
+    private javax.cache.configuration.Configuration<Object, Object> regionConfiguration(
+        String cacheName,
+        long defaultHeapEntries,
+        int defaultTimeToLiveSeconds
+    ) {
+        ApplicationProperties.Cache.Region region = findRegion(cacheName).orElseGet(ApplicationProperties.Cache.Region::new);
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(
+            Objects.requireNonNullElse(region.getHeapEntries(), defaultHeapEntries)
+        );
+        if (region.getOffHeapMb() > 0) {
+            resourcePools = resourcePools.offheap(region.getOffHeapMb(), MemoryUnit.MB);
+        }
+        Duration timeToLive = Duration.ofSeconds(Objects.requireNonNullElse(region.getTimeToLiveSeconds(), defaultTimeToLiveSeconds));
+        if (region.getRefreshAheadRatio() != null) {
+            refreshAheadAfter.put(cacheName, Duration.ofMillis((long) (timeToLive.toMillis() * region.getRefreshAheadRatio())));
         }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive))
+                .build()
+        );
+    }
+
+    private Optional<ApplicationProperties.Cache.Region> findRegion(String cacheName) {
+        String shortName = cacheName.startsWith(DOMAIN_PACKAGE_PREFIX)
+            ? cacheName.substring(DOMAIN_PACKAGE_PREFIX.length())
+            : cacheName;
+        return regions
+            .entrySet()
+            .stream()
+            .filter(entry -> entry.getKey().equalsIgnoreCase(shortName) || entry.getKey().equalsIgnoreCase(cacheName))
+            .map(Map.Entry::getValue)
+            .findFirst();
     }
 
     @Autowired(required = false)
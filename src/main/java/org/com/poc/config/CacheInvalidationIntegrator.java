@@ -0,0 +1,221 @@
+package org.com.poc.config;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.com.poc.repository.DetachedUpdateSnapshots;
+import org.com.poc.service.invalidation.CacheInvalidation;
+import org.com.poc.service.invalidation.CacheInvalidationBus;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.type.EntityType;
+
+/**
+ * Integrator publishing the changes of the second-level cache to the {@link CacheInvalidationBus}.
+ * <p>
+ * For every cached entity inserted, updated or deleted, the entity is invalidated, as well as the cached inverse
+ * collections of its old and new owners (a room moved from a resident to another leaves both {@code Resident.rooms}
+ * stale). The old owners of a detached entity updated through
+ * {@link org.com.poc.repository.VersionedUpdateRepository} are taken from its {@link DetachedUpdateSnapshots}. The
+ * cached collections recreated, updated or removed are invalidated too. The invalidations are published after the
+ * transaction is committed.
+ */
+public class CacheInvalidationIntegrator implements Integrator {
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public CacheInvalidationIntegrator(CacheInvalidationBus cacheInvalidationBus) {
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        Listener listener = new Listener(cacheInvalidationBus, sessionFactory);
+        EventListenerRegistry registry = serviceRegistry.getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        // Nothing to release
+    }
+
+    private static class Listener
+        implements
+            PostInsertEventListener,
+            PostUpdateEventListener,
+            PostDeleteEventListener,
+            PostCollectionRecreateEventListener,
+            PostCollectionUpdateEventListener,
+            PostCollectionRemoveEventListener {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient CacheInvalidationBus cacheInvalidationBus;
+
+        private final transient SessionFactoryImplementor sessionFactory;
+
+        /**
+         * The cached inverse collections by entity name of their elements, with the index of the owner property.
+         */
+        private final transient Map<String, List<InverseCollection>> inverseCollections = new HashMap<>();
+
+        Listener(CacheInvalidationBus cacheInvalidationBus, SessionFactoryImplementor sessionFactory) {
+            this.cacheInvalidationBus = cacheInvalidationBus;
+            this.sessionFactory = sessionFactory;
+        }
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            onEntityChange(event.getSession(), event.getPersister(), event.getId(), event.getState(), null, false);
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            Object[] oldState = event.getOldState() != null ? event.getOldState() : DetachedUpdateSnapshots.get(event.getEntity());
+            onEntityChange(event.getSession(), event.getPersister(), event.getId(), event.getState(), oldState, true);
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            onEntityChange(event.getSession(), event.getPersister(), event.getId(), event.getDeletedState(), null, false);
+        }
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return false;
+        }
+
+        @Override
+        public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+            onCollectionChange(event);
+        }
+
+        @Override
+        public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+            onCollectionChange(event);
+        }
+
+        @Override
+        public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+            onCollectionChange(event);
+        }
+
+        private void onEntityChange(
+            EventSource session,
+            EntityPersister persister,
+            Serializable id,
+            Object[] state,
+            Object[] oldState,
+            boolean update
+        ) {
+            List<CacheInvalidation> invalidations = new ArrayList<>();
+            if (persister.canWriteToCache()) {
+                invalidations.add(CacheInvalidation.entity(persister.getEntityName(), id));
+            }
+            for (InverseCollection collection : inverseCollections(persister)) {
+                addOwner(invalidations, session, collection.role, state[collection.ownerProperty]);
+                if (oldState != null) {
+                    addOwner(invalidations, session, collection.role, oldState[collection.ownerProperty]);
+                } else if (update) {
+                    // Updated without a snapshot, outside of the versioned updates: its previous owner is unknown
+                    invalidations.add(CacheInvalidation.collection(collection.role, null));
+                }
+            }
+            publishAfterCommit(session, invalidations);
+        }
+
+        private void onCollectionChange(AbstractCollectionEvent event) {
+            String role = event.getCollection().getRole();
+            CollectionPersister persister = role == null ? null : sessionFactory.getMetamodel().collectionPersister(role);
+            if (persister != null && persister.hasCache()) {
+                publishAfterCommit(event.getSession(), List.of(CacheInvalidation.collection(role, event.getAffectedOwnerIdOrNull())));
+            }
+        }
+
+        private void publishAfterCommit(EventSource session, List<CacheInvalidation> invalidations) {
+            if (!invalidations.isEmpty()) {
+                session
+                    .getActionQueue()
+                    .registerProcess((success, transactionSession) -> {
+                        if (success) {
+                            cacheInvalidationBus.publish(invalidations);
+                        }
+                    });
+            }
+        }
+
+        private void addOwner(List<CacheInvalidation> invalidations, EventSource session, String role, Object owner) {
+            if (owner == null) {
+                return;
+            }
+            Serializable ownerId = session.getContextEntityIdentifier(owner);
+            if (ownerId == null) {
+                ownerId = session.getEntityPersister(null, owner).getIdentifier(owner, session);
+            }
+            invalidations.add(CacheInvalidation.collection(role, ownerId));
+        }
+
+        private List<InverseCollection> inverseCollections(EntityPersister persister) {
+            synchronized (inverseCollections) {
+                return inverseCollections.computeIfAbsent(persister.getEntityName(), entityName -> findInverseCollections(persister));
+            }
+        }
+
+        private List<InverseCollection> findInverseCollections(EntityPersister persister) {
+            List<InverseCollection> collections = new ArrayList<>();
+            for (CollectionPersister collection : sessionFactory.getMetamodel().collectionPersisters().values()) {
+                if (
+                    collection.hasCache() &&
+                    collection.isInverse() &&
+                    collection.isOneToMany() &&
+                    collection.getMappedByProperty() != null &&
+                    persister.getEntityName().equals(((EntityType) collection.getElementType()).getAssociatedEntityName())
+                ) {
+                    int ownerProperty = persister.getEntityMetamodel().getPropertyIndex(collection.getMappedByProperty());
+                    collections.add(new InverseCollection(collection.getRole(), ownerProperty));
+                }
+            }
+            return collections;
+        }
+    }
+
+    private static class InverseCollection {
+
+        private final String role;
+
+        private final int ownerProperty;
+
+        InverseCollection(String role, int ownerProperty) {
+            this.role = role;
+            this.ownerProperty = ownerProperty;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.com.poc.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import org.ehcache.config.ResourceType;
+import org.ehcache.core.statistics.DefaultTierStatistics;
+import org.ehcache.core.statistics.TierStatistics;
+
+/**
+ * Statistics of each tier of the Ehcache regions, to tell whether a region is sized right: a region whose heap tier
+ * misses while its off-heap tier hits needs more heap entries, one whose last tier evicts needs more room.
+ * <p>
+ * For each region and tier, registers the {@code cache.tier.gets} counters tagged with a {@code hit} or {@code miss}
+ * result, the {@code cache.tier.evictions} and {@code cache.tier.expirations} counters, the {@code cache.tier.size}
+ * gauge in entries and, for the off-heap tier, the {@code cache.tier.occupied} gauge in bytes.
+ */
+public class CacheTierMetrics implements MeterBinder {
+
+    private static final String ON_HEAP = "OnHeap";
+
+    private static final String OFF_HEAP = "OffHeap";
+
+    private static final Map<ResourceType<?>, String> TIERS = Map.of(ResourceType.Core.HEAP, ON_HEAP, ResourceType.Core.OFFHEAP, OFF_HEAP);
+
+    private final javax.cache.CacheManager cacheManager;
+
+    public CacheTierMetrics(javax.cache.CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            @SuppressWarnings("unchecked")
+            org.ehcache.Cache<Object, Object> cache = cacheManager.getCache(cacheName).unwrap(org.ehcache.Cache.class);
+            for (ResourceType<?> resourceType : cache.getRuntimeConfiguration().getResourcePools().getResourceTypeSet()) {
+                String tier = TIERS.get(resourceType);
+                if (tier != null) {
+                    bindTier(registry, cacheName, tier, new DefaultTierStatistics(cache, tier));
+                }
+            }
+        }
+    }
+
+    private static void bindTier(MeterRegistry registry, String cacheName, String tier, TierStatistics statistics) {
+        Tags tags = Tags.of("cache", cacheName, "tier", tier);
+        FunctionCounter
+            .builder("cache.tier.gets", statistics, TierStatistics::getHits)
+            .tags(tags)
+            .tag("result", "hit")
+            .description("The number of gets answered by the tier")
+            .register(registry);
+        FunctionCounter
+            .builder("cache.tier.gets", statistics, TierStatistics::getMisses)
+            .tags(tags)
+            .tag("result", "miss")
+            .description("The number of gets the tier could not answer")
+            .register(registry);
+        FunctionCounter
+            .builder("cache.tier.evictions", statistics, TierStatistics::getEvictions)
+            .tags(tags)
+            .description("The number of entries evicted from the tier")
+            .register(registry);
+        FunctionCounter
+            .builder("cache.tier.expirations", statistics, TierStatistics::getExpirations)
+            .tags(tags)
+            .description("The number of entries expired from the tier")
+            .register(registry);
+        Gauge
+            .builder("cache.tier.size", statistics, TierStatistics::getMappings)
+            .tags(tags)
+            .description("The number of entries in the tier")
+            .register(registry);
+        if (OFF_HEAP.equals(tier)) {
+            Gauge
+                .builder("cache.tier.occupied", statistics, TierStatistics::getOccupiedByteSize)
+                .tags(tags)
+                .baseUnit("bytes")
+                .description("The memory used by the entries of the tier")
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.com.poc.config;
+
+import org.com.poc.service.CacheWarmUpService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health of the cache warm-up, part of the readiness group: the application is out of service until its caches are
+ * warm, so that no traffic is routed to it while every request would go to the database.
+ */
+@Component
+public class CacheWarmUpHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmUpService cacheWarmUpService;
+
+    public CacheWarmUpHealthIndicator(CacheWarmUpService cacheWarmUpService) {
+        this.cacheWarmUpService = cacheWarmUpService;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = cacheWarmUpService.isWarm() ? Health.up() : Health.outOfService();
+        return health.withDetail("loadedEntries", cacheWarmUpService.getLoadedEntries()).build();
+    }
+}
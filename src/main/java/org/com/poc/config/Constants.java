@@ -11,5 +11,8 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "en";
 
+    // Number of rows fetched per round-trip, and kept in the persistence context, by streaming queries
+    public static final int STREAM_FETCH_SIZE = 500;
+
     private Constants() {}
 }
@@ -0,0 +1,88 @@
+package org.com.poc.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.com.poc.web.filter.ReadYourWritesFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+/**
+ * Configuration of the read replicas, enabled with {@code application.datasource-routing.enabled}.
+ * <p>
+ * The primary pool is configured as usual from {@code spring.datasource}; each replica of
+ * {@code application.datasource-routing.replicas} gets a read-only pool with the same Hikari settings. The
+ * {@link DataSource} used by JPA and Liquibase routes the read-only transactions to the replicas, which the
+ * {@link ReplicaJpaDialect} keeps out of the second-level cache.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.datasource-routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(DataSourceRoutingConfiguration.class);
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+        HikariDataSource primaryDataSource,
+        ApplicationProperties applicationProperties
+    ) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (ApplicationProperties.DatasourceRouting.Replica replica : applicationProperties.getDatasourceRouting().getReplicas()) {
+            log.debug("Configuring read replica {}", replica.getUrl());
+            HikariDataSource replicaDataSource = new HikariDataSource();
+            primaryDataSource.copyStateTo(replicaDataSource);
+            String poolName = Objects.requireNonNullElse(primaryDataSource.getPoolName(), "Hikari");
+            replicaDataSource.setPoolName(poolName + "-replica-" + replicas.size());
+            replicaDataSource.setJdbcUrl(replica.getUrl());
+            replicaDataSource.setUsername(replica.getUsername());
+            replicaDataSource.setPassword(replica.getPassword());
+            replicaDataSource.setReadOnly(true);
+            replicas.add(replicaDataSource);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, ReadYourWritesFilter::isPinnedToPrimary);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Wrap the dialect of the JPA transaction manager once it is initialized, as it takes the one of the entity manager
+     * factory then.
+     */
+    @Bean
+    public static BeanPostProcessor replicaJpaDialectPostProcessor(ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof JpaTransactionManager) {
+                    JpaTransactionManager transactionManager = (JpaTransactionManager) bean;
+                    transactionManager.setJpaDialect(
+                        new ReplicaJpaDialect(transactionManager.getJpaDialect(), replicaRoutingDataSource.getObject())
+                    );
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package org.com.poc.config;
+
+import java.sql.SQLException;
+import javax.persistence.EntityManager;
+import org.com.poc.service.ReplicaReads;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.ConnectionHandle;
+import org.springframework.orm.jpa.JpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * {@link JpaDialect} keeping the read-only transactions sent to a replica out of the second-level cache.
+ * <p>
+ * Such a transaction gets the entities from the second-level cache, but does not put the ones it reads: a replica may
+ * still return the rows of before a change whose invalidation already happened. Everything else is done by the
+ * dialect of the JPA provider.
+ */
+public class ReplicaJpaDialect implements JpaDialect {
+
+    private final JpaDialect delegate;
+
+    private final ReplicaReads replicaReads;
+
+    public ReplicaJpaDialect(JpaDialect delegate, ReplicaReads replicaReads) {
+        this.delegate = delegate;
+        this.replicaReads = replicaReads;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition) throws SQLException {
+        Object transactionData = delegate.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly() || !replicaReads.isReadingFromReplica()) {
+            return transactionData;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        return new ReplicaTransactionData(transactionData, session, previousCacheMode);
+    }
+
+    @Override
+    public Object prepareTransaction(EntityManager entityManager, boolean readOnly, String name) {
+        return delegate.prepareTransaction(entityManager, readOnly, name);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaTransactionData) {
+            ReplicaTransactionData replicaTransactionData = (ReplicaTransactionData) transactionData;
+            replicaTransactionData.session.setCacheMode(replicaTransactionData.previousCacheMode);
+            delegate.cleanupTransaction(replicaTransactionData.delegate);
+        } else {
+            delegate.cleanupTransaction(transactionData);
+        }
+    }
+
+    @Override
+    public ConnectionHandle getJdbcConnection(EntityManager entityManager, boolean readOnly) throws SQLException {
+        return delegate.getJdbcConnection(entityManager, readOnly);
+    }
+
+    @Override
+    public void releaseJdbcConnection(ConnectionHandle connectionHandle, EntityManager entityManager) throws SQLException {
+        delegate.releaseJdbcConnection(connectionHandle, entityManager);
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        return delegate.translateExceptionIfPossible(ex);
+    }
+
+    private static class ReplicaTransactionData {
+
+        private final Object delegate;
+
+        private final Session session;
+
+        private final CacheMode previousCacheMode;
+
+        ReplicaTransactionData(Object delegate, Session session, CacheMode previousCacheMode) {
+            this.delegate = delegate;
+            this.session = session;
+            this.previousCacheMode = previousCacheMode;
+        }
+    }
+}
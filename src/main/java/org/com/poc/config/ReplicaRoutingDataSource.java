@@ -0,0 +1,92 @@
+package org.com.poc.config;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.com.poc.service.ReplicaReads;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link DataSource} sending the read-only transactions to the replicas, in turn, and everything else to the primary.
+ * <p>
+ * The target is chosen when the connection is fetched, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction manager gets its
+ * connection before the transaction is flagged as read-only. For the same reason, a read-only transaction runs on the
+ * replica or on the primary depending on where its first statement is sent.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements ReplicaReads, AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+
+    private final List<DataSource> replicas;
+
+    private final BooleanSupplier pinnedToPrimary;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final ThreadLocal<Boolean> onPrimary = new ThreadLocal<>();
+
+    /**
+     * @param primary the data source of the primary, for the writes.
+     * @param replicas the data sources of the replicas, for the read-only transactions.
+     * @param pinnedToPrimary tells whether the current read-only transaction must nonetheless run on the primary,
+     * for instance to read the writes of the same client.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, BooleanSupplier pinnedToPrimary) {
+        this.replicas = List.copyOf(replicas);
+        this.pinnedToPrimary = pinnedToPrimary;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || !isReadingFromReplica()) {
+            return PRIMARY;
+        }
+        return Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+
+    @Override
+    public boolean isReadingFromReplica() {
+        return !replicas.isEmpty() && !pinnedToPrimary.getAsBoolean() && !Boolean.TRUE.equals(onPrimary.get());
+    }
+
+    @Override
+    public <T> T onPrimary(Supplier<T> reads) {
+        Boolean previous = onPrimary.get();
+        onPrimary.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (previous == null) {
+                onPrimary.remove();
+            } else {
+                onPrimary.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Close the replica pools; the primary pool is a bean of its own.
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable) {
+                ((AutoCloseable) replica).close();
+            }
+        }
+    }
+}
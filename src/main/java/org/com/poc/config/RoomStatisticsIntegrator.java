@@ -0,0 +1,142 @@
+package org.com.poc.config;
+
+import java.io.Serializable;
+import java.util.function.Consumer;
+import org.com.poc.domain.Facility;
+import org.com.poc.domain.Resident;
+import org.com.poc.domain.Room;
+import org.com.poc.repository.DetachedUpdateSnapshots;
+import org.com.poc.service.RoomStatisticsService;
+import org.com.poc.service.RoomStatisticsService.FacilityState;
+import org.com.poc.service.RoomStatisticsService.RoomState;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Integrator applying the rooms, residents and facilities inserted, updated or deleted to the
+ * {@link RoomStatisticsService}, once their transaction is committed.
+ * <p>
+ * The states before and after the change are taken from the event, so that the statistics subtract what a change
+ * replaces without keeping a copy of the rows. The state before the update of a detached entity is taken from the
+ * {@link DetachedUpdateSnapshots}. A bulk query is left to the reconciliation.
+ */
+public class RoomStatisticsIntegrator implements Integrator {
+
+    private final ObjectProvider<RoomStatisticsService> roomStatisticsService;
+
+    public RoomStatisticsIntegrator(ObjectProvider<RoomStatisticsService> roomStatisticsService) {
+        this.roomStatisticsService = roomStatisticsService;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        Listener listener = new Listener(roomStatisticsService);
+        EventListenerRegistry registry = serviceRegistry.getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        // Nothing to release
+    }
+
+    private static class Listener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Logger log = LoggerFactory.getLogger(RoomStatisticsIntegrator.class);
+
+        private final transient ObjectProvider<RoomStatisticsService> roomStatisticsService;
+
+        Listener(ObjectProvider<RoomStatisticsService> roomStatisticsService) {
+            this.roomStatisticsService = roomStatisticsService;
+        }
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            onChange(event.getSession(), event.getPersister(), event.getEntity(), null, event.getState());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            Object[] oldState = event.getOldState() != null ? event.getOldState() : DetachedUpdateSnapshots.get(event.getEntity());
+            if (oldState == null) {
+                log.debug("Updated {} without a snapshot, left to the reconciliation", event.getPersister().getEntityName());
+                return;
+            }
+            onChange(event.getSession(), event.getPersister(), event.getEntity(), oldState, event.getState());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            onChange(event.getSession(), event.getPersister(), event.getEntity(), event.getDeletedState(), null);
+        }
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return false;
+        }
+
+        private void onChange(EventSource session, EntityPersister persister, Object entity, Object[] before, Object[] after) {
+            if (entity instanceof Room) {
+                RoomState roomBefore = before == null ? null : roomState(session, persister, before);
+                RoomState roomAfter = after == null ? null : roomState(session, persister, after);
+                applyAfterCommit(session, statistics -> statistics.applyRoomChange(roomBefore, roomAfter));
+            } else if (entity instanceof Facility) {
+                FacilityState facilityBefore = before == null ? null : new FacilityState(id(session, value(persister, before, "room")));
+                FacilityState facilityAfter = after == null ? null : new FacilityState(id(session, value(persister, after, "room")));
+                applyAfterCommit(session, statistics -> statistics.applyFacilityChange(facilityBefore, facilityAfter));
+            } else if (entity instanceof Resident && (before == null || after == null)) {
+                int delta = before == null ? 1 : -1;
+                applyAfterCommit(session, statistics -> statistics.applyResidentChange(delta));
+            }
+        }
+
+        private void applyAfterCommit(EventSource session, Consumer<RoomStatisticsService> change) {
+            session
+                .getActionQueue()
+                .registerProcess((success, transactionSession) -> {
+                    RoomStatisticsService statistics = roomStatisticsService.getIfAvailable();
+                    if (success && statistics != null) {
+                        change.accept(statistics);
+                    }
+                });
+        }
+
+        private static RoomState roomState(EventSource session, EntityPersister persister, Object[] state) {
+            return new RoomState((String) value(persister, state, "roomType"), id(session, value(persister, state, "resident")));
+        }
+
+        private static Object value(EntityPersister persister, Object[] state, String property) {
+            return state[persister.getEntityMetamodel().getPropertyIndex(property)];
+        }
+
+        private static Long id(EventSource session, Object entity) {
+            if (entity == null) {
+                return null;
+            }
+            Serializable id = session.getContextEntityIdentifier(entity);
+            if (id == null) {
+                id = session.getEntityPersister(null, entity).getIdentifier(entity, session);
+            }
+            return (Long) id;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package org.com.poc.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.com.poc.service.SingleFlight;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.jcache.JCacheCache;
+import org.springframework.cache.jcache.JCacheCacheManager;
+
+/**
+ * Cache manager whose caches coalesce the concurrent loads of the same key and, optionally, refresh their entries
+ * ahead of expiry.
+ * <p>
+ * The loads go through {@link Cache#get(Object, Callable)}, so {@code @Cacheable} methods must be declared with
+ * {@code sync = true}. A load of a key already being loaded waits for its result, see {@link SingleFlight}.
+ * <p>
+ * A region with a {@code refresh-ahead-ratio} keeps the load time of its entries. A hit on an entry older than that
+ * part of its time to live returns it and reloads it in the background, so that a hot key never expires. The reload
+ * only replaces the entry it was started from: an entry evicted meanwhile is not brought back. Refreshes are counted
+ * in the {@code cache.refresh.ahead} meter.
+ */
+public class SingleFlightCacheManager extends JCacheCacheManager {
+
+    private final Map<String, Duration> refreshAheadAfter;
+
+    private final Executor executor;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param cacheManager the JCache manager of the caches.
+     * @param refreshAheadAfter the age after which the entries are refreshed, by cache name, for the caches refreshed
+     * ahead of expiry.
+     * @param executor runs the refreshes.
+     * @param meterRegistry the registry of the meters.
+     */
+    public SingleFlightCacheManager(
+        javax.cache.CacheManager cacheManager,
+        Map<String, Duration> refreshAheadAfter,
+        Executor executor,
+        MeterRegistry meterRegistry
+    ) {
+        super(cacheManager);
+        this.refreshAheadAfter = refreshAheadAfter;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected Collection<Cache> loadCaches() {
+        Collection<Cache> caches = new LinkedHashSet<>();
+        for (String cacheName : getCacheManager().getCacheNames()) {
+            caches.add(createCache(getCacheManager().getCache(cacheName)));
+        }
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        javax.cache.Cache<Object, Object> cache = getCacheManager().getCache(name);
+        return cache == null ? null : createCache(cache);
+    }
+
+    private Cache createCache(javax.cache.Cache<Object, Object> cache) {
+        return new SingleFlightCache(
+            cache,
+            isAllowNullValues(),
+            new SingleFlight(cache.getName(), meterRegistry),
+            refreshAheadAfter.get(cache.getName()),
+            executor,
+            meterRegistry
+        );
+    }
+
+    static class SingleFlightCache extends JCacheCache {
+
+        private final Logger log = LoggerFactory.getLogger(SingleFlightCache.class);
+
+        private final SingleFlight singleFlight;
+
+        private final Duration refreshAheadAfter;
+
+        private final Executor executor;
+
+        private final Counter refreshes;
+
+        private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+        SingleFlightCache(
+            javax.cache.Cache<Object, Object> cache,
+            boolean allowNullValues,
+            SingleFlight singleFlight,
+            Duration refreshAheadAfter,
+            Executor executor,
+            MeterRegistry meterRegistry
+        ) {
+            super(cache, allowNullValues);
+            this.singleFlight = singleFlight;
+            this.refreshAheadAfter = refreshAheadAfter;
+            this.executor = executor;
+            this.refreshes = Counter.builder("cache.refresh.ahead").tag("cache", cache.getName()).register(meterRegistry);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            Object storeValue = lookup(key);
+            if (storeValue != null) {
+                if (isDueForRefresh(storeValue)) {
+                    refresh(key, storeValue, valueLoader);
+                }
+                return (T) fromStoreValue(storeValue);
+            }
+            try {
+                return singleFlight.load(
+                    key,
+                    () -> {
+                        T value = valueLoader.call();
+                        put(key, value);
+                        return value;
+                    }
+                );
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+
+        @Override
+        protected Object toStoreValue(Object userValue) {
+            Object storeValue = super.toStoreValue(userValue);
+            return refreshAheadAfter == null ? storeValue : new Loaded(storeValue, System.currentTimeMillis());
+        }
+
+        @Override
+        protected Object fromStoreValue(Object storeValue) {
+            return super.fromStoreValue(storeValue instanceof Loaded ? ((Loaded) storeValue).value : storeValue);
+        }
+
+        private boolean isDueForRefresh(Object storeValue) {
+            return (
+                refreshAheadAfter != null &&
+                storeValue instanceof Loaded &&
+                System.currentTimeMillis() - ((Loaded) storeValue).loadedAt >= refreshAheadAfter.toMillis()
+            );
+        }
+
+        private void refresh(Object key, Object storeValue, Callable<?> valueLoader) {
+            if (!refreshing.add(key)) {
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        getNativeCache().replace(key, storeValue, toStoreValue(valueLoader.call()));
+                        refreshes.increment();
+                    } catch (Exception e) {
+                        log.debug("Could not refresh the entry {} of {} ahead of expiry: {}", key, getName(), e.toString());
+                    } finally {
+                        refreshing.remove(key);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                refreshing.remove(key);
+            }
+        }
+    }
+
+    /**
+     * A value stored with its load time.
+     */
+    static final class Loaded implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object value;
+
+        private final long loadedAt;
+
+        Loaded(Object value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Loaded)) {
+                return false;
+            }
+            Loaded loaded = (Loaded) o;
+            return loadedAt == loaded.loadedAt && Objects.equals(value, loaded.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(value, loadedAt);
+        }
+    }
+}
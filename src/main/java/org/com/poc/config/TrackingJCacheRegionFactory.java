@@ -0,0 +1,94 @@
+package org.com.poc.config;
+
+import org.com.poc.management.CacheAccessTracker;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * JCache region factory of Hibernate recording the sampled gets of the entity and collection regions in the
+ * {@link CacheAccessTracker}.
+ */
+public class TrackingJCacheRegionFactory extends JCacheRegionFactory {
+
+    private final CacheAccessTracker cacheAccessTracker;
+
+    public TrackingJCacheRegionFactory(CacheAccessTracker cacheAccessTracker) {
+        this.cacheAccessTracker = cacheAccessTracker;
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(
+        DomainDataRegionConfig regionConfig,
+        DomainDataRegionBuildingContext buildingContext
+    ) {
+        return new TrackedStorageAccess(
+            regionConfig.getRegionName(),
+            super.createDomainDataStorageAccess(regionConfig, buildingContext),
+            cacheAccessTracker
+        );
+    }
+
+    private static final class TrackedStorageAccess implements DomainDataStorageAccess {
+
+        private final String regionName;
+
+        private final DomainDataStorageAccess delegate;
+
+        private final CacheAccessTracker cacheAccessTracker;
+
+        private TrackedStorageAccess(String regionName, DomainDataStorageAccess delegate, CacheAccessTracker cacheAccessTracker) {
+            this.regionName = regionName;
+            this.delegate = delegate;
+            this.cacheAccessTracker = cacheAccessTracker;
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            if (!cacheAccessTracker.sample()) {
+                return delegate.getFromCache(key, session);
+            }
+            long start = System.nanoTime();
+            Object value = delegate.getFromCache(key, session);
+            cacheAccessTracker.recordGet(regionName, key, System.nanoTime() - start);
+            return value;
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            delegate.putIntoCache(key, value, session);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return delegate.contains(key);
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            delegate.removeFromCache(key, session);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            delegate.clearCache(session);
+        }
+
+        @Override
+        public void evictData() {
+            delegate.evictData();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            delegate.evictData(key);
+        }
+
+        @Override
+        public void release() {
+            delegate.release();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.com.poc.config;
+
+import org.com.poc.domain.User;
+import org.com.poc.security.UserExistenceFilter;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Integrator adding the users inserted or updated to the {@link UserExistenceFilter}.
+ * <p>
+ * A user is added as soon as it is written, before the transaction commits: a rolled back user only leaves a false
+ * positive, while a user added after the commit could be reported absent in between.
+ */
+public class UserExistenceFilterIntegrator implements Integrator {
+
+    private final UserExistenceFilter userExistenceFilter;
+
+    public UserExistenceFilterIntegrator(UserExistenceFilter userExistenceFilter) {
+        this.userExistenceFilter = userExistenceFilter;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        Listener listener = new Listener(userExistenceFilter);
+        EventListenerRegistry registry = serviceRegistry.getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        // Nothing to release
+    }
+
+    private static class Listener implements PostInsertEventListener, PostUpdateEventListener {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient UserExistenceFilter userExistenceFilter;
+
+        Listener(UserExistenceFilter userExistenceFilter) {
+            this.userExistenceFilter = userExistenceFilter;
+        }
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            add(event.getEntity());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            add(event.getEntity());
+        }
+
+        private void add(Object entity) {
+            if (entity instanceof User) {
+                User user = (User) entity;
+                userExistenceFilter.add(user.getLogin(), user.getEmail());
+            }
+        }
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return false;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import javax.persistence.*;
 import javax.validation.constraints.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * A Facility.
@@ -13,12 +14,14 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "facility")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-public class Facility implements Serializable {
+@DynamicUpdate
+public class Facility extends AbstractAuditingEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
     @Column(name = "id")
     private Long id;
 
@@ -31,6 +34,10 @@ public class Facility implements Serializable {
     @JsonIgnoreProperties(value = { "facilities", "resident" }, allowSetters = true)
     private Room room;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -72,6 +79,19 @@ public class Facility implements Serializable {
         return this;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Facility version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -97,6 +117,7 @@ public class Facility implements Serializable {
         return "Facility{" +
             "id=" + getId() +
             ", facilityName='" + getFacilityName() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -8,6 +8,7 @@ import javax.persistence.*;
 import javax.validation.constraints.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * A Resident.
@@ -15,12 +16,14 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "resident")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-public class Resident implements Serializable {
+@DynamicUpdate
+public class Resident extends AbstractAuditingEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
     @Column(name = "id")
     private Long id;
 
@@ -39,6 +42,10 @@ public class Resident implements Serializable {
     @JsonIgnoreProperties(value = { "facilities", "resident" }, allowSetters = true)
     private Set<Room> rooms = new HashSet<>();
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -111,6 +118,19 @@ public class Resident implements Serializable {
         return this;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Resident version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -137,6 +157,7 @@ public class Resident implements Serializable {
             "id=" + getId() +
             ", residentName='" + getResidentName() + "'" +
             ", residentAddress='" + getResidentAddress() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -8,6 +8,7 @@ import javax.persistence.*;
 import javax.validation.constraints.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * A Room.
@@ -15,12 +16,14 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "room")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-public class Room implements Serializable {
+@DynamicUpdate
+public class Room extends AbstractAuditingEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
     @Column(name = "id")
     private Long id;
 
@@ -45,6 +48,10 @@ public class Room implements Serializable {
     @JsonIgnoreProperties(value = { "rooms" }, allowSetters = true)
     private Resident resident;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -143,6 +150,19 @@ public class Room implements Serializable {
         return this;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Room version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -170,6 +190,7 @@ public class Room implements Serializable {
             ", roomTitle='" + getRoomTitle() + "'" +
             ", roomDescription='" + getRoomDescription() + "'" +
             ", roomType='" + getRoomType() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
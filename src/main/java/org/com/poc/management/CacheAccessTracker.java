@@ -0,0 +1,98 @@
+package org.com.poc.management;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.com.poc.config.ApplicationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sampled gets of the cache regions: one get out of {@code application.cache.hot-key-sample-rate} is timed, in the
+ * {@code cache.get.latency} timer of its region, and its key counted in the {@link HotKeySketch} of its region.
+ */
+@Component
+public class CacheAccessTracker {
+
+    public static final String GET_LATENCY_METER_NAME = "cache.get.latency";
+
+    private static final long DECAY_PERIOD = 100_000;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int sampleRate;
+
+    private final int hotKeyCount;
+
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+
+    public CacheAccessTracker(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = Math.max(1, applicationProperties.getCache().getHotKeySampleRate());
+        this.hotKeyCount = applicationProperties.getCache().getHotKeyCount();
+    }
+
+    /**
+     * Tell whether the next get is sampled; only the sampled gets are timed and recorded.
+     *
+     * @return {@code true} if the get must be recorded.
+     */
+    public boolean sample() {
+        return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    /**
+     * Record a sampled get.
+     *
+     * @param regionName the name of the region.
+     * @param key the key that was read.
+     * @param nanos the duration of the get.
+     */
+    public void recordGet(String regionName, Object key, long nanos) {
+        Region region = regions.computeIfAbsent(regionName, this::newRegion);
+        region.latency.record(nanos, TimeUnit.NANOSECONDS);
+        region.hotKeys.add(String.valueOf(key));
+    }
+
+    /**
+     * List the hottest keys of a region.
+     *
+     * @param regionName the name of the region.
+     * @return the hottest keys with their estimated number of gets, hottest first.
+     */
+    public List<Map.Entry<String, Long>> getHotKeys(String regionName) {
+        return Optional
+            .ofNullable(regions.get(regionName))
+            .map(region -> region.hotKeys.hottest())
+            .orElse(List.of())
+            .stream()
+            .map(entry -> Map.entry(entry.getKey(), entry.getValue() * sampleRate))
+            .collect(Collectors.toList());
+    }
+
+    private Region newRegion(String regionName) {
+        Timer latency = Timer
+            .builder(GET_LATENCY_METER_NAME)
+            .tag("cache", regionName)
+            .description("The latency of the sampled gets of the cache region")
+            .register(meterRegistry);
+        return new Region(latency, new HotKeySketch(hotKeyCount, DECAY_PERIOD));
+    }
+
+    private static final class Region {
+
+        private final Timer latency;
+
+        private final HotKeySketch hotKeys;
+
+        private Region(Timer latency, HotKeySketch hotKeys) {
+            this.latency = latency;
+            this.hotKeys = hotKeys;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package org.com.poc.management;
+
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Statistic;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleBinaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint {@code /management/cachestats} showing, for each cache region, the figures needed to size it: its hits
+ * and misses, puts, evictions, expirations, size, sampled get latency and hottest keys.
+ * <p>
+ * The figures are read from the meters of the regions, so they are the same as the ones exported to Prometheus.
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    private final javax.cache.CacheManager cacheManager;
+
+    private final MeterRegistry meterRegistry;
+
+    private final CacheAccessTracker cacheAccessTracker;
+
+    public CacheStatsEndpoint(javax.cache.CacheManager cacheManager, MeterRegistry meterRegistry, CacheAccessTracker cacheAccessTracker) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.cacheAccessTracker = cacheAccessTracker;
+    }
+
+    @ReadOperation
+    public Map<String, RegionStats> cacheStats() {
+        Map<String, RegionStats> stats = new TreeMap<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            stats.put(cacheName, regionStats(cacheName));
+        }
+        return stats;
+    }
+
+    @ReadOperation
+    public RegionStats cacheStat(@Selector String cacheName) {
+        if (cacheManager.getCache(cacheName) == null) {
+            return null;
+        }
+        return regionStats(cacheName);
+    }
+
+    private RegionStats regionStats(String cacheName) {
+        RegionStats stats = new RegionStats();
+        stats.hits = (long) aggregate("cache.gets", cacheName, Double::sum, "result", "hit");
+        stats.misses = (long) aggregate("cache.gets", cacheName, Double::sum, "result", "miss");
+        stats.puts = (long) aggregate("cache.puts", cacheName, Double::sum);
+        stats.evictions = (long) aggregate("cache.evictions", cacheName, Double::sum);
+        stats.expirations = (long) aggregate("cache.tier.expirations", cacheName, Math::max);
+        // Every tier holds a part of the entries, the last one all of them
+        stats.size = (long) aggregate("cache.tier.size", cacheName, Math::max);
+        Timer latency = meterRegistry.find(CacheAccessTracker.GET_LATENCY_METER_NAME).tag("cache", cacheName).timer();
+        if (latency != null) {
+            stats.getLatencyMeanMicros = latency.mean(TimeUnit.MICROSECONDS);
+            stats.getLatencyMaxMicros = latency.max(TimeUnit.MICROSECONDS);
+        }
+        stats.hotKeys =
+            cacheAccessTracker
+                .getHotKeys(cacheName)
+                .stream()
+                .map(entry -> new HotKey(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+        return stats;
+    }
+
+    private double aggregate(String meterName, String cacheName, DoubleBinaryOperator operator, String... tags) {
+        return meterRegistry
+            .find(meterName)
+            .tag("cache", cacheName)
+            .tags(tags)
+            .meters()
+            .stream()
+            .flatMap(meter -> StreamSupport.stream(meter.measure().spliterator(), false))
+            .filter(measurement -> measurement.getStatistic() == Statistic.COUNT || measurement.getStatistic() == Statistic.VALUE)
+            .mapToDouble(Measurement::getValue)
+            .filter(Double::isFinite)
+            .reduce(operator)
+            .orElse(0);
+    }
+
+    public static class RegionStats {
+
+        private long hits;
+
+        private long misses;
+
+        private long puts;
+
+        private long evictions;
+
+        private long expirations;
+
+        private long size;
+
+        private Double getLatencyMeanMicros;
+
+        private Double getLatencyMaxMicros;
+
+        private List<HotKey> hotKeys;
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public Double getHitRatio() {
+            return hits + misses == 0 ? null : (double) hits / (hits + misses);
+        }
+
+        public long getPuts() {
+            return puts;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getExpirations() {
+            return expirations;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public Double getGetLatencyMeanMicros() {
+            return getLatencyMeanMicros;
+        }
+
+        public Double getGetLatencyMaxMicros() {
+            return getLatencyMaxMicros;
+        }
+
+        public List<HotKey> getHotKeys() {
+            return hotKeys;
+        }
+    }
+
+    public static class HotKey {
+
+        private final String key;
+
+        private final long estimatedGets;
+
+        public HotKey(String key, long estimatedGets) {
+            this.key = key;
+            this.estimatedGets = estimatedGets;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getEstimatedGets() {
+            return estimatedGets;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.com.poc.management;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Approximate access counts of the keys of a cache: a count-min sketch estimates the count of any key in a fixed
+ * amount of memory, and the keys with the highest estimates are kept aside to be listed.
+ * <p>
+ * Counts are halved every {@code decayPeriod} accesses, so that the keys that were hot a while ago make room for
+ * the ones that are hot now.
+ */
+class HotKeySketch {
+
+    private static final int DEPTH = 4;
+
+    private static final int WIDTH = 1024;
+
+    private static final int[] SEEDS = { 0x9E3779B1, 0x85EBCA77, 0xC2B2AE3D, 0x27D4EB2F };
+
+    private final long[][] counts = new long[DEPTH][WIDTH];
+
+    private final Map<String, Long> topKeys = new HashMap<>();
+
+    private final int capacity;
+
+    private final long decayPeriod;
+
+    private long accesses;
+
+    /**
+     * @param capacity the number of hot keys kept.
+     * @param decayPeriod the number of accesses after which the counts are halved.
+     */
+    HotKeySketch(int capacity, long decayPeriod) {
+        this.capacity = capacity;
+        this.decayPeriod = decayPeriod;
+    }
+
+    synchronized void add(String key) {
+        long estimate = Long.MAX_VALUE;
+        int hash = key.hashCode();
+        for (int row = 0; row < DEPTH; row++) {
+            int column = index(hash, row);
+            counts[row][column]++;
+            estimate = Math.min(estimate, counts[row][column]);
+        }
+        if (topKeys.containsKey(key) || topKeys.size() < capacity) {
+            topKeys.put(key, estimate);
+        } else {
+            Map.Entry<String, Long> coldest = topKeys.entrySet().stream().min(Map.Entry.comparingByValue()).orElseThrow();
+            if (estimate > coldest.getValue()) {
+                topKeys.remove(coldest.getKey());
+                topKeys.put(key, estimate);
+            }
+        }
+        if (++accesses % decayPeriod == 0) {
+            decay();
+        }
+    }
+
+    /**
+     * List the hottest keys.
+     *
+     * @return the estimated count of the hottest keys, hottest first.
+     */
+    synchronized List<Map.Entry<String, Long>> hottest() {
+        return topKeys
+            .entrySet()
+            .stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+            .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+            .collect(Collectors.toList());
+    }
+
+    private void decay() {
+        for (long[] row : counts) {
+            for (int column = 0; column < WIDTH; column++) {
+                row[column] >>= 1;
+            }
+        }
+        topKeys.replaceAll((key, count) -> count >> 1);
+        topKeys.values().removeIf(count -> count == 0);
+    }
+
+    private static int index(int hash, int row) {
+        int mixed = (hash ^ SEEDS[row]) * 0x5BD1E995;
+        mixed ^= mixed >>> 15;
+        return Math.floorMod(mixed, WIDTH);
+    }
+}
@@ -0,0 +1,41 @@
+package org.com.poc.repository;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The states of the detached entities updated by {@link VersionedUpdateRepository#updateIfCurrent(Object)}, as they
+ * were before the update, while the update is flushed.
+ * <p>
+ * Hibernate has no snapshot of a reattached entity, so its post-update listeners get no previous state: the listeners
+ * depending on what an update replaces read it from here instead.
+ */
+public final class DetachedUpdateSnapshots {
+
+    private static final ThreadLocal<Map<Object, Object[]>> SNAPSHOTS = ThreadLocal.withInitial(IdentityHashMap::new);
+
+    private DetachedUpdateSnapshots() {}
+
+    /**
+     * Get the state of an entity before its update.
+     *
+     * @param entity the entity being updated.
+     * @return the property values of the entity before the update, in the order of its persister, or {@code null} if the
+     * entity is not a detached entity being updated by the current thread.
+     */
+    public static Object[] get(Object entity) {
+        return SNAPSHOTS.get().get(entity);
+    }
+
+    static void put(Object entity, Object[] state) {
+        SNAPSHOTS.get().put(entity, state);
+    }
+
+    static void remove(Object entity) {
+        Map<Object, Object[]> snapshots = SNAPSHOTS.get();
+        snapshots.remove(entity);
+        if (snapshots.isEmpty()) {
+            SNAPSHOTS.remove();
+        }
+    }
+}
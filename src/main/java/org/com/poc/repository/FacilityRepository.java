@@ -1,6 +1,11 @@
 package org.com.poc.repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.com.poc.config.Constants;
 import org.com.poc.domain.Facility;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +14,33 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface FacilityRepository extends JpaRepository<Facility, Long> {}
+public interface FacilityRepository
+    extends JpaRepository<Facility, Long>, JpaSpecificationExecutor<Facility>, VersionedUpdateRepository<Facility> {
+    /**
+     * All the facilities, with their room and the room's resident, in a single query.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "room", "room.resident" })
+    List<Facility> findAll();
+
+    /**
+     * The facilities matching a specification, with their room and the room's resident, in a single query.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "room", "room.resident" })
+    List<Facility> findAll(Specification<Facility> specification);
+
+    /**
+     * Stream all the facilities, with their room, fetched {@link Constants#STREAM_FETCH_SIZE} rows at a time,
+     * without dirty-checking snapshots nor second-level cache puts. Must be consumed inside a transaction.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + Constants.STREAM_FETCH_SIZE),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHE_MODE, value = "IGNORE")
+        }
+    )
+    @Query("select facility from Facility facility left join fetch facility.room room left join fetch room.resident")
+    Stream<Facility> streamAllBy();
+}
@@ -1,5 +1,8 @@
 package org.com.poc.repository;
 
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.com.poc.config.Constants;
 import org.com.poc.domain.Resident;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
@@ -9,4 +12,19 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ResidentRepository extends JpaRepository<Resident, Long> {}
+public interface ResidentRepository
+    extends JpaRepository<Resident, Long>, JpaSpecificationExecutor<Resident>, VersionedUpdateRepository<Resident> {
+    /**
+     * Stream all the residents, fetched {@link Constants#STREAM_FETCH_SIZE} rows at a time,
+     * without dirty-checking snapshots nor second-level cache puts. Must be consumed inside a transaction.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + Constants.STREAM_FETCH_SIZE),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHE_MODE, value = "IGNORE")
+        }
+    )
+    @Query("select resident from Resident resident")
+    Stream<Resident> streamAllBy();
+}
@@ -1,5 +1,8 @@
 package org.com.poc.repository;
 
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.com.poc.config.Constants;
 import org.com.poc.domain.Room;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
@@ -9,4 +12,19 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface RoomRepository extends JpaRepository<Room, Long> {}
+public interface RoomRepository
+    extends JpaRepository<Room, Long>, JpaSpecificationExecutor<Room>, VersionedUpdateRepository<Room> {
+    /**
+     * Stream all the rooms, with their resident, fetched {@link Constants#STREAM_FETCH_SIZE} rows at a time,
+     * without dirty-checking snapshots nor second-level cache puts. Must be consumed inside a transaction.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + Constants.STREAM_FETCH_SIZE),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHE_MODE, value = "IGNORE")
+        }
+    )
+    @Query("select room from Room room left join fetch room.resident")
+    Stream<Room> streamAllBy();
+}
@@ -0,0 +1,27 @@
+package org.com.poc.repository;
+
+import java.util.Optional;
+
+/**
+ * Repository fragment updating {@link javax.persistence.Version versioned} entities without reading them first.
+ *
+ * @param <T> the entity type.
+ */
+public interface VersionedUpdateRepository<T> {
+    /**
+     * Write the whole state of a detached entity with a single {@code UPDATE ... WHERE id = ? AND version = ?}.
+     * <p>
+     * The current state of the entity is read first, usually from the second-level cache, so that the listeners get the
+     * state the update replaces (see {@link DetachedUpdateSnapshots}). When the entity has no version, it takes the
+     * current one and overwrites whatever is stored. An entity with the same id must not be managed by the persistence
+     * context.
+     * When the update fails the persistence context is cleared and the transaction is marked for rollback.
+     *
+     * @param entity the entity to update, with its id.
+     * @return the updated entity, with its new version, or empty if the entity has no version and no entity has this id.
+     * @throws org.springframework.orm.ObjectRetrievalFailureException if the entity has a version and no entity has
+     * this id.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the version is not the current one.
+     */
+    Optional<T> updateIfCurrent(T entity);
+}
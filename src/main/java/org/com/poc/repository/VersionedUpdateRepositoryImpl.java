@@ -0,0 +1,73 @@
+package org.com.poc.repository;
+
+import java.io.Serializable;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.persistence.OptimisticLockException;
+import javax.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.StaleStateException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.orm.ObjectRetrievalFailureException;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of {@link VersionedUpdateRepository}, on top of Hibernate's reattachment of detached entities: the
+ * {@code UPDATE} is issued from the state of the entity, without a merge.
+ * <p>
+ * The current state of the entity is read first, from the second-level cache when it is cached, and kept in the
+ * {@link DetachedUpdateSnapshots} while the update is flushed: a reattached entity has no snapshot, so the listeners
+ * would not know otherwise which associations the update replaces.
+ */
+public class VersionedUpdateRepositoryImpl<T> implements VersionedUpdateRepository<T> {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public Optional<T> updateIfCurrent(T entity) {
+        Session session = entityManager.unwrap(Session.class);
+        Class<?> entityType = Hibernate.getClass(entity);
+        EntityPersister persister = session
+            .getSessionFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getMetamodel()
+            .entityPersister(entityType);
+        Serializable id = persister.getIdentifier(entity, session.unwrap(SharedSessionContractImplementor.class));
+
+        // The current state, usually from the second-level cache, tells the listeners what the update replaces
+        Object current = session.get(entityType, id);
+        if (current == null) {
+            if (persister.getVersion(entity) == null) {
+                return Optional.empty();
+            }
+            throw new ObjectRetrievalFailureException(entityType, id, "No " + entityType.getSimpleName() + " with id " + id, null);
+        }
+        if (persister.getVersion(entity) == null) {
+            persister.setPropertyValue(entity, persister.getVersionProperty(), persister.getVersion(current));
+        }
+        DetachedUpdateSnapshots.put(entity, persister.getPropertyValues(current));
+        session.evict(current);
+
+        try {
+            session.update(entity);
+            session.flush();
+            return Optional.of(entity);
+        } catch (OptimisticLockException | StaleStateException e) {
+            // No row has this id and version: tell a missing entity from a concurrent change. The failed flush marked
+            // the transaction for rollback, so both are thrown: returning would make the caller's commit fail.
+            session.clear();
+            if (session.get(entityType, id) == null) {
+                throw new ObjectRetrievalFailureException(entityType, id, "No " + entityType.getSimpleName() + " with id " + id, e);
+            }
+            throw new ObjectOptimisticLockingFailureException(entityType, id, e);
+        } finally {
+            DetachedUpdateSnapshots.remove(entity);
+        }
+    }
+}
@@ -25,8 +25,11 @@ public class DomainUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final UserExistenceFilter userExistenceFilter;
+
+    public DomainUserDetailsService(UserRepository userRepository, UserExistenceFilter userExistenceFilter) {
         this.userRepository = userRepository;
+        this.userExistenceFilter = userExistenceFilter;
     }
 
     @Override
@@ -35,6 +38,9 @@ public class DomainUserDetailsService implements UserDetailsService {
         log.debug("Authenticating {}", login);
 
         if (new EmailValidator().isValid(login, null)) {
+            if (!userExistenceFilter.mightContainEmail(login)) {
+                throw new UsernameNotFoundException("User with email " + login + " was not found in the database");
+            }
             return userRepository
                 .findOneWithAuthoritiesByEmailIgnoreCase(login)
                 .map(user -> createSpringSecurityUser(login, user))
@@ -42,6 +48,9 @@ public class DomainUserDetailsService implements UserDetailsService {
         }
 
         String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
+        if (!userExistenceFilter.mightContainLogin(lowercaseLogin)) {
+            throw new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database");
+        }
         return userRepository
             .findOneWithAuthoritiesByLogin(lowercaseLogin)
             .map(user -> createSpringSecurityUser(lowercaseLogin, user))
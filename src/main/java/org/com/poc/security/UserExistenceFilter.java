@@ -0,0 +1,276 @@
+package org.com.poc.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.com.poc.config.ApplicationProperties;
+import org.com.poc.domain.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bloom filters over the logins and the emails of the users, telling without a query that a login or an email is not
+ * used, so that the uniqueness checks and the authentication of unknown logins do not go to the database.
+ * <p>
+ * The filters are built when the application starts, and until then every login and email {@code might} be used. The
+ * users inserted or updated through Hibernate are added to the filters as they are written. The users written by the
+ * other instances are added when the cache invalidation bus reports them, which must be enabled when running several
+ * instances, and are read again every {@code application.user-existence-filter.refresh-ms} in case a message was lost.
+ * The database unique constraints still reject a duplicate inserted meanwhile.
+ * <p>
+ * Removed users stay in the filters until the filters are rebuilt, which only costs a query. The filters are rebuilt
+ * when more users were added than they were sized for, to keep their false positive rate.
+ * <p>
+ * The checks are counted in the {@code user.existence.filter} meter, tagged with the field and whether the value was
+ * {@code absent} or {@code maybe} present.
+ */
+@Component
+public class UserExistenceFilter {
+
+    private static final int MIN_CAPACITY = 1024;
+
+    private static final int BATCH_SIZE = 10_000;
+
+    /**
+     * Margin of the incremental refresh, covering the users whose transaction committed after a later one.
+     */
+    private static final long REFRESH_MARGIN_MS = 60_000;
+
+    private final Logger log = LoggerFactory.getLogger(UserExistenceFilter.class);
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    private final ApplicationProperties.UserExistenceFilter properties;
+
+    private final Counter loginAbsent;
+
+    private final Counter loginMaybe;
+
+    private final Counter emailAbsent;
+
+    private final Counter emailMaybe;
+
+    /**
+     * The users added while the filters are rebuilt, to be added to the new filters too.
+     */
+    private final Queue<String[]> addedDuringRebuild = new ConcurrentLinkedQueue<>();
+
+    private volatile Filters filters;
+
+    private volatile boolean rebuilding;
+
+    private volatile Instant lastRefresh;
+
+    public UserExistenceFilter(
+        ObjectProvider<EntityManagerFactory> entityManagerFactory,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.properties = applicationProperties.getUserExistenceFilter();
+        this.loginAbsent = Counter.builder("user.existence.filter").tag("field", "login").tag("result", "absent").register(meterRegistry);
+        this.loginMaybe = Counter.builder("user.existence.filter").tag("field", "login").tag("result", "maybe").register(meterRegistry);
+        this.emailAbsent = Counter.builder("user.existence.filter").tag("field", "email").tag("result", "absent").register(meterRegistry);
+        this.emailMaybe = Counter.builder("user.existence.filter").tag("field", "email").tag("result", "maybe").register(meterRegistry);
+    }
+
+    /**
+     * Tell whether a login might be used.
+     *
+     * @param login the login, in any case.
+     * @return {@code false} if no user has this login, {@code true} if one might have it.
+     */
+    public boolean mightContainLogin(String login) {
+        Filters current = filters;
+        if (current == null || login == null) {
+            return true;
+        }
+        boolean maybe = current.logins.mightContain(normalize(login));
+        (maybe ? loginMaybe : loginAbsent).increment();
+        return maybe;
+    }
+
+    /**
+     * Tell whether an email might be used.
+     *
+     * @param email the email, in any case.
+     * @return {@code false} if no user has this email, {@code true} if one might have it.
+     */
+    public boolean mightContainEmail(String email) {
+        Filters current = filters;
+        if (current == null || email == null) {
+            return true;
+        }
+        boolean maybe = current.emails.mightContain(normalize(email));
+        (maybe ? emailMaybe : emailAbsent).increment();
+        return maybe;
+    }
+
+    /**
+     * Add the login and the email of a user to the filters, called when it is inserted or updated.
+     *
+     * @param login the login of the user.
+     * @param email the email of the user, or {@code null}.
+     */
+    public void add(String login, String email) {
+        Filters current = filters;
+        if (current != null) {
+            current.add(login, email);
+        }
+        if (rebuilding) {
+            addedDuringRebuild.add(new String[] { login, email });
+        }
+    }
+
+    /**
+     * @return {@code true} once the filters are built, and used to answer.
+     */
+    public boolean isReady() {
+        return filters != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Build the filters from all the users.
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Instant since = Instant.now();
+        rebuilding = true;
+        try {
+            EntityManager entityManager = entityManagerFactory.getObject().createEntityManager();
+            try {
+                long count = entityManager
+                    .createQuery("select count(u) from " + User.class.getSimpleName() + " u", Long.class)
+                    .getSingleResult();
+                // Room for the users added until the next rebuild
+                Filters rebuilt = new Filters(Math.max(MIN_CAPACITY, count * 2), properties.getFalsePositiveRate());
+                long lastId = Long.MIN_VALUE;
+                List<Object[]> batch;
+                do {
+                    batch =
+                        entityManager
+                            .createQuery(
+                                "select u.id, u.login, u.email from " +
+                                User.class.getSimpleName() +
+                                " u where u.id > :lastId order by u.id",
+                                Object[].class
+                            )
+                            .setParameter("lastId", lastId)
+                            .setMaxResults(BATCH_SIZE)
+                            .getResultList();
+                    for (Object[] user : batch) {
+                        rebuilt.add((String) user[1], (String) user[2]);
+                        lastId = (Long) user[0];
+                    }
+                    entityManager.clear();
+                } while (batch.size() == BATCH_SIZE);
+                replayAddedDuringRebuild(rebuilt);
+                filters = rebuilt;
+                lastRefresh = since;
+                log.info("Built the user existence filters from {} users in {} ms", count, System.currentTimeMillis() - start);
+            } finally {
+                entityManager.close();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not build the user existence filters: {}", e.toString());
+        } finally {
+            rebuilding = false;
+            Filters current = filters;
+            if (current != null) {
+                replayAddedDuringRebuild(current);
+            }
+            addedDuringRebuild.clear();
+        }
+    }
+
+    /**
+     * Add the users inserted or updated by the other instances since the last refresh, and rebuild the filters once
+     * they hold more users than they were sized for.
+     */
+    @Scheduled(
+        initialDelayString = "${application.user-existence-filter.refresh-ms:10000}",
+        fixedDelayString = "${application.user-existence-filter.refresh-ms:10000}"
+    )
+    public synchronized void refresh() {
+        Filters current = filters;
+        if (current == null) {
+            return;
+        }
+        if (current.isFull()) {
+            rebuild();
+            return;
+        }
+        Instant since = Instant.now();
+        EntityManager entityManager = entityManagerFactory.getObject().createEntityManager();
+        try {
+            List<Object[]> users = entityManager
+                .createQuery(
+                    "select u.login, u.email from " + User.class.getSimpleName() + " u where u.lastModifiedDate >= :since",
+                    Object[].class
+                )
+                .setParameter("since", lastRefresh.minusMillis(REFRESH_MARGIN_MS))
+                .getResultList();
+            for (Object[] user : users) {
+                current.add((String) user[0], (String) user[1]);
+            }
+            lastRefresh = since;
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the user existence filters: {}", e.toString());
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private void replayAddedDuringRebuild(Filters rebuilt) {
+        for (String[] user : addedDuringRebuild) {
+            rebuilt.add(user[0], user[1]);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Filters {
+
+        private final BloomFilter logins;
+
+        private final BloomFilter emails;
+
+        Filters(long capacity, double falsePositiveRate) {
+            this.logins = new BloomFilter(capacity, falsePositiveRate);
+            this.emails = new BloomFilter(capacity, falsePositiveRate);
+        }
+
+        void add(String login, String email) {
+            if (login != null) {
+                logins.add(normalize(login));
+            }
+            if (email != null) {
+                emails.add(normalize(email));
+            }
+        }
+
+        boolean isFull() {
+            return logins.isFull() || emails.isFull();
+        }
+    }
+}
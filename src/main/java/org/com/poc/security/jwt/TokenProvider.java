@@ -6,7 +6,11 @@ import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import org.com.poc.management.SecurityMetersService;
 import org.slf4j.Logger;
@@ -29,6 +33,11 @@ public class TokenProvider {
 
     private static final String INVALID_JWT_TOKEN = "Invalid JWT token.";
 
+    /**
+     * Number of verified tokens kept, about 1 KB each.
+     */
+    private static final int MAX_VERIFIED_TOKENS = 10_000;
+
     private final Key key;
 
     private final JwtParser jwtParser;
@@ -39,6 +48,13 @@ public class TokenProvider {
 
     private final SecurityMetersService securityMetersService;
 
+    /**
+     * The authentications of the verified tokens, by SHA-256 digest of the token.
+     */
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
     public TokenProvider(JHipsterProperties jHipsterProperties, SecurityMetersService securityMetersService) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
@@ -83,24 +99,56 @@ public class TokenProvider {
     }
 
     public Authentication getAuthentication(String token) {
-        Claims claims = jwtParser.parseClaimsJws(token).getBody();
-
-        Collection<? extends GrantedAuthority> authorities = Arrays
-            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-            .filter(auth -> !auth.trim().isEmpty())
-            .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
+        return new VerifiedToken(jwtParser.parseClaimsJws(token).getBody()).toAuthentication(token);
+    }
 
-        User principal = new User(claims.getSubject(), "", authorities);
+    public boolean validateToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    /**
+     * Validate a token and get its authentication, parsing and verifying the token only once.
+     * <p>
+     * The authentications of the verified tokens are kept until the tokens expire, by digest of the token, so that
+     * the next requests with the same token are authenticated without parsing it again.
+     *
+     * @param token the token.
+     * @return the authentication, or empty if the token is not valid.
+     */
+    public Optional<Authentication> authenticate(String token) {
+        String digest = digest(token);
+        VerifiedToken verifiedToken = verifiedTokens.get(digest);
+        if (verifiedToken != null) {
+            if (System.currentTimeMillis() < verifiedToken.expiresAt) {
+                securityMetersService.trackTokenCacheHit();
+                return Optional.of(verifiedToken.toAuthentication(token));
+            }
+            // Parsed again below, to be tracked as expired
+            verifiedTokens.remove(digest, verifiedToken);
+        }
+        securityMetersService.trackTokenCacheMiss();
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return Optional.empty();
+        }
+        verifiedToken = new VerifiedToken(claims);
+        if (claims.getExpiration() != null) {
+            if (verifiedTokens.size() >= MAX_VERIFIED_TOKENS) {
+                evict();
+            }
+            verifiedTokens.put(digest, verifiedToken);
+        }
+        return Optional.of(verifiedToken.toAuthentication(token));
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * Parse and verify a token.
+     *
+     * @return the claims of the token, or {@code null} if it is not valid.
+     */
+    private Claims parseClaims(String authToken) {
         try {
-            jwtParser.parseClaimsJws(authToken);
-
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (ExpiredJwtException e) {
             this.securityMetersService.trackTokenExpired();
 
@@ -121,6 +169,63 @@ public class TokenProvider {
             log.error("Token validation error {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    /**
+     * Remove the expired tokens, then arbitrary ones until there is room for a new token.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            verifiedTokens.values().removeIf(verifiedToken -> now >= verifiedToken.expiresAt);
+            Iterator<VerifiedToken> iterator = verifiedTokens.values().iterator();
+            while (verifiedTokens.size() >= MAX_VERIFIED_TOKENS && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The principal and the authorities of a verified token, from which a new authentication is built for every
+     * request, as an authentication is mutable.
+     */
+    private static final class VerifiedToken {
+
+        private final User principal;
+
+        private final List<GrantedAuthority> authorities;
+
+        private final long expiresAt;
+
+        VerifiedToken(Claims claims) {
+            this.authorities =
+                Arrays
+                    .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
+                    .filter(auth -> !auth.trim().isEmpty())
+                    .map(SimpleGrantedAuthority::new)
+                    .collect(Collectors.toUnmodifiableList());
+            this.principal = new User(claims.getSubject(), "", authorities);
+            this.expiresAt = claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getTime();
+        }
+
+        Authentication toAuthentication(String token) {
+            return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        }
     }
 }
@@ -0,0 +1,90 @@
+package org.com.poc.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import org.com.poc.service.event.EntityChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service keeping an approximate row count per entity, so that list endpoints can return a total
+ * without running a {@code SELECT COUNT(*)} on every request.
+ * <p>
+ * A count is read from the database the first time it is requested, then kept up to date from
+ * {@link EntityChangeEvent}s and periodically refreshed in the background to correct any drift.
+ */
+@Service
+public class ApproximateCountService {
+
+    private final Logger log = LoggerFactory.getLogger(ApproximateCountService.class);
+
+    private final EntityManager entityManager;
+
+    private final Map<Class<?>, AtomicLong> counts = new ConcurrentHashMap<>();
+
+    public ApproximateCountService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Get the approximate number of rows of an entity.
+     *
+     * @param entityType the entity class.
+     * @return the cached count, loaded from the database on first use.
+     */
+    @Transactional(readOnly = true)
+    public long getCount(Class<?> entityType) {
+        AtomicLong count = counts.get(entityType);
+        if (count == null) {
+            count = counts.computeIfAbsent(entityType, type -> new AtomicLong(countFromDatabase(type)));
+        }
+        return count.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        AtomicLong count = counts.get(event.getEntityType());
+        if (count == null) {
+            return;
+        }
+        int changed = event.getIds().size();
+        if (event.getChangeType() == EntityChangeEvent.ChangeType.CREATED) {
+            count.addAndGet(changed);
+        } else if (event.getChangeType() == EntityChangeEvent.ChangeType.DELETED) {
+            count.updateAndGet(value -> Math.max(0, value - changed));
+        }
+    }
+
+    /**
+     * Re-read every cached count from the database.
+     * <p>
+     * This is scheduled to get fired every {@code application.approximate-count.refresh-delay-ms} milliseconds.
+     */
+    @Scheduled(
+        fixedDelayString = "${application.approximate-count.refresh-delay-ms:60000}",
+        initialDelayString = "${application.approximate-count.refresh-delay-ms:60000}"
+    )
+    @Transactional(readOnly = true)
+    public void refreshCounts() {
+        counts.forEach((type, count) -> {
+            long value = countFromDatabase(type);
+            log.debug("Refreshed approximate count of {} : {}", type.getSimpleName(), value);
+            count.set(value);
+        });
+    }
+
+    private long countFromDatabase(Class<?> entityType) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        query.select(cb.count(query.from(entityType)));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,247 @@
+package org.com.poc.service;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.com.poc.config.ApplicationProperties;
+import org.com.poc.service.dto.BulkChunkResultDTO;
+import org.com.poc.service.dto.BulkResultDTO;
+import org.com.poc.service.dto.BulkRowErrorDTO;
+import org.com.poc.service.event.EntityChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Service for inserting large numbers of entities.
+ * <p>
+ * Rows are validated, including the existence of the parents they reference, then inserted in chunks of
+ * {@code application.bulk.chunk-size}, each chunk in its own transaction so that a bad chunk does not roll back the
+ * whole operation. Within a chunk the persistence context is
+ * flushed and cleared every {@code hibernate.jdbc.batch_size} rows: with pooled ids this lets Hibernate send the inserts
+ * as JDBC batches (rewritten into multi-row inserts by MySQL Connector/J) while keeping memory flat.
+ */
+@Service
+public class BulkInsertService {
+
+    private final Logger log = LoggerFactory.getLogger(BulkInsertService.class);
+
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    private final int flushSize;
+
+    public BulkInsertService(
+        EntityManager entityManager,
+        Validator validator,
+        ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int flushSize
+    ) {
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = applicationProperties.getBulk().getChunkSize();
+        this.flushSize = flushSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Insert all the given entities, chunk by chunk.
+     *
+     * @param entityType the entity class.
+     * @param entities the new entities, which must not have an id.
+     * @param <T> the type of the entities.
+     * @return the per-chunk results.
+     */
+    public <T> BulkResultDTO createAll(Class<T> entityType, List<T> entities) {
+        log.debug("Request to bulk create {} {}", entities.size(), entityType.getSimpleName());
+        long start = System.currentTimeMillis();
+        BulkResultDTO result = new BulkResultDTO();
+        for (int from = 0, chunk = 0; from < entities.size(); from += chunkSize, chunk++) {
+            List<T> rows = entities.subList(from, Math.min(from + chunkSize, entities.size()));
+            result.addChunk(insertChunk(entityType, rows, chunk, from));
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        log.info(
+            "Bulk created {} {} out of {} in {} ms ({} rows/s)",
+            result.getCreated(),
+            entityType.getSimpleName(),
+            result.getReceived(),
+            result.getElapsedMillis(),
+            Math.round(result.getRowsPerSecond())
+        );
+        return result;
+    }
+
+    /**
+     * Validate and insert one chunk of entities in its own transaction, numbering rows from {@code firstRow}.
+     *
+     * @param entityType the entity class.
+     * @param rows the new entities of this chunk.
+     * @param chunk the index of the chunk.
+     * @param firstRow the index of the first row of the chunk in the whole operation.
+     * @param <T> the type of the entities.
+     * @return the chunk result.
+     * @see #insertChunk(Class, List, List, int)
+     */
+    public <T> BulkChunkResultDTO insertChunk(Class<T> entityType, List<T> rows, int chunk, long firstRow) {
+        List<Long> rowNumbers = LongStream.range(firstRow, firstRow + rows.size()).boxed().collect(Collectors.toList());
+        return insertChunk(entityType, rows, rowNumbers, chunk);
+    }
+
+    /**
+     * Validate and insert one chunk of entities in its own transaction.
+     * <p>
+     * Rows that already have an id, break a Bean Validation constraint or reference a missing parent entity are
+     * reported and skipped; if the insert of the remaining rows fails, the whole chunk is rolled back and the failure
+     * is reported.
+     *
+     * @param entityType the entity class.
+     * @param rows the new entities of this chunk.
+     * @param rowNumbers the number reported for each row in case of error.
+     * @param chunk the index of the chunk.
+     * @param <T> the type of the entities.
+     * @return the chunk result.
+     */
+    public <T> BulkChunkResultDTO insertChunk(Class<T> entityType, List<T> rows, List<Long> rowNumbers, int chunk) {
+        long start = System.currentTimeMillis();
+        BulkChunkResultDTO result = new BulkChunkResultDTO(chunk, rowNumbers.isEmpty() ? 0 : rowNumbers.get(0), rows.size());
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        List<T> valid = new ArrayList<>(rows.size());
+        List<Long> validRowNumbers = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            T row = rows.get(i);
+            if (persistenceUnitUtil.getIdentifier(row) != null) {
+                result.addError(rowNumbers.get(i), "A new " + entityType.getSimpleName() + " cannot already have an ID");
+                continue;
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                result.addError(
+                    rowNumbers.get(i),
+                    violations.stream().map(v -> v.getPropertyPath() + " " + v.getMessage()).sorted().collect(Collectors.joining(", "))
+                );
+                continue;
+            }
+            valid.add(row);
+            validRowNumbers.add(rowNumbers.get(i));
+        }
+        if (!valid.isEmpty()) {
+            try {
+                List<Long> ids = transactionTemplate.execute(status ->
+                    persistAll(entityType, rejectMissingReferences(entityType, valid, validRowNumbers, result), persistenceUnitUtil)
+                );
+                result.setCreatedIds(ids);
+            } catch (DataAccessException | PersistenceException | TransactionException e) {
+                log.warn("Bulk insert of chunk {} of {} failed: {}", chunk, entityType.getSimpleName(), e.getMessage());
+                result.setFailure(e.getMessage());
+            }
+        }
+        result.getErrors().sort(Comparator.comparingLong(BulkRowErrorDTO::getRow));
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Check, with one query per many-to-one association, that the parents referenced by the rows exist.
+     *
+     * @return the rows whose parents all exist; the other ones are reported as errors.
+     */
+    private <T> List<T> rejectMissingReferences(Class<T> entityType, List<T> rows, List<Long> rowNumbers, BulkChunkResultDTO result) {
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        Set<Integer> rejected = new HashSet<>();
+        for (SingularAttribute<? super T, ?> attribute : entityManager.getMetamodel().entity(entityType).getSingularAttributes()) {
+            if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.MANY_TO_ONE) {
+                continue;
+            }
+            Field field = (Field) attribute.getJavaMember();
+            ReflectionUtils.makeAccessible(field);
+            Map<Integer, Object> parentIds = new HashMap<>();
+            for (int i = 0; i < rows.size(); i++) {
+                Object parent = ReflectionUtils.getField(field, rows.get(i));
+                if (parent != null) {
+                    parentIds.put(i, persistenceUnitUtil.getIdentifier(parent));
+                }
+            }
+            List<Object> distinctParentIds = parentIds.values().stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+            Set<Object> existingIds = new HashSet<>();
+            if (!distinctParentIds.isEmpty()) {
+                existingIds.addAll(
+                    entityManager
+                        .createQuery("select parent.id from " + attribute.getJavaType().getSimpleName() + " parent where parent.id in :ids")
+                        .setParameter("ids", distinctParentIds)
+                        .getResultList()
+                );
+            }
+            parentIds.forEach((i, parentId) -> {
+                if (!existingIds.contains(parentId) && rejected.add(i)) {
+                    result.addError(rowNumbers.get(i), attribute.getName() + " " + parentId + " does not exist");
+                }
+            });
+        }
+        if (rejected.isEmpty()) {
+            return rows;
+        }
+        List<T> resolved = new ArrayList<>(rows.size() - rejected.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (!rejected.contains(i)) {
+                resolved.add(rows.get(i));
+            }
+        }
+        return resolved;
+    }
+
+    private <T> List<Long> persistAll(Class<T> entityType, List<T> entities, PersistenceUnitUtil persistenceUnitUtil) {
+        List<Long> ids = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            T entity = entities.get(i);
+            entityManager.persist(entity);
+            ids.add((Long) persistenceUnitUtil.getIdentifier(entity));
+            if ((i + 1) % flushSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        eventPublisher.publishEvent(new EntityChangeEvent(entityType, EntityChangeEvent.ChangeType.CREATED, ids));
+        return ids;
+    }
+}
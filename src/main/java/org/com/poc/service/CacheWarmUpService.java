@@ -0,0 +1,200 @@
+package org.com.poc.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javax.persistence.EntityManager;
+import org.com.poc.config.ApplicationProperties;
+import org.com.poc.domain.Facility;
+import org.com.poc.domain.Resident;
+import org.com.poc.domain.Room;
+import org.com.poc.domain.User;
+import org.com.poc.repository.UserRepository;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service loading the caches when the application starts, so that the first requests after a deploy do not all go
+ * to the database.
+ * <p>
+ * The most recently modified rooms, residents and facilities are read into the second-level cache with their cached
+ * collections, and the most recently modified users into the {@link UserRepository#USERS_BY_LOGIN_CACHE} cache of the
+ * {@code @Cacheable} methods. The entities are read in batches of {@code application.cache-warm-up.batch-size}, one
+ * query per batch, in parallel on the task executor.
+ * <p>
+ * The application is reported {@link #isWarm() warm} when every batch is loaded, or when the time budget is spent:
+ * the batches that have not started by then are skipped.
+ */
+@Service
+public class CacheWarmUpService {
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    private final EntityManager entityManager;
+
+    private final MultiIdService multiIdService;
+
+    private final UserRepository userRepository;
+
+    private final Cache usersByLogin;
+
+    private final Executor taskExecutor;
+
+    private final ApplicationProperties.CacheWarmUp properties;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AtomicLong loadedEntries = new AtomicLong();
+
+    private volatile boolean finished;
+
+    private volatile long deadline = Long.MAX_VALUE;
+
+    public CacheWarmUpService(
+        EntityManager entityManager,
+        MultiIdService multiIdService,
+        UserRepository userRepository,
+        @Qualifier("singleFlightCachingConfigurer") CachingConfigurer cachingConfigurer,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.entityManager = entityManager;
+        this.multiIdService = multiIdService;
+        this.userRepository = userRepository;
+        this.usersByLogin = Objects.requireNonNull(
+            Objects.requireNonNull(cachingConfigurer.cacheManager()).getCache(UserRepository.USERS_BY_LOGIN_CACHE)
+        );
+        this.taskExecutor = taskExecutor;
+        this.properties = applicationProperties.getCacheWarmUp();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        if (properties.isEnabled()) {
+            warmUp();
+        } else {
+            finished = true;
+        }
+    }
+
+    /**
+     * Load the caches in the background.
+     *
+     * @return a future completed when every batch is loaded or skipped.
+     */
+    public CompletableFuture<Void> warmUp() {
+        long start = System.currentTimeMillis();
+        finished = false;
+        deadline = start + properties.getTimeBudgetMs();
+        loadedEntries.set(0);
+        log.info("Warming up the caches for at most {} ms", properties.getTimeBudgetMs());
+        return CompletableFuture
+            .allOf(
+                warmUpEntities(Room.class, room -> Hibernate.initialize(room.getFacilities())),
+                warmUpEntities(Resident.class, resident -> Hibernate.initialize(resident.getRooms())),
+                warmUpEntities(Facility.class, facility -> {}),
+                warmUpUsers()
+            )
+            .whenComplete((result, error) -> {
+                finished = true;
+                if (error != null) {
+                    log.warn("Cache warm-up failed after {} entries: {}", loadedEntries.get(), error.toString());
+                } else {
+                    log.info("Caches warmed up with {} entries in {} ms", loadedEntries.get(), System.currentTimeMillis() - start);
+                }
+            });
+    }
+
+    /**
+     * Tell whether the warm-up is over, or has used up its time budget.
+     *
+     * @return {@code true} if the application can take traffic.
+     */
+    public boolean isWarm() {
+        return finished || System.currentTimeMillis() >= deadline;
+    }
+
+    /**
+     * @return the number of entities and users loaded by the last warm-up so far.
+     */
+    public long getLoadedEntries() {
+        return loadedEntries.get();
+    }
+
+    private <T> CompletableFuture<Void> warmUpEntities(Class<T> entityType, Consumer<T> cachedCollections) {
+        String query = "select e.id from " + entityType.getSimpleName() + " e order by e.lastModifiedDate desc";
+        return readKeys(query, Long.class, properties.getMaxEntities())
+            .thenCompose(ids ->
+                inBatches(
+                    ids,
+                    batch ->
+                        readOnlyTransaction.executeWithoutResult(status -> {
+                            List<T> entities = multiIdService.findAllById(entityType, batch);
+                            entities.forEach(cachedCollections);
+                            loadedEntries.addAndGet(entities.size());
+                        })
+                )
+            );
+    }
+
+    private CompletableFuture<Void> warmUpUsers() {
+        String query =
+            "select u.login from " + User.class.getSimpleName() + " u where u.activated = true order by u.lastModifiedDate desc";
+        return readKeys(query, String.class, properties.getMaxUsers())
+            .thenCompose(logins ->
+                inBatches(
+                    logins,
+                    batch ->
+                        readOnlyTransaction.executeWithoutResult(status -> {
+                            List<User> users = userRepository.findAllWithAuthoritiesByLoginIn(batch);
+                            // Cached through the cache manager of UserRepository#findOneWithAuthoritiesByLogin, so that the
+                            // entries are stored with their load time and refreshed ahead of expiry like the ones it loads
+                            users.forEach(user -> usersByLogin.putIfAbsent(user.getLogin(), user));
+                            loadedEntries.addAndGet(users.size());
+                        })
+                )
+            );
+    }
+
+    private <K> CompletableFuture<List<K>> readKeys(String query, Class<K> keyType, int maxResults) {
+        return CompletableFuture.supplyAsync(
+            () ->
+                readOnlyTransaction.execute(status -> entityManager.createQuery(query, keyType).setMaxResults(maxResults).getResultList()),
+            taskExecutor
+        );
+    }
+
+    private <K> CompletableFuture<Void> inBatches(List<K> keys, Consumer<List<K>> loader) {
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += properties.getBatchSize()) {
+            List<K> batch = keys.subList(from, Math.min(from + properties.getBatchSize(), keys.size()));
+            batches.add(
+                CompletableFuture.runAsync(
+                    () -> {
+                        if (System.currentTimeMillis() < deadline) {
+                            loader.accept(batch);
+                        }
+                    },
+                    taskExecutor
+                )
+            );
+        }
+        return CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new));
+    }
+}
@@ -0,0 +1,110 @@
+package org.com.poc.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal incremental reader for delimiter-separated files, such as the Liquibase fake-data files.
+ * <p>
+ * Records are read one at a time, so files of any size can be processed. Fields may be quoted with {@code "}, in which
+ * case they can contain the separator, line breaks and doubled quotes. Empty unquoted fields are read as {@code null}.
+ */
+public class CsvRowReader implements Closeable {
+
+    private static final char QUOTE = '"';
+
+    private final BufferedReader reader;
+
+    private final char separator;
+
+    private long lineNumber;
+
+    private long recordLineNumber;
+
+    public CsvRowReader(Reader reader, char separator) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.separator = separator;
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return the fields of the record, or {@code null} at the end of the input.
+     * @throws IOException if the input cannot be read, or ends inside a quoted field.
+     */
+    public List<String> readRecord() throws IOException {
+        String line = reader.readLine();
+        while (line != null && line.isEmpty()) {
+            lineNumber++;
+            line = reader.readLine();
+        }
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+        recordLineNumber = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // a quoted field continues on the next line
+                line = reader.readLine();
+                if (line == null) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLineNumber);
+                }
+                lineNumber++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != QUOTE) {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == QUOTE) {
+                    field.append(QUOTE);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == QUOTE && field.length() == 0) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == separator) {
+                fields.add(toValue(field, wasQuoted));
+                field.setLength(0);
+                wasQuoted = false;
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(toValue(field, wasQuoted));
+        return fields;
+    }
+
+    /**
+     * @return the line number, starting at 1, on which the last record read starts.
+     */
+    public long getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    private static String toValue(StringBuilder field, boolean wasQuoted) {
+        return field.length() == 0 && !wasQuoted ? null : field.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
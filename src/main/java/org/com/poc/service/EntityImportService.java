@@ -0,0 +1,348 @@
+package org.com.poc.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import org.com.poc.domain.Facility;
+import org.com.poc.domain.Resident;
+import org.com.poc.domain.Room;
+import org.com.poc.service.dto.BulkChunkResultDTO;
+import org.com.poc.service.dto.BulkResultDTO;
+import org.com.poc.service.dto.BulkRowErrorDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Service for importing entities from large files.
+ * <p>
+ * Two formats are accepted:
+ * <ul>
+ *     <li>{@code text/csv}: the {@code ;}-separated layout of the Liquibase fake-data files, with a header row of column
+ *     names, {@code resident_id} and {@code room_id} referencing existing entities. As Liquibase does, the value of a
+ *     CLOB column may be the path of a file relative to the fake-data directory, whose content is imported: a row
+ *     referencing a file that is not under that directory is rejected;</li>
+ *     <li>{@code application/x-ndjson}: one JSON entity per line, as written by the export endpoints.</li>
+ * </ul>
+ * The input is parsed incrementally and inserted chunk by chunk with {@link BulkInsertService}, so its size is not
+ * limited by memory. Ids found in the input are ignored, new ids are assigned on insert. The result of every chunk,
+ * with its rejected rows, is written as an NDJSON line as soon as the chunk is committed, and the last line holds the
+ * totals.
+ */
+@Service
+public class EntityImportService {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final char CSV_SEPARATOR = ';';
+
+    private static final String ID_COLUMN = "id";
+
+    /**
+     * The classpath directory of the Liquibase fake-data files, which the file paths of the CLOB columns are relative to.
+     */
+    private static final String FAKE_DATA_DIRECTORY = "config/liquibase/fake-data/";
+
+    /**
+     * A value that is a relative file path rather than text: no whitespace nor scheme, a directory and an extension.
+     */
+    private static final Pattern FILE_PATH = Pattern.compile("[^\\s:]*/[^\\s:/]+\\.\\w+");
+
+    /**
+     * The contents of the fake-data files referenced by the CLOB columns, by path.
+     */
+    private static final Map<String, String> FAKE_DATA_FILES = new ConcurrentHashMap<>();
+
+    private static final Map<Class<?>, CsvLayout<?>> CSV_LAYOUTS = Map.of(
+        Resident.class,
+        new CsvLayout<Resident>(Resident::new)
+            .column("resident_name", Resident::setResidentName)
+            .column("resident_address", Resident::setResidentAddress),
+        Room.class,
+        new CsvLayout<Room>(Room::new)
+            .column("room_title", Room::setRoomTitle)
+            .column("room_description", (room, value) -> room.setRoomDescription(clob("room_description", value)))
+            .column("room_type", Room::setRoomType)
+            .column("resident_id", (room, value) -> room.setResident(new Resident().id(parseId("resident_id", value)))),
+        Facility.class,
+        new CsvLayout<Facility>(Facility::new)
+            .column("facility_name", Facility::setFacilityName)
+            .column("room_id", (facility, value) -> facility.setRoom(new Room().id(parseId("room_id", value))))
+    );
+
+    private final Logger log = LoggerFactory.getLogger(EntityImportService.class);
+
+    private final BulkInsertService bulkInsertService;
+
+    private final ObjectMapper objectMapper;
+
+    public EntityImportService(BulkInsertService bulkInsertService, ObjectMapper objectMapper) {
+        this.bulkInsertService = bulkInsertService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Import entities from a CSV or NDJSON input.
+     *
+     * @param entityType the entity class.
+     * @param contentType the format of the input.
+     * @param input the input, read until its end.
+     * @param progress where the NDJSON progress report is written.
+     * @param <T> the type of the entities.
+     * @return the totals of the import.
+     * @throws IOException if the input cannot be read or the progress cannot be written.
+     * @throws IllegalArgumentException if the input cannot be imported at all, before anything is inserted.
+     */
+    public <T> BulkResultDTO importEntities(Class<T> entityType, MediaType contentType, InputStream input, OutputStream progress)
+        throws IOException {
+        log.debug("Request to import {} from {}", entityType.getSimpleName(), contentType);
+        ChunkImporter<T> importer = new ChunkImporter<>(entityType, progress);
+        if (MediaType.parseMediaType(TEXT_CSV_VALUE).isCompatibleWith(contentType)) {
+            importCsv(entityType, input, importer);
+        } else {
+            importNdjson(entityType, input, importer);
+        }
+        return importer.finish();
+    }
+
+    private <T> void importCsv(Class<T> entityType, InputStream input, ChunkImporter<T> importer) throws IOException {
+        @SuppressWarnings("unchecked")
+        CsvLayout<T> layout = (CsvLayout<T>) CSV_LAYOUTS.get(entityType);
+        if (layout == null) {
+            throw new IllegalArgumentException("No CSV layout for " + entityType.getSimpleName());
+        }
+        try (CsvRowReader reader = new CsvRowReader(new InputStreamReader(input, StandardCharsets.UTF_8), CSV_SEPARATOR)) {
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("The CSV input is empty");
+            }
+            layout.checkHeader(header);
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                try {
+                    importer.add(layout.toEntity(header, record), reader.getRecordLineNumber());
+                } catch (IllegalArgumentException e) {
+                    importer.reject(reader.getRecordLineNumber(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private <T> void importNdjson(Class<T> entityType, InputStream input, ChunkImporter<T> importer) throws IOException {
+        ObjectReader entityReader = objectMapper.readerFor(entityType).with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                // Every line is parsed on its own, so a malformed line cannot desynchronize the following ones
+                try {
+                    T entity = entityReader.readValue(line);
+                    if (entity == null) {
+                        importer.reject(lineNumber, "Expected a JSON object");
+                        continue;
+                    }
+                    new BeanWrapperImpl(entity).setPropertyValue(ID_COLUMN, null);
+                    importer.add(entity, lineNumber);
+                } catch (JsonProcessingException e) {
+                    importer.reject(lineNumber, e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the value of a CLOB column: the content of the fake-data file it references, or the value itself if it is
+     * not a file path.
+     *
+     * @throws IllegalArgumentException if the value references a file outside of the fake-data directory, or a missing
+     * one.
+     */
+    private static String clob(String column, String value) {
+        if (!FILE_PATH.matcher(value).matches()) {
+            return value;
+        }
+        String path = StringUtils.cleanPath(FAKE_DATA_DIRECTORY + value);
+        if (!path.startsWith(FAKE_DATA_DIRECTORY)) {
+            throw new IllegalArgumentException(column + " references a file outside of the fake-data directory: " + value);
+        }
+        String content = FAKE_DATA_FILES.computeIfAbsent(path, EntityImportService::readFakeDataFile);
+        if (content == null) {
+            throw new IllegalArgumentException(column + " references a missing file: " + value);
+        }
+        return content;
+    }
+
+    private static String readFakeDataFile(String path) {
+        ClassPathResource resource = new ClassPathResource(path);
+        if (!resource.isReadable()) {
+            return null;
+        }
+        try (InputStream input = resource.getInputStream()) {
+            return StreamUtils.copyToString(input, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Long parseId(String column, String value) {
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    /**
+     * Mapping between the columns of a CSV file and the fields of an entity.
+     */
+    private static final class CsvLayout<T> {
+
+        private final Supplier<T> factory;
+
+        private final Map<String, BiConsumer<T, String>> columns = new LinkedHashMap<>();
+
+        CsvLayout(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        CsvLayout<T> column(String name, BiConsumer<T, String> setter) {
+            columns.put(name, setter);
+            return this;
+        }
+
+        void checkHeader(List<String> header) {
+            for (String column : header) {
+                if (!ID_COLUMN.equals(column) && !columns.containsKey(column)) {
+                    throw new IllegalArgumentException("Unknown column '" + column + "', expected one of " + columns.keySet());
+                }
+            }
+        }
+
+        T toEntity(List<String> header, List<String> record) {
+            if (record.size() != header.size()) {
+                throw new IllegalArgumentException("Expected " + header.size() + " fields but found " + record.size());
+            }
+            T entity = factory.get();
+            for (int i = 0; i < header.size(); i++) {
+                BiConsumer<T, String> setter = columns.get(header.get(i));
+                if (setter != null && record.get(i) != null) {
+                    setter.accept(entity, record.get(i));
+                }
+            }
+            return entity;
+        }
+    }
+
+    /**
+     * Buffers parsed rows and inserts them chunk by chunk, reporting the progress.
+     */
+    private final class ChunkImporter<T> {
+
+        private final Class<T> entityType;
+
+        private final JsonGenerator progress;
+
+        private final BulkResultDTO totals = new BulkResultDTO();
+
+        private final long start = System.currentTimeMillis();
+
+        private List<T> rows = new ArrayList<>();
+
+        private List<Long> rowNumbers = new ArrayList<>();
+
+        private List<BulkRowErrorDTO> rejected = new ArrayList<>();
+
+        private int chunk;
+
+        ChunkImporter(Class<T> entityType, OutputStream progress) throws IOException {
+            this.entityType = entityType;
+            this.progress = objectMapper.getFactory().createGenerator(progress).setRootValueSeparator(null);
+            this.progress.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        void add(T entity, long rowNumber) throws IOException {
+            rows.add(entity);
+            rowNumbers.add(rowNumber);
+            flushIfFull();
+        }
+
+        void reject(long rowNumber, String message) throws IOException {
+            rejected.add(new BulkRowErrorDTO(rowNumber, message));
+            flushIfFull();
+        }
+
+        BulkResultDTO finish() throws IOException {
+            if (!rows.isEmpty() || !rejected.isEmpty()) {
+                insertChunk();
+            }
+            totals.setElapsedMillis(System.currentTimeMillis() - start);
+            write(totals);
+            progress.close();
+            log.info(
+                "Imported {} {} out of {} in {} ms ({} rows/s)",
+                totals.getCreated(),
+                entityType.getSimpleName(),
+                totals.getReceived(),
+                totals.getElapsedMillis(),
+                Math.round(totals.getRowsPerSecond())
+            );
+            return totals;
+        }
+
+        private void flushIfFull() throws IOException {
+            if (rows.size() + rejected.size() >= bulkInsertService.getChunkSize()) {
+                insertChunk();
+            }
+        }
+
+        private void insertChunk() throws IOException {
+            BulkChunkResultDTO result = bulkInsertService.insertChunk(entityType, rows, rowNumbers, chunk++);
+            if (!rejected.isEmpty()) {
+                result.setSize(result.getSize() + rejected.size());
+                result.getErrors().addAll(rejected);
+                result.getErrors().sort(Comparator.comparingLong(BulkRowErrorDTO::getRow));
+                if (rowNumbers.isEmpty() || rejected.get(0).getRow() < result.getFirstRow()) {
+                    result.setFirstRow(rejected.get(0).getRow());
+                }
+            }
+            totals.countChunk(result);
+            write(result);
+            rows = new ArrayList<>();
+            rowNumbers = new ArrayList<>();
+            rejected = new ArrayList<>();
+        }
+
+        private void write(Object value) throws IOException {
+            objectMapper.writeValue(progress, value);
+            progress.writeRaw('\n');
+            progress.flush();
+        }
+    }
+}
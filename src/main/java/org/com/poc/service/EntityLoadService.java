@@ -0,0 +1,85 @@
+package org.com.poc.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Service finding entities by id, coalescing the concurrent reads of an entity missing from the second-level cache.
+ * <p>
+ * The first request missing an entity reads it from the database, which puts it in the second-level cache. The
+ * requests missing it meanwhile wait for that read, then get the entity from the second-level cache into their own
+ * persistence context, so that a hot entity expiring or evicted is read once rather than once per request.
+ * <p>
+ * The read-only transactions sent to a replica do not put what they read in the second-level cache (see
+ * {@link ReplicaReads}), so the entity is then read from the primary, in a transaction of its own.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EntityLoadService {
+
+    private final Map<Class<?>, SingleFlight> singleFlights = new ConcurrentHashMap<>();
+
+    private final EntityManager entityManager;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ReplicaReads replicaReads;
+
+    private final TransactionTemplate primaryTransaction;
+
+    public EntityLoadService(
+        EntityManager entityManager,
+        MeterRegistry meterRegistry,
+        ObjectProvider<ReplicaReads> replicaReads,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.entityManager = entityManager;
+        this.meterRegistry = meterRegistry;
+        this.replicaReads = replicaReads.getIfAvailable(() -> ReplicaReads.NONE);
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Get an entity.
+     *
+     * @param entityType the entity class.
+     * @param id the id of the entity.
+     * @param <T> the entity type.
+     * @return the entity, or empty if it does not exist.
+     */
+    public <T> Optional<T> findById(Class<T> entityType, Long id) {
+        if (entityManager.getEntityManagerFactory().getCache().contains(entityType, id)) {
+            return Optional.ofNullable(entityManager.find(entityType, id));
+        }
+        SingleFlight singleFlight = singleFlights.computeIfAbsent(entityType, type -> new SingleFlight(type.getName(), meterRegistry));
+        boolean found = false;
+        try {
+            found = singleFlight.load(id, () -> load(entityType, id));
+        } catch (Exception e) {
+            ReflectionUtils.rethrowRuntimeException(e);
+        }
+        // Already in the persistence context of the caller that read it here, in the second-level cache otherwise
+        return found ? Optional.ofNullable(entityManager.find(entityType, id)) : Optional.empty();
+    }
+
+    private boolean load(Class<?> entityType, Long id) {
+        if (!replicaReads.isReadingFromReplica()) {
+            return entityManager.find(entityType, id) != null;
+        }
+        return replicaReads.onPrimary(() ->
+            Boolean.TRUE.equals(primaryTransaction.execute(status -> entityManager.find(entityType, id) != null))
+        );
+    }
+}
@@ -0,0 +1,204 @@
+package org.com.poc.service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.persistence.EntityManager;
+import org.com.poc.domain.AbstractAuditingEntity;
+import org.com.poc.domain.Facility;
+import org.com.poc.domain.Room;
+import org.com.poc.service.event.EntityChangeEvent;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service computing the entity tags ({@code ETag}) of the entity resources, so that conditional requests can be
+ * answered with a {@code 304 (Not Modified)} without reading nor serializing the entities.
+ * <p>
+ * The tag of an entity is made of its version and, as the representation of a room embeds its resident and the one of
+ * a facility its room, of the version of that parent. It is read from the second-level cache when the entity is
+ * cached, and otherwise with a query on the versions only. The last modification date ({@code Last-Modified}) is the
+ * latest of the entity and of that parent, read the same way.
+ * <p>
+ * The tag of a list is made of a generation per entity type, incremented by the committed {@link EntityChangeEvent}s,
+ * so that an unchanged list is recognized without any query. The generations are local to this instance, and prefixed
+ * with its start time so that tags are never reused after a restart.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EntityTagService {
+
+    /**
+     * The many-to-one association embedded in the representation of each entity type.
+     */
+    private static final Map<Class<?>, String> EMBEDDED_PARENTS = Map.of(Room.class, "resident", Facility.class, "room");
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final Map<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final EntityManager entityManager;
+
+    public EntityTagService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Get the current tag of an entity, without loading it from the database.
+     *
+     * @param entityType the entity class.
+     * @param id the id of the entity.
+     * @return the tag, or empty if the entity does not exist.
+     */
+    public Optional<String> getEntityTag(Class<?> entityType, Long id) {
+        if (entityManager.getEntityManagerFactory().getCache().contains(entityType, id)) {
+            return Optional.ofNullable(entityManager.find(entityType, id)).map(this::getEntityTag);
+        }
+        String parent = EMBEDDED_PARENTS.get(entityType);
+        if (parent == null) {
+            return entityManager
+                .createQuery("select entity.version from " + entityType.getSimpleName() + " entity where entity.id = :id", Long.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .map(version -> entityTag(version, null));
+        }
+        return entityManager
+            .createQuery(
+                "select entity.version, parent.version from " +
+                entityType.getSimpleName() +
+                " entity left join entity." +
+                parent +
+                " parent where entity.id = :id",
+                Object[].class
+            )
+            .setParameter("id", id)
+            .getResultStream()
+            .findFirst()
+            .map(versions -> entityTag((Long) versions[0], (Long) versions[1]));
+    }
+
+    /**
+     * Get the tag of an entity already loaded.
+     *
+     * @param entity the entity.
+     * @return the tag.
+     */
+    public String getEntityTag(Object entity) {
+        Object unproxied = Hibernate.unproxy(entity);
+        EntityPersister persister = persister(unproxied.getClass());
+        String parent = EMBEDDED_PARENTS.get(unproxied.getClass());
+        Object parentEntity = parent == null ? null : Hibernate.unproxy(persister.getPropertyValue(unproxied, parent));
+        Long parentVersion = parentEntity == null ? null : (Long) persister(parentEntity.getClass()).getVersion(parentEntity);
+        return entityTag((Long) persister.getVersion(unproxied), parentVersion);
+    }
+
+    /**
+     * Get the current last modification date of an entity, without loading it from the database.
+     *
+     * @param entityType the entity class.
+     * @param id the id of the entity.
+     * @return the date, or empty if the entity does not exist or has no modification date.
+     * @see #getLastModified(Object)
+     */
+    public Optional<Instant> getLastModified(Class<?> entityType, Long id) {
+        if (entityManager.getEntityManagerFactory().getCache().contains(entityType, id)) {
+            return Optional.ofNullable(entityManager.find(entityType, id)).flatMap(this::getLastModified);
+        }
+        String parent = EMBEDDED_PARENTS.get(entityType);
+        if (parent == null) {
+            return entityManager
+                .createQuery(
+                    "select entity.lastModifiedDate from " + entityType.getSimpleName() + " entity where entity.id = :id",
+                    Instant.class
+                )
+                .setParameter("id", id)
+                .getResultStream()
+                .filter(Objects::nonNull)
+                .findFirst();
+        }
+        return entityManager
+            .createQuery(
+                "select entity.lastModifiedDate, parent.lastModifiedDate from " +
+                entityType.getSimpleName() +
+                " entity left join entity." +
+                parent +
+                " parent where entity.id = :id",
+                Object[].class
+            )
+            .setParameter("id", id)
+            .getResultStream()
+            .findFirst()
+            .flatMap(dates -> latest((Instant) dates[0], (Instant) dates[1]));
+    }
+
+    /**
+     * Get the last modification date of an entity already loaded: the latest of its own and, as for the tag, of the
+     * parent embedded in its representation.
+     *
+     * @param entity the entity.
+     * @return the date, or empty if the entity has no modification date.
+     */
+    public Optional<Instant> getLastModified(Object entity) {
+        Object unproxied = Hibernate.unproxy(entity);
+        String parent = EMBEDDED_PARENTS.get(unproxied.getClass());
+        Object parentEntity = parent == null
+            ? null
+            : Hibernate.unproxy(persister(unproxied.getClass()).getPropertyValue(unproxied, parent));
+        return latest(lastModifiedDate(unproxied), lastModifiedDate(parentEntity));
+    }
+
+    /**
+     * Get the current tag of lists built from the given entity types.
+     *
+     * @param entityTypes the classes of the entities the list is built from.
+     * @return the tag, which changes whenever one of these entities is created, updated or deleted.
+     */
+    public String getListTag(Class<?>... entityTypes) {
+        StringJoiner tag = new StringJoiner(".", "W/\"", "\"").add(epoch);
+        for (Class<?> entityType : entityTypes) {
+            tag.add(Long.toString(generation(entityType).get(), Character.MAX_RADIX));
+        }
+        return tag.toString();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        generation(event.getEntityType()).incrementAndGet();
+    }
+
+    private AtomicLong generation(Class<?> entityType) {
+        return generations.computeIfAbsent(entityType, type -> new AtomicLong());
+    }
+
+    private EntityPersister persister(Class<?> entityType) {
+        return entityManager
+            .getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getMetamodel()
+            .entityPersister(entityType);
+    }
+
+    private static Instant lastModifiedDate(Object entity) {
+        return entity instanceof AbstractAuditingEntity ? ((AbstractAuditingEntity) entity).getLastModifiedDate() : null;
+    }
+
+    private static Optional<Instant> latest(Instant date, Instant parentDate) {
+        if (date == null) {
+            return Optional.empty();
+        }
+        return Optional.of(parentDate == null || date.isAfter(parentDate) ? date : parentDate);
+    }
+
+    private static String entityTag(Long version, Long parentVersion) {
+        return "\"" + version + (parentVersion == null ? "" : "." + parentVersion) + "\"";
+    }
+}
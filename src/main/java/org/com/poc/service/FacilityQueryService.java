@@ -0,0 +1,145 @@
+package org.com.poc.service;
+
+import java.util.List;
+import javax.persistence.criteria.JoinType;
+import org.com.poc.domain.*; // for static metamodels
+import org.com.poc.domain.Facility;
+import org.com.poc.repository.FacilityRepository;
+import org.com.poc.service.criteria.FacilityCriteria;
+import org.com.poc.service.dto.FacilityDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Facility} entities in the database.
+ * The main input is a {@link FacilityCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link List} of {@link Facility} or a {@link Slice} of {@link FacilityDTO} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class FacilityQueryService extends QueryService<Facility> {
+
+    /**
+     * The unfiltered pages, whose first pages are served from the {@link QueryCacheService}.
+     */
+    public static final QueryCacheService.CachedQuery UNFILTERED_PAGES = new QueryCacheService.CachedQuery(
+        "facilities",
+        Facility.class,
+        Room.class
+    );
+
+    private final Logger log = LoggerFactory.getLogger(FacilityQueryService.class);
+
+    private final FacilityRepository facilityRepository;
+
+    private final ListProjectionService listProjectionService;
+
+    private final ApproximateCountService approximateCountService;
+
+    private final QueryCacheService queryCacheService;
+
+    public FacilityQueryService(
+        FacilityRepository facilityRepository,
+        ListProjectionService listProjectionService,
+        ApproximateCountService approximateCountService,
+        QueryCacheService queryCacheService
+    ) {
+        this.facilityRepository = facilityRepository;
+        this.listProjectionService = listProjectionService;
+        this.approximateCountService = approximateCountService;
+        this.queryCacheService = queryCacheService;
+    }
+
+    /**
+     * Return a {@link List} of {@link Facility} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public List<Facility> findByCriteria(FacilityCriteria criteria) {
+        log.debug("find by criteria : {}", criteria);
+        final Specification<Facility> specification = createSpecification(criteria);
+        return facilityRepository.findAll(specification);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link FacilityDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<FacilityDTO> findByCriteria(FacilityCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Facility> specification = createSpecification(criteria);
+        if (isUnfiltered(criteria)) {
+            return queryCacheService.findSlice(UNFILTERED_PAGES, page, () -> listProjectionService.findFacilities(specification, page));
+        }
+        return listProjectionService.findFacilities(specification, page);
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(FacilityCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Facility> specification = createSpecification(criteria);
+        return facilityRepository.count(specification);
+    }
+
+    /**
+     * Return the number of matching entities, approximated by the {@link ApproximateCountService} when the criteria
+     * has no filter.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long approximateCountByCriteria(FacilityCriteria criteria) {
+        if (isUnfiltered(criteria)) {
+            return approximateCountService.getCount(Facility.class);
+        }
+        return countByCriteria(criteria);
+    }
+
+    private static boolean isUnfiltered(FacilityCriteria criteria) {
+        return criteria == null || new FacilityCriteria().equals(criteria);
+    }
+
+    /**
+     * Function to convert {@link FacilityCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Facility> createSpecification(FacilityCriteria criteria) {
+        Specification<Facility> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Facility_.id));
+            }
+            if (criteria.getFacilityName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getFacilityName(), Facility_.facilityName));
+            }
+            if (criteria.getRoomId() != null) {
+                specification =
+                    specification.and(
+                        buildSpecification(criteria.getRoomId(), root -> root.join(Facility_.room, JoinType.LEFT).get(Room_.id))
+                    );
+            }
+        }
+        return specification;
+    }
+}
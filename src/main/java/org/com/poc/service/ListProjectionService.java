@@ -0,0 +1,213 @@
+package org.com.poc.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import javax.persistence.metamodel.SingularAttribute;
+import org.com.poc.domain.Facility;
+import org.com.poc.domain.Facility_;
+import org.com.poc.domain.Resident;
+import org.com.poc.domain.Resident_;
+import org.com.poc.domain.Room;
+import org.com.poc.domain.Room_;
+import org.com.poc.service.dto.FacilityDTO;
+import org.com.poc.service.dto.ResidentDTO;
+import org.com.poc.service.dto.RoomSummaryDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service reading the list pages as DTO projections.
+ * <p>
+ * Each page is a single {@code SELECT} of the listed columns, with the to-one parents joined in the same statement:
+ * no entity is loaded, so neither the eager {@code @ManyToOne} associations nor Jackson can trigger further queries.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ListProjectionService {
+
+    private final EntityManager entityManager;
+
+    public ListProjectionService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Get a page of room summaries.
+     *
+     * @param specification the filter of the rooms, may be {@code null}.
+     * @param pageable the pagination information.
+     * @return the page of room summaries.
+     */
+    public Slice<RoomSummaryDTO> findRoomSummaries(Specification<Room> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RoomSummaryDTO> query = cb.createQuery(RoomSummaryDTO.class);
+        Root<Room> room = selectRoomSummary(cb, query);
+        return slice(query, room, specification, pageable);
+    }
+
+    /**
+     * Get a keyset page of room summaries: the rooms whose id is strictly greater than the given one.
+     *
+     * @param specification the filter of the rooms, may be {@code null}.
+     * @param id the id of the last room of the previous page.
+     * @param pageable the pagination information.
+     * @return the page of room summaries.
+     */
+    public Slice<RoomSummaryDTO> findRoomSummariesAfter(Specification<Room> specification, Long id, Pageable pageable) {
+        return findRoomSummaries(Specification.where(specification).and(idGreaterThan(Room_.id, id)), pageable);
+    }
+
+    /**
+     * Get the summaries of the given rooms.
+     *
+     * @param ids the ids of the rooms.
+     * @return the summaries of the rooms that exist, in the order of the ids.
+     */
+    public List<RoomSummaryDTO> findRoomSummariesByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RoomSummaryDTO> query = cb.createQuery(RoomSummaryDTO.class);
+        Root<Room> room = selectRoomSummary(cb, query);
+        query.where(room.get(Room_.id).in(ids));
+        Map<Long, RoomSummaryDTO> summaries = entityManager
+            .createQuery(query)
+            .getResultStream()
+            .collect(Collectors.toMap(RoomSummaryDTO::getId, Function.identity()));
+        return ids.stream().map(summaries::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Select room summaries, with their resident: the description preview and the facility count are computed by
+     * the database, so the description LOB is never transferred.
+     */
+    private Root<Room> selectRoomSummary(CriteriaBuilder cb, CriteriaQuery<RoomSummaryDTO> query) {
+        Root<Room> room = query.from(Room.class);
+        Join<Room, Resident> resident = room.join(Room_.resident, JoinType.LEFT);
+        Subquery<Long> facilityCount = query.subquery(Long.class);
+        Root<Facility> facility = facilityCount.from(Facility.class);
+        facilityCount.select(cb.count(facility)).where(cb.equal(facility.get(Facility_.room), room));
+        query.select(
+            cb.construct(
+                RoomSummaryDTO.class,
+                room.get(Room_.id),
+                room.get(Room_.roomTitle),
+                room.get(Room_.roomType),
+                cb.substring(room.get(Room_.roomDescription), 1, RoomSummaryDTO.DESCRIPTION_PREVIEW_LENGTH),
+                facilityCount,
+                resident.get(Resident_.id),
+                resident.get(Resident_.residentName)
+            )
+        );
+        return room;
+    }
+
+    /**
+     * Get a page of residents, without their rooms.
+     *
+     * @param specification the filter of the residents, may be {@code null}.
+     * @param pageable the pagination information.
+     * @return the page of residents.
+     */
+    public Slice<ResidentDTO> findResidents(Specification<Resident> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ResidentDTO> query = cb.createQuery(ResidentDTO.class);
+        Root<Resident> resident = query.from(Resident.class);
+        query.select(
+            cb.construct(
+                ResidentDTO.class,
+                resident.get(Resident_.id),
+                resident.get(Resident_.residentName),
+                resident.get(Resident_.residentAddress)
+            )
+        );
+        return slice(query, resident, specification, pageable);
+    }
+
+    /**
+     * Get a keyset page of residents: the residents whose id is strictly greater than the given one.
+     *
+     * @param specification the filter of the residents, may be {@code null}.
+     * @param id the id of the last resident of the previous page.
+     * @param pageable the pagination information.
+     * @return the page of residents.
+     */
+    public Slice<ResidentDTO> findResidentsAfter(Specification<Resident> specification, Long id, Pageable pageable) {
+        return findResidents(Specification.where(specification).and(idGreaterThan(Resident_.id, id)), pageable);
+    }
+
+    /**
+     * Get a page of facilities, with their room but not the room description.
+     *
+     * @param specification the filter of the facilities, may be {@code null}.
+     * @param pageable the pagination information.
+     * @return the page of facilities.
+     */
+    public Slice<FacilityDTO> findFacilities(Specification<Facility> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FacilityDTO> query = cb.createQuery(FacilityDTO.class);
+        Root<Facility> facility = query.from(Facility.class);
+        Join<Facility, Room> room = facility.join(Facility_.room, JoinType.LEFT);
+        query.select(
+            cb.construct(
+                FacilityDTO.class,
+                facility.get(Facility_.id),
+                facility.get(Facility_.facilityName),
+                room.get(Room_.id),
+                room.get(Room_.roomTitle),
+                room.get(Room_.roomType)
+            )
+        );
+        return slice(query, facility, specification, pageable);
+    }
+
+    private static <E> Specification<E> idGreaterThan(SingularAttribute<? super E, Long> idAttribute, Long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get(idAttribute), id);
+    }
+
+    /**
+     * Run a query for one page, reading one extra row to know whether a next page exists.
+     */
+    private <E, T> Slice<T> slice(CriteriaQuery<T> query, Root<E> root, Specification<E> specification, Pageable pageable) {
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, entityManager.getCriteriaBuilder());
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, entityManager.getCriteriaBuilder()));
+        }
+        TypedQuery<T> typedQuery = entityManager.createQuery(query);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(typedQuery.getResultList(), pageable, false);
+        }
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        List<T> content = typedQuery.getResultList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+}
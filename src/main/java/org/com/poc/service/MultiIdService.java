@@ -0,0 +1,243 @@
+package org.com.poc.service;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.com.poc.service.invalidation.CacheInvalidation;
+import org.com.poc.service.invalidation.CacheInvalidationBus;
+import org.hibernate.Cache;
+import org.hibernate.CacheMode;
+import org.hibernate.HibernateException;
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerGroup;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.Joinable;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.hibernate5.SessionFactoryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service reading and deleting several entities of the same type by id.
+ * <p>
+ * Reads go through Hibernate's multi-load: the entities already in the persistence context or in the second-level
+ * cache are not read again, and the others are read with a single {@code IN (...)} query.
+ * <p>
+ * Deletes run as one {@code DELETE ... WHERE id IN (...)} statement, after the rows are locked and read with a single
+ * {@code SELECT ... FOR UPDATE}. A bulk HQL delete would evict the whole second-level cache region of the entity and of
+ * the collections holding it; here only the deleted entities, their own collections and the collections of their
+ * parents are evicted, once when deleting and again after completion so that a concurrent read cannot put a deleted
+ * entity back. As the statement bypasses the Hibernate events, the post-delete listeners are notified of every deleted
+ * entity (the statistics, the cache invalidations of the other nodes), and the own collections of the entities are
+ * broadcast with the {@link CacheInvalidationBus}.
+ */
+@Service
+@Transactional
+public class MultiIdService {
+
+    /**
+     * The maximum number of ids of a single request.
+     */
+    public static final int MAX_IDS = 1000;
+
+    private final EntityManager entityManager;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public MultiIdService(EntityManager entityManager, CacheInvalidationBus cacheInvalidationBus) {
+        this.entityManager = entityManager;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    /**
+     * Get the entities with the given ids.
+     *
+     * @param entityType the entity class.
+     * @param ids the ids of the entities, duplicates are ignored.
+     * @param <T> the entity type.
+     * @return the entities found, in the order of the ids.
+     */
+    @Transactional(readOnly = true)
+    public <T> List<T> findAllById(Class<T> entityType, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<T> entities = entityManager
+            .unwrap(Session.class)
+            .byMultipleIds(entityType)
+            .enableSessionCheck(true)
+            .multiLoad(new ArrayList<>(new LinkedHashSet<>(ids)));
+        return entities.stream().filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Delete the entities with the given ids with a single statement.
+     * <p>
+     * The entities are locked and read first, then the post-delete listeners are notified with their deleted states as
+     * if they had been deleted one by one. The entities must not be referenced by other entities, as no cascade is
+     * applied: the statement then fails with a {@link DataIntegrityViolationException}.
+     *
+     * @param entityType the entity class.
+     * @param ids the ids of the entities, missing ids are ignored.
+     * @return the ids of the entities deleted.
+     */
+    public List<Long> deleteAllById(Class<?> entityType, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        SessionFactoryImplementor sessionFactory = session.getFactory();
+        EntityPersister persister = sessionFactory.getMetamodel().entityPersister(entityType);
+        session.flush();
+        List<?> entities = session
+            .byMultipleIds(entityType)
+            .with(new LockOptions(LockMode.PESSIMISTIC_WRITE))
+            .with(CacheMode.IGNORE)
+            .multiLoad(new ArrayList<>(new LinkedHashSet<>(ids)))
+            .stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        if (entities.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> deletedIds = new ArrayList<>();
+        List<Object[]> deletedStates = new ArrayList<>();
+        for (Object entity : entities) {
+            deletedIds.add((Long) persister.getIdentifier(entity, session));
+            deletedStates.add(persister.getPropertyValues(entity));
+        }
+        String table = ((Joinable) persister).getTableName();
+        String idColumn = persister.getIdentifierColumnNames()[0];
+        String placeholders = deletedIds.stream().map(id -> "?").collect(Collectors.joining(","));
+        try {
+            session.doWork(connection -> {
+                try (
+                    PreparedStatement delete = connection.prepareStatement(
+                        "delete from " + table + " where " + idColumn + " in (" + placeholders + ")"
+                    )
+                ) {
+                    bind(delete, deletedIds);
+                    delete.executeUpdate();
+                }
+            });
+        } catch (HibernateException e) {
+            throw SessionFactoryUtils.convertHibernateAccessException(e);
+        }
+
+        EventSource eventSource = session.unwrap(EventSource.class);
+        EventListenerGroup<PostDeleteEventListener> postDeleteListeners = sessionFactory
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class)
+            .getEventListenerGroup(EventType.POST_DELETE);
+        for (int i = 0; i < entities.size(); i++) {
+            session.detach(entities.get(i));
+            PostDeleteEvent event = new PostDeleteEvent(entities.get(i), deletedIds.get(i), deletedStates.get(i), persister, eventSource);
+            postDeleteListeners.fireEventOnEachListener(event, PostDeleteEventListener::onPostDelete);
+        }
+        List<CacheInvalidation> ownCollections = ownCollections(persister, deletedIds);
+        List<CacheInvalidation> invalidations = new ArrayList<>(ownCollections);
+        for (Long id : deletedIds) {
+            invalidations.add(CacheInvalidation.entity(persister.getEntityName(), id));
+        }
+        invalidations.addAll(parentCollections(session, persister, deletedStates));
+        Runnable eviction = () -> evict(sessionFactory.getCache(), invalidations);
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        eviction.run();
+                    }
+                }
+            );
+        }
+        // The listeners broadcast the entities and the collections of their parents
+        cacheInvalidationBus.invalidateAfterCommit(ownCollections);
+        return deletedIds;
+    }
+
+    /**
+     * The cached collections of the deleted entities.
+     */
+    private static List<CacheInvalidation> ownCollections(EntityPersister persister, List<Long> deletedIds) {
+        List<CacheInvalidation> invalidations = new ArrayList<>();
+        for (Long id : deletedIds) {
+            for (Type propertyType : persister.getPropertyTypes()) {
+                if (propertyType.isCollectionType()) {
+                    invalidations.add(CacheInvalidation.collection(((CollectionType) propertyType).getRole(), id));
+                }
+            }
+        }
+        return invalidations;
+    }
+
+    /**
+     * The cached inverse one-to-many collections of the parents of the deleted entities, taken from their deleted states.
+     */
+    private static List<CacheInvalidation> parentCollections(
+        SessionImplementor session,
+        EntityPersister persister,
+        List<Object[]> deletedStates
+    ) {
+        List<CacheInvalidation> invalidations = new ArrayList<>();
+        for (CollectionPersister collection : session.getFactory().getMetamodel().collectionPersisters().values()) {
+            if (
+                collection.hasCache() &&
+                collection.isOneToMany() &&
+                collection.getMappedByProperty() != null &&
+                persister.getEntityName().equals(((EntityType) collection.getElementType()).getAssociatedEntityName())
+            ) {
+                int ownerProperty = persister.getEntityMetamodel().getPropertyIndex(collection.getMappedByProperty());
+                for (Object[] deletedState : deletedStates) {
+                    Object owner = deletedState[ownerProperty];
+                    if (owner != null) {
+                        Serializable ownerId = session.getEntityPersister(null, owner).getIdentifier(owner, session);
+                        invalidations.add(CacheInvalidation.collection(collection.getRole(), ownerId));
+                    }
+                }
+            }
+        }
+        return invalidations;
+    }
+
+    private static void evict(Cache cache, List<CacheInvalidation> invalidations) {
+        for (CacheInvalidation invalidation : invalidations) {
+            if (invalidation.getKind() == CacheInvalidation.Kind.ENTITY) {
+                cache.evictEntityData(invalidation.getRegion(), invalidation.getKey());
+            } else {
+                cache.evictCollectionData(invalidation.getRegion(), invalidation.getKey());
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Collection<Long> ids) throws SQLException {
+        int index = 1;
+        for (Long id : ids) {
+            statement.setLong(index++, id);
+        }
+    }
+}
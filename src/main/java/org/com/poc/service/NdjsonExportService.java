@@ -0,0 +1,74 @@
+package org.com.poc.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.com.poc.config.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for exporting entities as newline-delimited JSON.
+ * <p>
+ * Entities are read from a streaming repository query and written one by one with Jackson's streaming generator. The
+ * persistence context is cleared every {@link Constants#STREAM_FETCH_SIZE} rows, so heap usage does not grow with the
+ * size of the table.
+ */
+@Service
+public class NdjsonExportService {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final Logger log = LoggerFactory.getLogger(NdjsonExportService.class);
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    public NdjsonExportService(EntityManager entityManager, ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write all the entities returned by a streaming query, one JSON document per line.
+     *
+     * @param query the repository query, it is opened and closed by this method.
+     * @param outputStream where to write, it is flushed but not closed.
+     * @param <T> the type of the entities.
+     * @return the number of entities written.
+     * @throws IOException if the output cannot be written.
+     */
+    @Transactional(readOnly = true)
+    public <T> long export(Supplier<Stream<T>> query, OutputStream outputStream) throws IOException {
+        long count = 0;
+        // one flush per row would turn every line into its own network write
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (
+            Stream<T> entities = query.get();
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream).setRootValueSeparator(null)
+        ) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<T> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++count % Constants.STREAM_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+            generator.flush();
+        }
+        log.debug("Exported {} entities", count);
+        return count;
+    }
+}
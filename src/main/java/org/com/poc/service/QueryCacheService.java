@@ -0,0 +1,250 @@
+package org.com.poc.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.com.poc.config.ApplicationProperties;
+import org.com.poc.service.event.EntityChangeEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service caching the results of hot list queries in the {@link #QUERY_RESULTS_CACHE} region.
+ * <p>
+ * Caching is opt-in: only the queries declared as a {@link CachedQuery} are cached, and only for their first
+ * {@code application.query-cache.max-pages} pages. Each query declares the entity types it reads; a committed
+ * {@link EntityChangeEvent} on one of them invalidates the results of that query only, whatever the other tables.
+ * Results are only cached from read-only transactions, which cannot see uncommitted changes, and only when they are
+ * read from the primary (see {@link ReplicaReads}); the results read from a replica are served from the cache when
+ * present, but not stored.
+ * <p>
+ * The gets of each query are counted in the {@code cache.query.gets} meter, tagged with the query and the result,
+ * and its hit ratio is published as {@code cache.query.hit.ratio}.
+ */
+@Service
+public class QueryCacheService {
+
+    public static final String QUERY_RESULTS_CACHE = "queryResults";
+
+    private final Map<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final Map<String, QueryMeters> meters = new ConcurrentHashMap<>();
+
+    private final ApplicationProperties.QueryCache properties;
+
+    private final CacheManager cacheManager;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ReplicaReads replicaReads;
+
+    public QueryCacheService(
+        ApplicationProperties applicationProperties,
+        CacheManager cacheManager,
+        MeterRegistry meterRegistry,
+        ObjectProvider<ReplicaReads> replicaReads
+    ) {
+        this.properties = applicationProperties.getQueryCache();
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.replicaReads = replicaReads.getIfAvailable(() -> ReplicaReads.NONE);
+    }
+
+    /**
+     * Get a page of a cached query, from the cache when possible.
+     *
+     * @param query the query.
+     * @param pageable the pagination information, which identifies the page.
+     * @param loader runs the query, when the page is not cached.
+     * @param <T> the type of the rows.
+     * @return the page.
+     */
+    public <T extends Serializable> Slice<T> findSlice(CachedQuery query, Pageable pageable, Supplier<Slice<T>> loader) {
+        if (!properties.isEnabled() || pageable.isUnpaged() || pageable.getPageNumber() >= properties.getMaxPages()) {
+            return loader.get();
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loader.get();
+        }
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(QUERY_RESULTS_CACHE));
+        QueryMeters queryMeters = meters.computeIfAbsent(query.getName(), this::registerMeters);
+        long[] generationsBefore = generations(query);
+        Key key = new Key(query, pageable, generationsBefore);
+        CachedSlice cached = cache.get(key, CachedSlice.class);
+        if (cached != null) {
+            queryMeters.hits.increment();
+            return cached.toSlice(pageable);
+        }
+        queryMeters.misses.increment();
+        Slice<T> slice = loader.get();
+        // A change committed while the query ran may or may not be in its result, and a replica may not have it yet
+        if (Arrays.equals(generationsBefore, generations(query)) && !replicaReads.isReadingFromReplica()) {
+            cache.put(key, new CachedSlice(slice));
+        }
+        return slice;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        generation(event.getEntityType()).incrementAndGet();
+        Cache cache = cacheManager.getCache(QUERY_RESULTS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        // The outdated results can no longer be found, remove them rather than wait for their expiry
+        @SuppressWarnings("unchecked")
+        javax.cache.Cache<Object, Object> nativeCache = (javax.cache.Cache<Object, Object>) cache.getNativeCache();
+        Set<Object> outdated = new HashSet<>();
+        for (javax.cache.Cache.Entry<Object, Object> entry : nativeCache) {
+            Key key = (Key) entry.getKey();
+            if (!Arrays.equals(key.generations, generations(key.query))) {
+                outdated.add(key);
+            }
+        }
+        nativeCache.removeAll(outdated);
+    }
+
+    private long[] generations(CachedQuery query) {
+        return query.getEntityTypes().stream().mapToLong(entityType -> generation(entityType).get()).toArray();
+    }
+
+    private AtomicLong generation(Class<?> entityType) {
+        return generations.computeIfAbsent(entityType, type -> new AtomicLong());
+    }
+
+    private QueryMeters registerMeters(String queryName) {
+        QueryMeters queryMeters = new QueryMeters(
+            Counter.builder("cache.query.gets").tag("query", queryName).tag("result", "hit").register(meterRegistry),
+            Counter.builder("cache.query.gets").tag("query", queryName).tag("result", "miss").register(meterRegistry)
+        );
+        Gauge.builder("cache.query.hit.ratio", queryMeters, QueryMeters::hitRatio).tag("query", queryName).register(meterRegistry);
+        return queryMeters;
+    }
+
+    /**
+     * A query whose results may be cached.
+     */
+    public static final class CachedQuery implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+
+        private final List<Class<?>> entityTypes;
+
+        /**
+         * @param name the name of the query, unique and used to tag its meters.
+         * @param entityTypes the entity types read by the query, whose changes invalidate its results.
+         */
+        public CachedQuery(String name, Class<?>... entityTypes) {
+            this.name = name;
+            this.entityTypes = List.of(entityTypes);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<Class<?>> getEntityTypes() {
+            return entityTypes;
+        }
+    }
+
+    /**
+     * The key of a page: the query, the page and the generations of the entity types when it was read.
+     */
+    private static final class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CachedQuery query;
+
+        private final Pageable pageable;
+
+        private final long[] generations;
+
+        Key(CachedQuery query, Pageable pageable, long[] generations) {
+            this.query = query;
+            this.pageable = pageable;
+            this.generations = generations;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return (
+                query.getName().equals(key.query.getName()) &&
+                pageable.equals(key.pageable) &&
+                Arrays.equals(generations, key.generations)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query.getName(), pageable, Arrays.hashCode(generations));
+        }
+    }
+
+    /**
+     * The rows of a page, stored without the {@link Pageable} of the request.
+     */
+    private static final class CachedSlice implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayList<Serializable> content;
+
+        private final boolean hasNext;
+
+        CachedSlice(Slice<? extends Serializable> slice) {
+            this.content = new ArrayList<>(slice.getContent());
+            this.hasNext = slice.hasNext();
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> Slice<T> toSlice(Pageable pageable) {
+            return new SliceImpl<>((List<T>) List.copyOf(content), pageable, hasNext);
+        }
+    }
+
+    private static final class QueryMeters {
+
+        private final Counter hits;
+
+        private final Counter misses;
+
+        QueryMeters(Counter hits, Counter misses) {
+            this.hits = hits;
+            this.misses = misses;
+        }
+
+        double hitRatio() {
+            double gets = hits.count() + misses.count();
+            return gets == 0 ? 0 : hits.count() / gets;
+        }
+    }
+}
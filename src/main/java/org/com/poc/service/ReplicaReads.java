@@ -0,0 +1,36 @@
+package org.com.poc.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Tells whether the reads of the current thread go to a replica, which may lag behind the primary.
+ * <p>
+ * The caches only store what was read from the primary: a replica may still return the rows of before a change whose
+ * invalidation already happened, and caching them would serve them long after the replica caught up. For the same
+ * reason, the reads whose result is tagged with what the primary committed are sent to the primary.
+ */
+public interface ReplicaReads {
+    /**
+     * The reads when there is no replica: they all go to the primary.
+     */
+    ReplicaReads NONE = () -> false;
+
+    /**
+     * @return {@code true} if the read-only transactions of the current thread run on a replica.
+     */
+    boolean isReadingFromReplica();
+
+    /**
+     * Run some reads on the primary.
+     * <p>
+     * A transaction runs on the database of its first statement: the reads must be the first ones of their
+     * transaction, or start a transaction of their own.
+     *
+     * @param reads the reads.
+     * @param <T> the type of the result.
+     * @return the result of the reads.
+     */
+    default <T> T onPrimary(Supplier<T> reads) {
+        return reads.get();
+    }
+}
@@ -0,0 +1,83 @@
+package org.com.poc.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import org.com.poc.domain.Resident;
+import org.com.poc.service.dto.FacilityDTO;
+import org.com.poc.service.dto.ResidentDetailsDTO;
+import org.com.poc.service.dto.RoomDetailsDTO;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service reading a {@link Resident} with its rooms and their facilities.
+ * <p>
+ * Each level of the tree is read with one projection query, joined on the resident id and assembled in memory: three
+ * SQL statements whatever the number of rooms and facilities, without the cartesian product of a join of both
+ * collections, and without loading the lazy collections of the entities one at a time.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ResidentDetailsService {
+
+    private final EntityManager entityManager;
+
+    public ResidentDetailsService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Get a resident with its rooms and their facilities, ordered by id.
+     *
+     * @param id the id of the resident.
+     * @return the resident tree, or empty if the resident does not exist.
+     */
+    public Optional<ResidentDetailsDTO> findResidentDetails(Long id) {
+        Optional<ResidentDetailsDTO> resident = entityManager
+            .createQuery(
+                "select new org.com.poc.service.dto.ResidentDetailsDTO(resident.id, resident.residentName, resident.residentAddress) " +
+                "from Resident resident where resident.id = :id",
+                ResidentDetailsDTO.class
+            )
+            .setParameter("id", id)
+            .getResultStream()
+            .findFirst();
+        resident.ifPresent(this::loadRooms);
+        return resident;
+    }
+
+    private void loadRooms(ResidentDetailsDTO resident) {
+        List<RoomDetailsDTO> rooms = entityManager
+            .createQuery(
+                "select new org.com.poc.service.dto.RoomDetailsDTO(room.id, room.roomTitle, room.roomDescription, room.roomType) " +
+                "from Room room where room.resident.id = :residentId order by room.id",
+                RoomDetailsDTO.class
+            )
+            .setParameter("residentId", resident.getId())
+            .getResultList();
+        resident.setRooms(rooms);
+        if (rooms.isEmpty()) {
+            return;
+        }
+
+        Map<Long, RoomDetailsDTO> roomsById = new HashMap<>();
+        rooms.forEach(room -> roomsById.put(room.getId(), room));
+        entityManager
+            .createQuery(
+                "select facility.room.id, facility.id, facility.facilityName " +
+                "from Facility facility where facility.room.resident.id = :residentId order by facility.id",
+                Object[].class
+            )
+            .setParameter("residentId", resident.getId())
+            .getResultList()
+            .forEach(row -> {
+                FacilityDTO facility = new FacilityDTO();
+                facility.setId((Long) row[1]);
+                facility.setFacilityName((String) row[2]);
+                roomsById.get((Long) row[0]).getFacilities().add(facility);
+            });
+    }
+}
@@ -0,0 +1,129 @@
+package org.com.poc.service;
+
+import javax.persistence.criteria.JoinType;
+import org.com.poc.domain.*; // for static metamodels
+import org.com.poc.domain.Resident;
+import org.com.poc.repository.ResidentRepository;
+import org.com.poc.service.criteria.ResidentCriteria;
+import org.com.poc.service.dto.ResidentDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Resident} entities in the database.
+ * The main input is a {@link ResidentCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Slice} of {@link ResidentDTO} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ResidentQueryService extends QueryService<Resident> {
+
+    private final Logger log = LoggerFactory.getLogger(ResidentQueryService.class);
+
+    private final ResidentRepository residentRepository;
+
+    private final ListProjectionService listProjectionService;
+
+    private final ApproximateCountService approximateCountService;
+
+    public ResidentQueryService(
+        ResidentRepository residentRepository,
+        ListProjectionService listProjectionService,
+        ApproximateCountService approximateCountService
+    ) {
+        this.residentRepository = residentRepository;
+        this.listProjectionService = listProjectionService;
+        this.approximateCountService = approximateCountService;
+    }
+
+    /**
+     * Return a {@link Slice} of {@link ResidentDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ResidentDTO> findByCriteria(ResidentCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Resident> specification = createSpecification(criteria);
+        return listProjectionService.findResidents(specification, page);
+    }
+
+    /**
+     * Return a keyset {@link Slice} of {@link ResidentDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param id The id of the last resident of the previous page.
+     * @param page The page, which should be returned.
+     * @return the matching entities whose id is greater than the given one.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ResidentDTO> findByCriteriaAfter(ResidentCriteria criteria, Long id, Pageable page) {
+        log.debug("find by criteria : {}, after: {}, page: {}", criteria, id, page);
+        final Specification<Resident> specification = createSpecification(criteria);
+        return listProjectionService.findResidentsAfter(specification, id, page);
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(ResidentCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Resident> specification = createSpecification(criteria);
+        return residentRepository.count(specification);
+    }
+
+    /**
+     * Return the number of matching entities, approximated by the {@link ApproximateCountService} when the criteria
+     * has no filter.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long approximateCountByCriteria(ResidentCriteria criteria) {
+        if (criteria == null || new ResidentCriteria().equals(criteria)) {
+            return approximateCountService.getCount(Resident.class);
+        }
+        return countByCriteria(criteria);
+    }
+
+    /**
+     * Function to convert {@link ResidentCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Resident> createSpecification(ResidentCriteria criteria) {
+        Specification<Resident> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Resident_.id));
+            }
+            if (criteria.getResidentName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getResidentName(), Resident_.residentName));
+            }
+            if (criteria.getResidentAddress() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getResidentAddress(), Resident_.residentAddress));
+            }
+            if (criteria.getRoomId() != null) {
+                specification =
+                    specification.and(
+                        buildSpecification(criteria.getRoomId(), root -> root.join(Resident_.rooms, JoinType.LEFT).get(Room_.id))
+                    );
+            }
+        }
+        return specification;
+    }
+}
@@ -0,0 +1,281 @@
+package org.com.poc.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+import org.com.poc.config.ApplicationProperties;
+import org.com.poc.service.event.EntityChangeEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service keeping the serialized responses of hot {@code GET} endpoints, so that a hit is answered without reading the
+ * database nor serializing entities.
+ * <p>
+ * A response is stored as its UTF-8 body, a gzipped copy of it and the headers set by the endpoint. Each response
+ * declares the entity types it is built from; a committed {@link EntityChangeEvent} on one of them removes it. A
+ * response is only stored if none of these types changed while it was built, and if it was read from the primary (see
+ * {@link ReplicaReads}).
+ * <p>
+ * The cache holds at most {@code application.response-cache.max-size-mb} megabytes. When full, the least frequently
+ * used responses are evicted, and the frequencies of the others are halved so that past popularity fades.
+ * <p>
+ * The gets are counted in the {@code cache.response.gets} meter, tagged with the result.
+ */
+@Service
+public class ResponseCacheService {
+
+    private static final int GZIP_MIN_SIZE = 256;
+
+    private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final AtomicLong size = new AtomicLong();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final long maxSize;
+
+    private final long maxEntrySize;
+
+    private final long timeToLiveMs;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter evictions;
+
+    private final ReplicaReads replicaReads;
+
+    public ResponseCacheService(
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        ObjectProvider<ReplicaReads> replicaReads
+    ) {
+        ApplicationProperties.ResponseCache properties = applicationProperties.getResponseCache();
+        this.maxSize = properties.getMaxSizeMb() * 1024L * 1024L;
+        this.maxEntrySize = properties.getMaxEntrySizeKb() * 1024L;
+        this.timeToLiveMs = properties.getTimeToLiveSeconds() * 1000L;
+        this.hits = Counter.builder("cache.response.gets").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.response.gets").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("cache.response.evictions").register(meterRegistry);
+        Gauge.builder("cache.response.size", size, AtomicLong::get).baseUnit("bytes").register(meterRegistry);
+        this.replicaReads = replicaReads.getIfAvailable(() -> ReplicaReads.NONE);
+    }
+
+    /**
+     * Get a cached response.
+     *
+     * @param key the key of the response.
+     * @return the response, or empty if it is not cached or has expired.
+     */
+    public Optional<CachedResponse> get(String key) {
+        CachedResponse response = responses.get(key);
+        if (response != null && System.currentTimeMillis() >= response.expiresAt) {
+            remove(key, response);
+            response = null;
+        }
+        if (response == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        response.frequency.incrementAndGet();
+        return Optional.of(response);
+    }
+
+    /**
+     * Get the current generations of entity types, to be given back to {@link #put} once the response is built.
+     *
+     * @param entityTypes the entity types a response is built from.
+     * @return the generations.
+     */
+    public long[] generations(List<Class<?>> entityTypes) {
+        return entityTypes.stream().mapToLong(entityType -> generation(entityType).get()).toArray();
+    }
+
+    /**
+     * Cache a response, unless one of its entity types changed while it was built or it was read from a replica.
+     *
+     * @param key the key of the response.
+     * @param entityTypes the entity types the response is built from.
+     * @param generationsBefore the {@link #generations} of the entity types before the response was built.
+     * @param contentType the content type of the response.
+     * @param headers the headers set by the endpoint.
+     * @param body the body of the response.
+     */
+    public void put(
+        String key,
+        List<Class<?>> entityTypes,
+        long[] generationsBefore,
+        String contentType,
+        Map<String, List<String>> headers,
+        byte[] body
+    ) {
+        if (body.length > maxEntrySize || replicaReads.isReadingFromReplica()) {
+            return;
+        }
+        CachedResponse response = new CachedResponse(
+            entityTypes,
+            contentType,
+            headers,
+            body,
+            body.length >= GZIP_MIN_SIZE ? gzip(body) : null,
+            System.currentTimeMillis() + timeToLiveMs
+        );
+        // A change committed while the response was built may or may not be in it
+        if (!Arrays.equals(generationsBefore, generations(entityTypes))) {
+            return;
+        }
+        CachedResponse previous = responses.put(key, response);
+        size.addAndGet(response.size() - (previous == null ? 0 : previous.size()));
+        // A change committed meanwhile did not see the new response
+        if (!Arrays.equals(generationsBefore, generations(entityTypes))) {
+            remove(key, response);
+        }
+        if (size.get() > maxSize) {
+            evict();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        generation(event.getEntityType()).incrementAndGet();
+        responses.forEach((key, response) -> {
+            if (response.entityTypes.contains(event.getEntityType())) {
+                remove(key, response);
+            }
+        });
+    }
+
+    /**
+     * Remove all the cached responses.
+     */
+    public void clear() {
+        responses.forEach(this::remove);
+    }
+
+    /**
+     * Evict the least frequently used responses until the cache is back under its size.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            List<Map.Entry<String, CachedResponse>> entries = new ArrayList<>(responses.entrySet());
+            entries.sort(Comparator.comparingInt(entry -> entry.getValue().frequency.get()));
+            for (Map.Entry<String, CachedResponse> entry : entries) {
+                if (size.get() <= maxSize) {
+                    break;
+                }
+                if (remove(entry.getKey(), entry.getValue())) {
+                    evictions.increment();
+                }
+            }
+            for (CachedResponse response : responses.values()) {
+                response.frequency.updateAndGet(frequency -> frequency / 2);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private boolean remove(String key, CachedResponse response) {
+        if (responses.remove(key, response)) {
+            size.addAndGet(-response.size());
+            return true;
+        }
+        return false;
+    }
+
+    private AtomicLong generation(Class<?> entityType) {
+        return generations.computeIfAbsent(entityType, type -> new AtomicLong());
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * A serialized response.
+     */
+    public static final class CachedResponse {
+
+        private final List<Class<?>> entityTypes;
+
+        private final String contentType;
+
+        private final Map<String, List<String>> headers;
+
+        private final byte[] body;
+
+        private final byte[] gzippedBody;
+
+        private final long expiresAt;
+
+        private final AtomicInteger frequency = new AtomicInteger();
+
+        CachedResponse(
+            List<Class<?>> entityTypes,
+            String contentType,
+            Map<String, List<String>> headers,
+            byte[] body,
+            byte[] gzippedBody,
+            long expiresAt
+        ) {
+            this.entityTypes = List.copyOf(entityTypes);
+            this.contentType = contentType;
+            this.headers = Map.copyOf(headers);
+            this.body = body;
+            this.gzippedBody = gzippedBody;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * @return the gzipped body, or {@code null} if the body is too small to be worth compressing.
+         */
+        public byte[] getGzippedBody() {
+            return gzippedBody;
+        }
+
+        private long size() {
+            return body.length + (gzippedBody == null ? 0 : gzippedBody.length);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package org.com.poc.service;
+
+import javax.persistence.criteria.JoinType;
+import org.com.poc.domain.*; // for static metamodels
+import org.com.poc.domain.Room;
+import org.com.poc.repository.RoomRepository;
+import org.com.poc.service.criteria.RoomCriteria;
+import org.com.poc.service.dto.RoomSummaryDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Room} entities in the database.
+ * The main input is a {@link RoomCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Slice} of {@link RoomSummaryDTO} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class RoomQueryService extends QueryService<Room> {
+
+    /**
+     * The unfiltered pages, whose first pages are served from the {@link QueryCacheService}.
+     */
+    public static final QueryCacheService.CachedQuery UNFILTERED_PAGES = new QueryCacheService.CachedQuery(
+        "rooms",
+        Room.class,
+        Resident.class,
+        Facility.class
+    );
+
+    private final Logger log = LoggerFactory.getLogger(RoomQueryService.class);
+
+    private final RoomRepository roomRepository;
+
+    private final ListProjectionService listProjectionService;
+
+    private final ApproximateCountService approximateCountService;
+
+    private final QueryCacheService queryCacheService;
+
+    public RoomQueryService(
+        RoomRepository roomRepository,
+        ListProjectionService listProjectionService,
+        ApproximateCountService approximateCountService,
+        QueryCacheService queryCacheService
+    ) {
+        this.roomRepository = roomRepository;
+        this.listProjectionService = listProjectionService;
+        this.approximateCountService = approximateCountService;
+        this.queryCacheService = queryCacheService;
+    }
+
+    /**
+     * Return a {@link Slice} of {@link RoomSummaryDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<RoomSummaryDTO> findByCriteria(RoomCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Room> specification = createSpecification(criteria);
+        if (isUnfiltered(criteria)) {
+            return queryCacheService.findSlice(UNFILTERED_PAGES, page, () -> listProjectionService.findRoomSummaries(specification, page));
+        }
+        return listProjectionService.findRoomSummaries(specification, page);
+    }
+
+    /**
+     * Return a keyset {@link Slice} of {@link RoomSummaryDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param id The id of the last room of the previous page.
+     * @param page The page, which should be returned.
+     * @return the matching entities whose id is greater than the given one.
+     */
+    @Transactional(readOnly = true)
+    public Slice<RoomSummaryDTO> findByCriteriaAfter(RoomCriteria criteria, Long id, Pageable page) {
+        log.debug("find by criteria : {}, after: {}, page: {}", criteria, id, page);
+        final Specification<Room> specification = createSpecification(criteria);
+        return listProjectionService.findRoomSummariesAfter(specification, id, page);
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(RoomCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Room> specification = createSpecification(criteria);
+        return roomRepository.count(specification);
+    }
+
+    /**
+     * Return the number of matching entities, approximated by the {@link ApproximateCountService} when the criteria
+     * has no filter.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long approximateCountByCriteria(RoomCriteria criteria) {
+        if (isUnfiltered(criteria)) {
+            return approximateCountService.getCount(Room.class);
+        }
+        return countByCriteria(criteria);
+    }
+
+    private static boolean isUnfiltered(RoomCriteria criteria) {
+        return criteria == null || new RoomCriteria().equals(criteria);
+    }
+
+    /**
+     * Function to convert {@link RoomCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Room> createSpecification(RoomCriteria criteria) {
+        Specification<Room> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Room_.id));
+            }
+            if (criteria.getRoomTitle() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getRoomTitle(), Room_.roomTitle));
+            }
+            if (criteria.getRoomType() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getRoomType(), Room_.roomType));
+            }
+            if (criteria.getFacilityId() != null) {
+                specification =
+                    specification.and(
+                        buildSpecification(criteria.getFacilityId(), root -> root.join(Room_.facilities, JoinType.LEFT).get(Facility_.id))
+                    );
+            }
+            if (criteria.getResidentId() != null) {
+                specification =
+                    specification.and(
+                        buildSpecification(criteria.getResidentId(), root -> root.join(Room_.resident, JoinType.LEFT).get(Resident_.id))
+                    );
+            }
+        }
+        return specification;
+    }
+}
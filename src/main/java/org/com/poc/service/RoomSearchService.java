@@ -0,0 +1,177 @@
+package org.com.poc.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.com.poc.config.Constants;
+import org.com.poc.domain.Room;
+import org.com.poc.repository.RoomRepository;
+import org.com.poc.service.event.EntityChangeEvent;
+import org.com.poc.service.search.InvertedIndex;
+import org.com.poc.service.search.SearchResult;
+import org.com.poc.service.search.SearchTokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for full-text search of {@link Room}s by title and description.
+ * <p>
+ * The rooms are kept in an {@link InvertedIndex}, rebuilt from the database when the application starts and then
+ * updated from the {@link EntityChangeEvent}s of rooms, once their transaction is committed. Title terms count
+ * {@link #TITLE_BOOST} times.
+ */
+@Service
+public class RoomSearchService {
+
+    /**
+     * Weight of a title term compared to a description term.
+     */
+    public static final int TITLE_BOOST = 2;
+
+    private final Logger log = LoggerFactory.getLogger(RoomSearchService.class);
+
+    private final RoomRepository roomRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile InvertedIndex index = new InvertedIndex();
+
+    /**
+     * Ids of the rooms changed while the index is rebuilt, {@code null} when no rebuild is running.
+     */
+    private Set<Long> changedDuringRebuild;
+
+    public RoomSearchService(RoomRepository roomRepository, EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.roomRepository = roomRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Search the rooms.
+     *
+     * @param query the words to look for.
+     * @param pageable the pagination information, the sort is ignored as hits are ranked by relevance.
+     * @return the page of hits.
+     */
+    public SearchResult search(String query, Pageable pageable) {
+        return index.search(SearchTokenizer.tokenize(query), (int) pageable.getOffset(), pageable.getPageSize());
+    }
+
+    /**
+     * @return the number of indexed rooms.
+     */
+    public int getIndexedCount() {
+        return index.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (event.getEntityType() != Room.class) {
+            return;
+        }
+        Map<Long, Room> rooms = event.getChangeType() == EntityChangeEvent.ChangeType.DELETED
+            ? Map.of()
+            : transactionTemplate.execute(status ->
+                roomRepository.findAllById(event.getIds()).stream().collect(Collectors.toMap(Room::getId, Function.identity()))
+            );
+        synchronized (this) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.addAll(event.getIds());
+            }
+            apply(index, event.getIds(), rooms);
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the index from the database.
+     * <p>
+     * The rooms are streamed into a new index while the current one keeps serving searches and receiving changes.
+     * The rooms changed in the meantime are then read again and the new index replaces the current one.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            if (changedDuringRebuild != null) {
+                log.warn("Room search index rebuild already running");
+                return;
+            }
+            changedDuringRebuild = new HashSet<>();
+        }
+        InvertedIndex rebuilt = new InvertedIndex();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Room> rooms = roomRepository.streamAllBy()) {
+                    int count = 0;
+                    for (Room room : (Iterable<Room>) rooms::iterator) {
+                        rebuilt.put(room.getId(), terms(room));
+                        if (++count % Constants.STREAM_FETCH_SIZE == 0) {
+                            entityManager.clear();
+                        }
+                    }
+                }
+            });
+            synchronized (this) {
+                List<Long> changed = new ArrayList<>(changedDuringRebuild);
+                Map<Long, Room> rooms = transactionTemplate.execute(status ->
+                    roomRepository.findAllById(changed).stream().collect(Collectors.toMap(Room::getId, Function.identity()))
+                );
+                apply(rebuilt, changed, rooms);
+                index = rebuilt;
+            }
+            log.info("Room search index rebuilt with {} rooms in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+        } finally {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Index the given rooms, and remove the ones that do not exist any more.
+     */
+    private void apply(InvertedIndex target, List<Long> ids, Map<Long, Room> rooms) {
+        for (Long id : ids) {
+            Room room = rooms.get(id);
+            if (room == null) {
+                target.remove(id);
+            } else {
+                target.put(id, terms(room));
+            }
+        }
+    }
+
+    private static List<String> terms(Room room) {
+        List<String> titleTerms = SearchTokenizer.tokenize(room.getRoomTitle());
+        List<String> terms = new ArrayList<>(SearchTokenizer.tokenize(room.getRoomDescription()));
+        for (int i = 0; i < TITLE_BOOST; i++) {
+            terms.addAll(titleTerms);
+        }
+        return terms;
+    }
+}
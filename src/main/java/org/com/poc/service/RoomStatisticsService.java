@@ -0,0 +1,345 @@
+package org.com.poc.service;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.com.poc.config.Constants;
+import org.com.poc.domain.Facility;
+import org.com.poc.domain.Resident;
+import org.com.poc.domain.Room;
+import org.com.poc.service.dto.RoomStatisticsDTO;
+import org.hibernate.jpa.QueryHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service keeping aggregate statistics of the {@link Room}s in memory: rooms per type, and the distributions of rooms
+ * per resident and of facilities per room.
+ * <p>
+ * The statistics are counters, read from the database when the application starts and then updated with the changes
+ * of rooms, residents and facilities written through Hibernate on this instance, once their transaction is committed
+ * (see {@link org.com.poc.config.RoomStatisticsIntegrator}). The changes carry the previous state of the entities, so
+ * no copy of the rows is kept. A periodic reconciliation reads the counters again to fix any drift, for instance from
+ * the changes made by the other instances or outside of the application.
+ * <p>
+ * Reads only copy the counts per type and the two distributions, whose sizes do not depend on the number of rows.
+ */
+@Service
+public class RoomStatisticsService {
+
+    /**
+     * Number of attempts of a reconciliation whose reads are overlapped by committed changes.
+     */
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    private final Logger log = LoggerFactory.getLogger(RoomStatisticsService.class);
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private Aggregates aggregates = new Aggregates();
+
+    private Instant reconciledAt;
+
+    /**
+     * Number of changes applied, telling whether changes were committed while the database was read.
+     */
+    private long appliedChanges;
+
+    public RoomStatisticsService(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Get the room statistics.
+     *
+     * @return the statistics as of the last committed change.
+     */
+    public synchronized RoomStatisticsDTO getStatistics() {
+        return aggregates.toDTO(reconciledAt);
+    }
+
+    /**
+     * Apply a committed change of a room.
+     *
+     * @param before the room before the change, {@code null} if it was created.
+     * @param after the room after the change, {@code null} if it was deleted.
+     */
+    public synchronized void applyRoomChange(RoomState before, RoomState after) {
+        if (before != null) {
+            aggregates.addRoom(before, -1);
+        }
+        if (after != null) {
+            aggregates.addRoom(after, 1);
+        }
+        appliedChanges++;
+    }
+
+    /**
+     * Apply a committed change of a facility.
+     *
+     * @param before the facility before the change, {@code null} if it was created.
+     * @param after the facility after the change, {@code null} if it was deleted.
+     */
+    public synchronized void applyFacilityChange(FacilityState before, FacilityState after) {
+        if (before != null) {
+            aggregates.addFacility(before, -1);
+        }
+        if (after != null) {
+            aggregates.addFacility(after, 1);
+        }
+        appliedChanges++;
+    }
+
+    /**
+     * Apply a committed creation or deletion of a resident.
+     *
+     * @param delta {@code 1} for a created resident, {@code -1} for a deleted one.
+     */
+    public synchronized void applyResidentChange(int delta) {
+        aggregates.totalResidents += delta;
+        appliedChanges++;
+    }
+
+    /**
+     * Seed the statistics once the application is started.
+     * <p>
+     * {@link ApplicationReadyEvent} is published after the web server is started, so the first requests may be
+     * answered before the statistics are seeded.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        reconcile();
+    }
+
+    /**
+     * Read the statistics again from the database.
+     * <p>
+     * The database is read while the current statistics keep serving and receiving changes. As a change committed
+     * meanwhile may or may not be part of what was read, the read is attempted again when changes were applied during
+     * it. The statistics are replaced by the first read that no change overlapped, or by the last one when they were
+     * never seeded.
+     * <p>
+     * This is scheduled to get fired every {@code application.statistics.reconcile-delay-ms} milliseconds.
+     */
+    @Scheduled(
+        fixedDelayString = "${application.statistics.reconcile-delay-ms:300000}",
+        initialDelayString = "${application.statistics.reconcile-delay-ms:300000}"
+    )
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            long changesBefore;
+            synchronized (this) {
+                changesBefore = appliedChanges;
+            }
+            Instant readAt = Instant.now();
+            Aggregates reconciled = transactionTemplate.execute(status -> readAll());
+            synchronized (this) {
+                boolean overlapped = appliedChanges != changesBefore;
+                if (!overlapped || (reconciledAt == null && attempt == RECONCILE_ATTEMPTS)) {
+                    if (reconciledAt != null && !reconciled.sameStatisticsAs(aggregates)) {
+                        log.info("Room statistics drifted from the database, reconciled");
+                    }
+                    aggregates = reconciled;
+                    reconciledAt = readAt;
+                    log.debug("Room statistics reconciled in {} ms", System.currentTimeMillis() - start);
+                    return;
+                }
+            }
+        }
+        log.debug("Room statistics not reconciled, changes were committed during every read");
+    }
+
+    private Aggregates readAll() {
+        Aggregates result = new Aggregates();
+        result.totalRooms = count("select count(room) from Room room");
+        result.roomsWithoutResident = count("select count(room) from Room room where room.resident is null");
+        result.totalResidents = count("select count(resident) from Resident resident");
+        result.totalFacilities = count("select count(facility) from Facility facility");
+        try (Stream<Object[]> rows = stream("select room.roomType, count(room) from Room room group by room.roomType")) {
+            rows.forEach(row -> result.roomsPerType.put((String) row[0], (Long) row[1]));
+        }
+        try (
+            Stream<Object[]> rows = stream(
+                "select resident.id, count(room) from Room room join room.resident resident group by resident.id"
+            )
+        ) {
+            rows.forEach(row -> result.addRoomsOfResident((Long) row[0], (Long) row[1]));
+        }
+        try (
+            Stream<Object[]> rows = stream(
+                "select room.id, count(facility) from Facility facility join facility.room room group by room.id"
+            )
+        ) {
+            rows.forEach(row -> result.addFacilitiesOfRoom((Long) row[0], (Long) row[1]));
+        }
+        return result;
+    }
+
+    private long count(String query) {
+        return entityManager.createQuery(query, Long.class).getSingleResult();
+    }
+
+    private Stream<Object[]> stream(String query) {
+        return entityManager
+            .createQuery(query, Object[].class)
+            .setHint(QueryHints.HINT_FETCH_SIZE, Constants.STREAM_FETCH_SIZE)
+            .getResultStream();
+    }
+
+    /**
+     * The attributes of a {@link Room} the statistics depend on.
+     */
+    public static final class RoomState {
+
+        private final String roomType;
+
+        private final Long residentId;
+
+        public RoomState(String roomType, Long residentId) {
+            this.roomType = roomType;
+            this.residentId = residentId;
+        }
+    }
+
+    /**
+     * The attributes of a {@link Facility} the statistics depend on.
+     */
+    public static final class FacilityState {
+
+        private final Long roomId;
+
+        public FacilityState(Long roomId) {
+            this.roomId = roomId;
+        }
+    }
+
+    /**
+     * The counters. Not thread-safe.
+     * <p>
+     * The rooms of each {@link Resident} and the facilities of each room are counted to move them between the buckets
+     * of the distributions, which only hold the non-zero buckets: the residents without rooms and the rooms without
+     * facilities are derived from the totals.
+     */
+    private static final class Aggregates {
+
+        private long totalRooms;
+
+        private long roomsWithoutResident;
+
+        private long totalResidents;
+
+        private long totalFacilities;
+
+        private final Map<String, Long> roomsPerType = new HashMap<>();
+
+        private final Map<Long, Long> roomsPerResident = new HashMap<>();
+
+        private final Map<Long, Long> residentsPerRoomCount = new HashMap<>();
+
+        private final Map<Long, Long> facilitiesPerRoom = new HashMap<>();
+
+        private final Map<Long, Long> roomsPerFacilityCount = new HashMap<>();
+
+        void addRoom(RoomState room, int delta) {
+            totalRooms += delta;
+            add(roomsPerType, room.roomType, delta);
+            if (room.residentId == null) {
+                roomsWithoutResident += delta;
+            } else {
+                addRoomsOfResident(room.residentId, delta);
+            }
+        }
+
+        void addFacility(FacilityState facility, int delta) {
+            totalFacilities += delta;
+            if (facility.roomId != null) {
+                addFacilitiesOfRoom(facility.roomId, delta);
+            }
+        }
+
+        void addRoomsOfResident(Long residentId, long delta) {
+            move(roomsPerResident, residentsPerRoomCount, residentId, delta);
+        }
+
+        void addFacilitiesOfRoom(Long roomId, long delta) {
+            move(facilitiesPerRoom, roomsPerFacilityCount, roomId, delta);
+        }
+
+        boolean sameStatisticsAs(Aggregates other) {
+            return (
+                totalRooms == other.totalRooms &&
+                roomsWithoutResident == other.roomsWithoutResident &&
+                totalResidents == other.totalResidents &&
+                totalFacilities == other.totalFacilities &&
+                roomsPerType.equals(other.roomsPerType) &&
+                residentsPerRoomCount.equals(other.residentsPerRoomCount) &&
+                roomsPerFacilityCount.equals(other.roomsPerFacilityCount)
+            );
+        }
+
+        RoomStatisticsDTO toDTO(Instant reconciledAt) {
+            long residentsWithoutRooms = Math.max(0, totalResidents - roomsPerResident.size());
+            RoomStatisticsDTO dto = new RoomStatisticsDTO();
+            dto.setTotalRooms(totalRooms);
+            dto.setRoomsPerType(new TreeMap<>(roomsPerType));
+            dto.setRoomsWithoutResident(roomsWithoutResident);
+            dto.setTotalResidents(totalResidents);
+            dto.setResidentsWithoutRooms(residentsWithoutRooms);
+            dto.setResidentsPerRoomCount(distribution(residentsPerRoomCount, residentsWithoutRooms));
+            dto.setTotalFacilities(totalFacilities);
+            dto.setRoomsPerFacilityCount(distribution(roomsPerFacilityCount, Math.max(0, totalRooms - facilitiesPerRoom.size())));
+            dto.setReconciledAt(reconciledAt);
+            return dto;
+        }
+
+        private static Map<Integer, Long> distribution(Map<Long, Long> buckets, long zeroBucket) {
+            Map<Integer, Long> distribution = new TreeMap<>();
+            if (zeroBucket > 0) {
+                distribution.put(0, zeroBucket);
+            }
+            buckets.forEach((count, number) -> distribution.put(count.intValue(), number));
+            return distribution;
+        }
+
+        /**
+         * Add to the count of a key, moving the key to its new bucket of the distribution of the counts.
+         */
+        private static void move(Map<Long, Long> counts, Map<Long, Long> distribution, Long key, long delta) {
+            long previous = counts.getOrDefault(key, 0L);
+            long current = previous + delta;
+            add(counts, key, delta);
+            if (previous > 0) {
+                add(distribution, previous, -1);
+            }
+            if (current > 0) {
+                add(distribution, current, 1);
+            }
+        }
+
+        /**
+         * Add to a count, removing it when it drops to zero so that the maps only hold what is reported.
+         */
+        private static <K> void add(Map<K, Long> counts, K key, long delta) {
+            counts.compute(key, (k, count) -> {
+                long value = (count == null ? 0 : count) + delta;
+                return value == 0 ? null : value;
+            });
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.com.poc.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Coalescing of the concurrent loads of the same key: the first caller runs the load, the callers arriving while it
+ * runs wait for its result instead of running it again.
+ * <p>
+ * This keeps a cache miss on a hot key, after an expiry or an eviction, from sending every concurrent request to the
+ * database at once. The loads are counted in the {@code cache.single.flight} meter, tagged with the cache and whether
+ * the caller {@code loaded} the value or was {@code coalesced}.
+ */
+public class SingleFlight {
+
+    private final Map<Object, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    private final Counter loaded;
+
+    private final Counter coalesced;
+
+    /**
+     * @param cacheName the name of the cache the values are loaded for, used to tag the meters.
+     * @param meterRegistry the registry of the meters.
+     */
+    public SingleFlight(String cacheName, MeterRegistry meterRegistry) {
+        this.loaded = Counter.builder("cache.single.flight").tag("cache", cacheName).tag("result", "loaded").register(meterRegistry);
+        this.coalesced = Counter.builder("cache.single.flight").tag("cache", cacheName).tag("result", "coalesced").register(meterRegistry);
+    }
+
+    /**
+     * Load the value of a key, or wait for the load of the same key already running.
+     *
+     * @param key the key.
+     * @param loader loads the value.
+     * @param <T> the type of the value.
+     * @return the value loaded, by this caller or by the one it waited for.
+     * @throws Exception the exception thrown by the loader, to this caller and to the ones that waited for it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(Object key, Callable<T> loader) throws Exception {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = flights.putIfAbsent(key, flight);
+        if (running != null) {
+            coalesced.increment();
+            return (T) await(running);
+        }
+        loaded.increment();
+        try {
+            T value = loader.call();
+            flight.complete(value);
+            return value;
+        } catch (Exception | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) throws Exception {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw (Error) e.getCause();
+        }
+    }
+}
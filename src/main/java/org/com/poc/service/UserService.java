@@ -11,8 +11,12 @@ import org.com.poc.repository.AuthorityRepository;
 import org.com.poc.repository.UserRepository;
 import org.com.poc.security.AuthoritiesConstants;
 import org.com.poc.security.SecurityUtils;
+import org.com.poc.security.UserExistenceFilter;
 import org.com.poc.service.dto.AdminUserDTO;
 import org.com.poc.service.dto.UserDTO;
+import org.com.poc.service.event.EntityChangeEvent;
+import org.com.poc.service.invalidation.CacheInvalidation;
+import org.com.poc.service.invalidation.CacheInvalidationBus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.CacheManager;
@@ -21,7 +25,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -41,16 +47,24 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final UserExistenceFilter userExistenceFilter;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        CacheInvalidationBus cacheInvalidationBus,
+        UserExistenceFilter userExistenceFilter
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.userExistenceFilter = userExistenceFilter;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -82,6 +96,9 @@ public class UserService {
     }
 
     public Optional<User> requestPasswordReset(String mail) {
+        if (!userExistenceFilter.mightContainEmail(mail)) {
+            return Optional.empty();
+        }
         return userRepository
             .findOneByEmailIgnoreCase(mail)
             .filter(User::isActivated)
@@ -94,16 +111,20 @@ public class UserService {
     }
 
     public User registerUser(AdminUserDTO userDTO, String password) {
-        userRepository
-            .findOneByLogin(userDTO.getLogin().toLowerCase())
+        Optional
+            .of(userDTO.getLogin().toLowerCase())
+            .filter(userExistenceFilter::mightContainLogin)
+            .flatMap(userRepository::findOneByLogin)
             .ifPresent(existingUser -> {
                 boolean removed = removeNonActivatedUser(existingUser);
                 if (!removed) {
                     throw new UsernameAlreadyUsedException();
                 }
             });
-        userRepository
-            .findOneByEmailIgnoreCase(userDTO.getEmail())
+        Optional
+            .ofNullable(userDTO.getEmail())
+            .filter(userExistenceFilter::mightContainEmail)
+            .flatMap(userRepository::findOneByEmailIgnoreCase)
             .ifPresent(existingUser -> {
                 boolean removed = removeNonActivatedUser(existingUser);
                 if (!removed) {
@@ -307,6 +328,25 @@ public class UserService {
             });
     }
 
+    /**
+     * Add the users written on the other instances to the {@link UserExistenceFilter}, as soon as the cache invalidation
+     * bus reports them, so that their logins and emails are not taken for free until the next refresh of the filter.
+     *
+     * @param event the change, published by the bus for the users invalidated by another instance.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (event.getEntityType() != User.class) {
+            return;
+        }
+        if (event.getIds().isEmpty()) {
+            userExistenceFilter.refresh();
+            return;
+        }
+        userRepository.findAllById(event.getIds()).forEach(user -> userExistenceFilter.add(user.getLogin(), user.getEmail()));
+    }
+
     /**
      * Gets a list of all the authorities.
      * @return a list of all the authorities.
@@ -317,9 +357,14 @@ public class UserService {
     }
 
     private void clearUserCaches(User user) {
+        List<CacheInvalidation> invalidations = new ArrayList<>();
         Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(user.getLogin());
+        invalidations.add(CacheInvalidation.cache(UserRepository.USERS_BY_LOGIN_CACHE, user.getLogin()));
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(user.getEmail());
+            invalidations.add(CacheInvalidation.cache(UserRepository.USERS_BY_EMAIL_CACHE, user.getEmail()));
         }
+        // The other nodes evict the user once the change is committed
+        cacheInvalidationBus.invalidateAfterCommit(invalidations);
     }
 }
@@ -0,0 +1,130 @@
+package org.com.poc.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import org.springdoc.api.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link org.com.poc.domain.Facility} entity. This class is used
+ * in {@link org.com.poc.web.rest.FacilityResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /facilities?id.greaterThan=5&attr1.contains=something&attr2.specified=false}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+public class FacilityCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter facilityName;
+
+    private LongFilter roomId;
+
+    private Boolean distinct;
+
+    public FacilityCriteria() {}
+
+    public FacilityCriteria(FacilityCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.facilityName = other.facilityName == null ? null : other.facilityName.copy();
+        this.roomId = other.roomId == null ? null : other.roomId.copy();
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public FacilityCriteria copy() {
+        return new FacilityCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getFacilityName() {
+        return facilityName;
+    }
+
+    public StringFilter facilityName() {
+        if (facilityName == null) {
+            facilityName = new StringFilter();
+        }
+        return facilityName;
+    }
+
+    public void setFacilityName(StringFilter facilityName) {
+        this.facilityName = facilityName;
+    }
+
+    public LongFilter getRoomId() {
+        return roomId;
+    }
+
+    public LongFilter roomId() {
+        if (roomId == null) {
+            roomId = new LongFilter();
+        }
+        return roomId;
+    }
+
+    public void setRoomId(LongFilter roomId) {
+        this.roomId = roomId;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final FacilityCriteria that = (FacilityCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(facilityName, that.facilityName) &&
+            Objects.equals(roomId, that.roomId) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, facilityName, roomId, distinct);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "FacilityCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (facilityName != null ? "facilityName=" + facilityName + ", " : "") +
+            (roomId != null ? "roomId=" + roomId + ", " : "") +
+            (distinct != null ? "distinct=" + distinct + ", " : "") +
+            "}";
+    }
+}
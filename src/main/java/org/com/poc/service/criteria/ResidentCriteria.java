@@ -0,0 +1,150 @@
+package org.com.poc.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import org.springdoc.api.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link org.com.poc.domain.Resident} entity. This class is used
+ * in {@link org.com.poc.web.rest.ResidentResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /residents?id.greaterThan=5&attr1.contains=something&attr2.specified=false}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+public class ResidentCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter residentName;
+
+    private StringFilter residentAddress;
+
+    private LongFilter roomId;
+
+    private Boolean distinct;
+
+    public ResidentCriteria() {}
+
+    public ResidentCriteria(ResidentCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.residentName = other.residentName == null ? null : other.residentName.copy();
+        this.residentAddress = other.residentAddress == null ? null : other.residentAddress.copy();
+        this.roomId = other.roomId == null ? null : other.roomId.copy();
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public ResidentCriteria copy() {
+        return new ResidentCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getResidentName() {
+        return residentName;
+    }
+
+    public StringFilter residentName() {
+        if (residentName == null) {
+            residentName = new StringFilter();
+        }
+        return residentName;
+    }
+
+    public void setResidentName(StringFilter residentName) {
+        this.residentName = residentName;
+    }
+
+    public StringFilter getResidentAddress() {
+        return residentAddress;
+    }
+
+    public StringFilter residentAddress() {
+        if (residentAddress == null) {
+            residentAddress = new StringFilter();
+        }
+        return residentAddress;
+    }
+
+    public void setResidentAddress(StringFilter residentAddress) {
+        this.residentAddress = residentAddress;
+    }
+
+    public LongFilter getRoomId() {
+        return roomId;
+    }
+
+    public LongFilter roomId() {
+        if (roomId == null) {
+            roomId = new LongFilter();
+        }
+        return roomId;
+    }
+
+    public void setRoomId(LongFilter roomId) {
+        this.roomId = roomId;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ResidentCriteria that = (ResidentCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(residentName, that.residentName) &&
+            Objects.equals(residentAddress, that.residentAddress) &&
+            Objects.equals(roomId, that.roomId) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, residentName, residentAddress, roomId, distinct);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ResidentCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (residentName != null ? "residentName=" + residentName + ", " : "") +
+            (residentAddress != null ? "residentAddress=" + residentAddress + ", " : "") +
+            (roomId != null ? "roomId=" + roomId + ", " : "") +
+            (distinct != null ? "distinct=" + distinct + ", " : "") +
+            "}";
+    }
+}
@@ -0,0 +1,170 @@
+package org.com.poc.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import org.springdoc.api.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link org.com.poc.domain.Room} entity. This class is used
+ * in {@link org.com.poc.web.rest.RoomResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /rooms?id.greaterThan=5&attr1.contains=something&attr2.specified=false}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+public class RoomCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter roomTitle;
+
+    private StringFilter roomType;
+
+    private LongFilter facilityId;
+
+    private LongFilter residentId;
+
+    private Boolean distinct;
+
+    public RoomCriteria() {}
+
+    public RoomCriteria(RoomCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.roomTitle = other.roomTitle == null ? null : other.roomTitle.copy();
+        this.roomType = other.roomType == null ? null : other.roomType.copy();
+        this.facilityId = other.facilityId == null ? null : other.facilityId.copy();
+        this.residentId = other.residentId == null ? null : other.residentId.copy();
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public RoomCriteria copy() {
+        return new RoomCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getRoomTitle() {
+        return roomTitle;
+    }
+
+    public StringFilter roomTitle() {
+        if (roomTitle == null) {
+            roomTitle = new StringFilter();
+        }
+        return roomTitle;
+    }
+
+    public void setRoomTitle(StringFilter roomTitle) {
+        this.roomTitle = roomTitle;
+    }
+
+    public StringFilter getRoomType() {
+        return roomType;
+    }
+
+    public StringFilter roomType() {
+        if (roomType == null) {
+            roomType = new StringFilter();
+        }
+        return roomType;
+    }
+
+    public void setRoomType(StringFilter roomType) {
+        this.roomType = roomType;
+    }
+
+    public LongFilter getFacilityId() {
+        return facilityId;
+    }
+
+    public LongFilter facilityId() {
+        if (facilityId == null) {
+            facilityId = new LongFilter();
+        }
+        return facilityId;
+    }
+
+    public void setFacilityId(LongFilter facilityId) {
+        this.facilityId = facilityId;
+    }
+
+    public LongFilter getResidentId() {
+        return residentId;
+    }
+
+    public LongFilter residentId() {
+        if (residentId == null) {
+            residentId = new LongFilter();
+        }
+        return residentId;
+    }
+
+    public void setResidentId(LongFilter residentId) {
+        this.residentId = residentId;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final RoomCriteria that = (RoomCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(roomTitle, that.roomTitle) &&
+            Objects.equals(roomType, that.roomType) &&
+            Objects.equals(facilityId, that.facilityId) &&
+            Objects.equals(residentId, that.residentId) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, roomTitle, roomType, facilityId, residentId, distinct);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RoomCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (roomTitle != null ? "roomTitle=" + roomTitle + ", " : "") +
+            (roomType != null ? "roomType=" + roomType + ", " : "") +
+            (facilityId != null ? "facilityId=" + facilityId + ", " : "") +
+            (residentId != null ? "residentId=" + residentId + ", " : "") +
+            (distinct != null ? "distinct=" + distinct + ", " : "") +
+            "}";
+    }
+}
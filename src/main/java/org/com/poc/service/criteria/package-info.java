@@ -0,0 +1,4 @@
+/**
+ * Criteria classes holding the filters of the list endpoints.
+ */
+package org.com.poc.service.criteria;
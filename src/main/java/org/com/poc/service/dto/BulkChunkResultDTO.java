@@ -0,0 +1,114 @@
+package org.com.poc.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of one chunk of a bulk operation, each chunk being committed in its own transaction.
+ */
+public class BulkChunkResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int chunk;
+
+    private long firstRow;
+
+    private int size;
+
+    private List<Long> createdIds = new ArrayList<>();
+
+    private List<BulkRowErrorDTO> errors = new ArrayList<>();
+
+    private String failure;
+
+    private long elapsedMillis;
+
+    public BulkChunkResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BulkChunkResultDTO(int chunk, long firstRow, int size) {
+        this.chunk = chunk;
+        this.firstRow = firstRow;
+        this.size = size;
+    }
+
+    public int getChunk() {
+        return chunk;
+    }
+
+    public void setChunk(int chunk) {
+        this.chunk = chunk;
+    }
+
+    public long getFirstRow() {
+        return firstRow;
+    }
+
+    public void setFirstRow(long firstRow) {
+        this.firstRow = firstRow;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public List<Long> getCreatedIds() {
+        return createdIds;
+    }
+
+    public void setCreatedIds(List<Long> createdIds) {
+        this.createdIds = createdIds;
+    }
+
+    public List<BulkRowErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BulkRowErrorDTO> errors) {
+        this.errors = errors;
+    }
+
+    public void addError(long row, String message) {
+        this.errors.add(new BulkRowErrorDTO(row, message));
+    }
+
+    /**
+     * @return the reason why the whole chunk was rolled back, or {@code null} if it was committed.
+     */
+    public String getFailure() {
+        return failure;
+    }
+
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkChunkResultDTO{" +
+            "chunk=" + chunk +
+            ", firstRow=" + firstRow +
+            ", size=" + size +
+            ", created=" + createdIds.size() +
+            ", errors=" + errors.size() +
+            ", failure='" + failure + "'" +
+            ", elapsedMillis=" + elapsedMillis +
+            "}";
+    }
+}
@@ -0,0 +1,103 @@
+package org.com.poc.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of a bulk operation: per-chunk results and overall throughput.
+ */
+public class BulkResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long received;
+
+    private long created;
+
+    private long rejected;
+
+    private long elapsedMillis;
+
+    private List<BulkChunkResultDTO> chunks = new ArrayList<>();
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * @return the number of rows inserted per second over the whole operation.
+     */
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? created : created * 1000d / elapsedMillis;
+    }
+
+    public List<BulkChunkResultDTO> getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(List<BulkChunkResultDTO> chunks) {
+        this.chunks = chunks;
+    }
+
+    /**
+     * Record the outcome of a chunk and update the totals.
+     *
+     * @param chunk the chunk result.
+     */
+    public void addChunk(BulkChunkResultDTO chunk) {
+        this.chunks.add(chunk);
+        countChunk(chunk);
+    }
+
+    /**
+     * Update the totals with the outcome of a chunk, without keeping the chunk itself.
+     *
+     * @param chunk the chunk result.
+     */
+    public void countChunk(BulkChunkResultDTO chunk) {
+        this.received += chunk.getSize();
+        this.created += chunk.getCreatedIds().size();
+        this.rejected += chunk.getSize() - chunk.getCreatedIds().size();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkResultDTO{" +
+            "received=" + received +
+            ", created=" + created +
+            ", rejected=" + rejected +
+            ", elapsedMillis=" + elapsedMillis +
+            ", chunks=" + chunks.size() +
+            "}";
+    }
+}
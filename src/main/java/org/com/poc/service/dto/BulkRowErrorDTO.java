@@ -0,0 +1,52 @@
+package org.com.poc.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing a row rejected by a bulk operation.
+ */
+public class BulkRowErrorDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Position of the row in the request: index in the array for JSON bodies, line number for imported files.
+     */
+    private long row;
+
+    private String message;
+
+    public BulkRowErrorDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BulkRowErrorDTO(long row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public void setRow(long row) {
+        this.row = row;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkRowErrorDTO{" +
+            "row=" + row +
+            ", message='" + message + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,84 @@
+package org.com.poc.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link org.com.poc.domain.Facility} entity, read with a projection query.
+ */
+public class FacilityDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String facilityName;
+
+    private RoomDTO room;
+
+    public FacilityDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    /**
+     * Constructor for projection queries, which cannot build nested objects. The room description is left out.
+     */
+    public FacilityDTO(Long id, String facilityName, Long roomId, String roomTitle, String roomType) {
+        this.id = id;
+        this.facilityName = facilityName;
+        if (roomId != null) {
+            this.room = new RoomDTO(roomId, roomTitle, null, roomType);
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFacilityName() {
+        return facilityName;
+    }
+
+    public void setFacilityName(String facilityName) {
+        this.facilityName = facilityName;
+    }
+
+    public RoomDTO getRoom() {
+        return room;
+    }
+
+    public void setRoom(RoomDTO room) {
+        this.room = room;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FacilityDTO)) {
+            return false;
+        }
+        FacilityDTO facilityDTO = (FacilityDTO) o;
+        return id != null && id.equals(facilityDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "FacilityDTO{" +
+            "id=" + getId() +
+            ", facilityName='" + getFacilityName() + "'" +
+            ", room=" + getRoom() +
+            "}";
+    }
+}
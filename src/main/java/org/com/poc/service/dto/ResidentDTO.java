@@ -0,0 +1,79 @@
+package org.com.poc.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link org.com.poc.domain.Resident} entity, read with a projection query.
+ */
+public class ResidentDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String residentName;
+
+    private String residentAddress;
+
+    public ResidentDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ResidentDTO(Long id, String residentName, String residentAddress) {
+        this.id = id;
+        this.residentName = residentName;
+        this.residentAddress = residentAddress;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getResidentName() {
+        return residentName;
+    }
+
+    public void setResidentName(String residentName) {
+        this.residentName = residentName;
+    }
+
+    public String getResidentAddress() {
+        return residentAddress;
+    }
+
+    public void setResidentAddress(String residentAddress) {
+        this.residentAddress = residentAddress;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ResidentDTO)) {
+            return false;
+        }
+        ResidentDTO residentDTO = (ResidentDTO) o;
+        return id != null && id.equals(residentDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ResidentDTO{" +
+            "id=" + getId() +
+            ", residentName='" + getResidentName() + "'" +
+            ", residentAddress='" + getResidentAddress() + "'" +
+            "}";
+    }
+}
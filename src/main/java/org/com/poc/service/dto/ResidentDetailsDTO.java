@@ -0,0 +1,92 @@
+package org.com.poc.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link org.com.poc.domain.Resident} entity with its rooms, and their facilities.
+ */
+public class ResidentDetailsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String residentName;
+
+    private String residentAddress;
+
+    private List<RoomDetailsDTO> rooms = new ArrayList<>();
+
+    public ResidentDetailsDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ResidentDetailsDTO(Long id, String residentName, String residentAddress) {
+        this.id = id;
+        this.residentName = residentName;
+        this.residentAddress = residentAddress;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getResidentName() {
+        return residentName;
+    }
+
+    public void setResidentName(String residentName) {
+        this.residentName = residentName;
+    }
+
+    public String getResidentAddress() {
+        return residentAddress;
+    }
+
+    public void setResidentAddress(String residentAddress) {
+        this.residentAddress = residentAddress;
+    }
+
+    public List<RoomDetailsDTO> getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(List<RoomDetailsDTO> rooms) {
+        this.rooms = rooms;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ResidentDetailsDTO)) {
+            return false;
+        }
+        ResidentDetailsDTO residentDetailsDTO = (ResidentDetailsDTO) o;
+        return id != null && id.equals(residentDetailsDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ResidentDetailsDTO{" +
+            "id=" + getId() +
+            ", residentName='" + getResidentName() + "'" +
+            ", residentAddress='" + getResidentAddress() + "'" +
+            ", rooms=" + getRooms() +
+            "}";
+    }
+}
@@ -0,0 +1,102 @@
+package org.com.poc.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link org.com.poc.domain.Room} entity, read with a projection query.
+ */
+public class RoomDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String roomTitle;
+
+    private String roomDescription;
+
+    private String roomType;
+
+    private ResidentDTO resident;
+
+    public RoomDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public RoomDTO(Long id, String roomTitle, String roomDescription, String roomType) {
+        this.id = id;
+        this.roomTitle = roomTitle;
+        this.roomDescription = roomDescription;
+        this.roomType = roomType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRoomTitle() {
+        return roomTitle;
+    }
+
+    public void setRoomTitle(String roomTitle) {
+        this.roomTitle = roomTitle;
+    }
+
+    public String getRoomDescription() {
+        return roomDescription;
+    }
+
+    public void setRoomDescription(String roomDescription) {
+        this.roomDescription = roomDescription;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+
+    public ResidentDTO getResident() {
+        return resident;
+    }
+
+    public void setResident(ResidentDTO resident) {
+        this.resident = resident;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RoomDTO)) {
+            return false;
+        }
+        RoomDTO roomDTO = (RoomDTO) o;
+        return id != null && id.equals(roomDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RoomDTO{" +
+            "id=" + getId() +
+            ", roomTitle='" + getRoomTitle() + "'" +
+            ", roomDescription='" + getRoomDescription() + "'" +
+            ", roomType='" + getRoomType() + "'" +
+            ", resident=" + getResident() +
+            "}";
+    }
+}
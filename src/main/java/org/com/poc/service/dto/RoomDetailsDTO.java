@@ -0,0 +1,109 @@
+package org.com.poc.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link org.com.poc.domain.Room} entity with its facilities, nested in a {@link ResidentDetailsDTO}.
+ */
+public class RoomDetailsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String roomTitle;
+
+    private String roomDescription;
+
+    private String roomType;
+
+    @JsonIgnoreProperties(value = { "room" })
+    private List<FacilityDTO> facilities = new ArrayList<>();
+
+    public RoomDetailsDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public RoomDetailsDTO(Long id, String roomTitle, String roomDescription, String roomType) {
+        this.id = id;
+        this.roomTitle = roomTitle;
+        this.roomDescription = roomDescription;
+        this.roomType = roomType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRoomTitle() {
+        return roomTitle;
+    }
+
+    public void setRoomTitle(String roomTitle) {
+        this.roomTitle = roomTitle;
+    }
+
+    public String getRoomDescription() {
+        return roomDescription;
+    }
+
+    public void setRoomDescription(String roomDescription) {
+        this.roomDescription = roomDescription;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+
+    /**
+     * @return the facilities of the room, without their room.
+     */
+    public List<FacilityDTO> getFacilities() {
+        return facilities;
+    }
+
+    public void setFacilities(List<FacilityDTO> facilities) {
+        this.facilities = facilities;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RoomDetailsDTO)) {
+            return false;
+        }
+        RoomDetailsDTO roomDetailsDTO = (RoomDetailsDTO) o;
+        return id != null && id.equals(roomDetailsDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RoomDetailsDTO{" +
+            "id=" + getId() +
+            ", roomTitle='" + getRoomTitle() + "'" +
+            ", roomDescription='" + getRoomDescription() + "'" +
+            ", roomType='" + getRoomType() + "'" +
+            ", facilities=" + getFacilities() +
+            "}";
+    }
+}
@@ -0,0 +1,131 @@
+package org.com.poc.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Aggregate statistics of the {@link org.com.poc.domain.Room} entity, with their residents and facilities.
+ */
+public class RoomStatisticsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long totalRooms;
+
+    private Map<String, Long> roomsPerType;
+
+    private long roomsWithoutResident;
+
+    private long totalResidents;
+
+    private long residentsWithoutRooms;
+
+    private Map<Integer, Long> residentsPerRoomCount;
+
+    private long totalFacilities;
+
+    private Map<Integer, Long> roomsPerFacilityCount;
+
+    private Instant reconciledAt;
+
+    public long getTotalRooms() {
+        return totalRooms;
+    }
+
+    public void setTotalRooms(long totalRooms) {
+        this.totalRooms = totalRooms;
+    }
+
+    /**
+     * @return the number of rooms of each type.
+     */
+    public Map<String, Long> getRoomsPerType() {
+        return roomsPerType;
+    }
+
+    public void setRoomsPerType(Map<String, Long> roomsPerType) {
+        this.roomsPerType = roomsPerType;
+    }
+
+    public long getRoomsWithoutResident() {
+        return roomsWithoutResident;
+    }
+
+    public void setRoomsWithoutResident(long roomsWithoutResident) {
+        this.roomsWithoutResident = roomsWithoutResident;
+    }
+
+    public long getTotalResidents() {
+        return totalResidents;
+    }
+
+    public void setTotalResidents(long totalResidents) {
+        this.totalResidents = totalResidents;
+    }
+
+    public long getResidentsWithoutRooms() {
+        return residentsWithoutRooms;
+    }
+
+    public void setResidentsWithoutRooms(long residentsWithoutRooms) {
+        this.residentsWithoutRooms = residentsWithoutRooms;
+    }
+
+    /**
+     * @return the distribution of rooms per resident: the number of residents having each number of rooms.
+     */
+    public Map<Integer, Long> getResidentsPerRoomCount() {
+        return residentsPerRoomCount;
+    }
+
+    public void setResidentsPerRoomCount(Map<Integer, Long> residentsPerRoomCount) {
+        this.residentsPerRoomCount = residentsPerRoomCount;
+    }
+
+    public long getTotalFacilities() {
+        return totalFacilities;
+    }
+
+    public void setTotalFacilities(long totalFacilities) {
+        this.totalFacilities = totalFacilities;
+    }
+
+    /**
+     * @return the distribution of facilities per room: the number of rooms having each number of facilities.
+     */
+    public Map<Integer, Long> getRoomsPerFacilityCount() {
+        return roomsPerFacilityCount;
+    }
+
+    public void setRoomsPerFacilityCount(Map<Integer, Long> roomsPerFacilityCount) {
+        this.roomsPerFacilityCount = roomsPerFacilityCount;
+    }
+
+    /**
+     * @return when the statistics were last read from the database, they are kept up to date from the changes since.
+     */
+    public Instant getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public void setReconciledAt(Instant reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RoomStatisticsDTO{" +
+            "totalRooms=" + getTotalRooms() +
+            ", roomsPerType=" + getRoomsPerType() +
+            ", roomsWithoutResident=" + getRoomsWithoutResident() +
+            ", totalResidents=" + getTotalResidents() +
+            ", residentsWithoutRooms=" + getResidentsWithoutRooms() +
+            ", residentsPerRoomCount=" + getResidentsPerRoomCount() +
+            ", totalFacilities=" + getTotalFacilities() +
+            ", roomsPerFacilityCount=" + getRoomsPerFacilityCount() +
+            ", reconciledAt='" + getReconciledAt() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,133 @@
+package org.com.poc.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A summary of the {@link org.com.poc.domain.Room} entity for list pages: only a preview of the description is read.
+ */
+public class RoomSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Number of characters of the description kept in {@link #getDescriptionPreview()}.
+     */
+    public static final int DESCRIPTION_PREVIEW_LENGTH = 100;
+
+    private Long id;
+
+    private String roomTitle;
+
+    private String roomType;
+
+    private String descriptionPreview;
+
+    private long facilityCount;
+
+    private ResidentDTO resident;
+
+    public RoomSummaryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    /**
+     * Constructor for projection queries, which cannot build nested objects.
+     */
+    public RoomSummaryDTO(
+        Long id,
+        String roomTitle,
+        String roomType,
+        String descriptionPreview,
+        Long facilityCount,
+        Long residentId,
+        String residentName
+    ) {
+        this.id = id;
+        this.roomTitle = roomTitle;
+        this.roomType = roomType;
+        this.descriptionPreview = descriptionPreview;
+        this.facilityCount = facilityCount == null ? 0 : facilityCount;
+        if (residentId != null) {
+            this.resident = new ResidentDTO(residentId, residentName, null);
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRoomTitle() {
+        return roomTitle;
+    }
+
+    public void setRoomTitle(String roomTitle) {
+        this.roomTitle = roomTitle;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+
+    public String getDescriptionPreview() {
+        return descriptionPreview;
+    }
+
+    public void setDescriptionPreview(String descriptionPreview) {
+        this.descriptionPreview = descriptionPreview;
+    }
+
+    public long getFacilityCount() {
+        return facilityCount;
+    }
+
+    public void setFacilityCount(long facilityCount) {
+        this.facilityCount = facilityCount;
+    }
+
+    public ResidentDTO getResident() {
+        return resident;
+    }
+
+    public void setResident(ResidentDTO resident) {
+        this.resident = resident;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RoomSummaryDTO)) {
+            return false;
+        }
+        RoomSummaryDTO roomSummaryDTO = (RoomSummaryDTO) o;
+        return id != null && id.equals(roomSummaryDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RoomSummaryDTO{" +
+            "id=" + getId() +
+            ", roomTitle='" + getRoomTitle() + "'" +
+            ", roomType='" + getRoomType() + "'" +
+            ", descriptionPreview='" + getDescriptionPreview() + "'" +
+            ", facilityCount=" + getFacilityCount() +
+            ", resident=" + getResident() +
+            "}";
+    }
+}
@@ -0,0 +1,62 @@
+package org.com.poc.service.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Event published when entities are created, updated or deleted.
+ * <p>
+ * Listeners that maintain derived state (counts, indexes, caches...) should consume it with a
+ * {@link org.springframework.transaction.event.TransactionalEventListener}, so that they only see committed changes, with
+ * {@code fallbackExecution} set to also receive the changes committed on the other nodes, which
+ * {@link org.com.poc.service.invalidation.CacheInvalidationBus} publishes outside of a transaction.
+ */
+public class EntityChangeEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+    }
+
+    private final Class<?> entityType;
+
+    private final ChangeType changeType;
+
+    private final List<Long> ids;
+
+    public EntityChangeEvent(Class<?> entityType, ChangeType changeType, Collection<Long> ids) {
+        this.entityType = entityType;
+        this.changeType = changeType;
+        this.ids = List.copyOf(ids);
+    }
+
+    public static EntityChangeEvent created(Class<?> entityType, Long id) {
+        return new EntityChangeEvent(entityType, ChangeType.CREATED, List.of(id));
+    }
+
+    public static EntityChangeEvent updated(Class<?> entityType, Long id) {
+        return new EntityChangeEvent(entityType, ChangeType.UPDATED, List.of(id));
+    }
+
+    public static EntityChangeEvent deleted(Class<?> entityType, Long id) {
+        return new EntityChangeEvent(entityType, ChangeType.DELETED, List.of(id));
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityChangeEvent{" + "entityType=" + entityType.getSimpleName() + ", changeType=" + changeType + ", ids=" + ids + "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Application events published by the service and web layers.
+ */
+package org.com.poc.service.event;
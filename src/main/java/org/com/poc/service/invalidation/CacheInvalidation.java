@@ -0,0 +1,88 @@
+package org.com.poc.service.invalidation;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Eviction of a key, or of a whole region, from a cache of the application.
+ */
+public final class CacheInvalidation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Kind {
+        /**
+         * An entity of the second-level cache, the region being the entity name.
+         */
+        ENTITY,
+        /**
+         * A collection of the second-level cache, the region being the collection role and the key the owner id.
+         */
+        COLLECTION,
+        /**
+         * An entry of a Spring cache, the region being the cache name.
+         */
+        CACHE,
+    }
+
+    private final Kind kind;
+
+    private final String region;
+
+    private final Serializable key;
+
+    private CacheInvalidation(Kind kind, String region, Serializable key) {
+        this.kind = Objects.requireNonNull(kind);
+        this.region = Objects.requireNonNull(region);
+        this.key = key;
+    }
+
+    public static CacheInvalidation entity(String entityName, Serializable id) {
+        return new CacheInvalidation(Kind.ENTITY, entityName, id);
+    }
+
+    public static CacheInvalidation collection(String role, Serializable ownerId) {
+        return new CacheInvalidation(Kind.COLLECTION, role, ownerId);
+    }
+
+    public static CacheInvalidation cache(String cacheName, Serializable key) {
+        return new CacheInvalidation(Kind.CACHE, cacheName, key);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    /**
+     * @return the key to evict, or {@code null} to evict the whole region.
+     */
+    public Serializable getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CacheInvalidation)) {
+            return false;
+        }
+        CacheInvalidation that = (CacheInvalidation) o;
+        return kind == that.kind && region.equals(that.region) && Objects.equals(key, that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, region, key);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheInvalidation{" + "kind=" + kind + ", region='" + region + "'" + ", key=" + key + "}";
+    }
+}
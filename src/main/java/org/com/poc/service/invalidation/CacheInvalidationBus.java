@@ -0,0 +1,247 @@
+package org.com.poc.service.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import org.com.poc.config.ApplicationProperties;
+import org.com.poc.service.event.EntityChangeEvent;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bus broadcasting the evictions of the local caches to the other nodes of the deployment.
+ * <p>
+ * Every node has its own second-level cache and Spring caches, so a change committed on one node leaves the others
+ * serving the old entries until they expire. The changes of the second-level cache are published by
+ * {@link org.com.poc.config.CacheInvalidationIntegrator}, the other evictions with {@link #invalidateAfterCommit}.
+ * <p>
+ * Invalidations are only published once their transaction is committed. They are queued, coalesced, and sent as one
+ * {@link CacheInvalidationMessage} every {@code application.cache-invalidation.flush-interval-ms} milliseconds; the
+ * receiving nodes evict the keys from their local caches.
+ * <p>
+ * The receiving nodes also publish an {@link EntityChangeEvent} of type {@code UPDATED} for the entities invalidated,
+ * with no ids when a whole region is evicted, so that the state derived from the entities (list generations, indexes,
+ * statistics...) follows the changes committed on the other nodes. These events are published outside of a
+ * transaction, the changes being already committed.
+ */
+@Service
+public class CacheInvalidationBus {
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final CacheInvalidationTransport transport;
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    private final CacheManager cacheManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean enabled;
+
+    private final String nodeId;
+
+    private final Consumer<CacheInvalidationMessage> receiver = this::receive;
+
+    private final Set<CacheInvalidation> pending = new LinkedHashSet<>();
+
+    private final Counter sentCounter;
+
+    private final Counter receivedCounter;
+
+    public CacheInvalidationBus(
+        CacheInvalidationTransport transport,
+        ObjectProvider<EntityManagerFactory> entityManagerFactory,
+        CacheManager cacheManager,
+        ApplicationEventPublisher eventPublisher,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.transport = transport;
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        ApplicationProperties.CacheInvalidation properties = applicationProperties.getCacheInvalidation();
+        this.enabled = properties.isEnabled();
+        this.nodeId = properties.getNodeId() != null ? properties.getNodeId() : UUID.randomUUID().toString();
+        this.sentCounter = meterRegistry.counter("cache.invalidation.sent");
+        this.receivedCounter = meterRegistry.counter("cache.invalidation.received");
+        if (enabled) {
+            transport.subscribe(receiver);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (enabled) {
+            flush();
+            transport.unsubscribe(receiver);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Publish invalidations once the current transaction is committed, or right away outside of a transaction.
+     *
+     * @param invalidations the invalidations.
+     */
+    public void invalidateAfterCommit(Collection<CacheInvalidation> invalidations) {
+        if (!enabled || invalidations.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        publish(invalidations);
+                    }
+                }
+            );
+        } else {
+            publish(invalidations);
+        }
+    }
+
+    /**
+     * Queue committed invalidations for the next message.
+     *
+     * @param invalidations the invalidations.
+     */
+    public void publish(Collection<CacheInvalidation> invalidations) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (pending) {
+            pending.addAll(invalidations);
+        }
+    }
+
+    /**
+     * Send the queued invalidations as one message.
+     * <p>
+     * This is scheduled to get fired every {@code application.cache-invalidation.flush-interval-ms} milliseconds.
+     */
+    @Scheduled(fixedDelayString = "${application.cache-invalidation.flush-interval-ms:50}")
+    public void flush() {
+        List<CacheInvalidation> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = coalesce(pending);
+            pending.clear();
+        }
+        try {
+            transport.send(new CacheInvalidationMessage(nodeId, batch));
+            sentCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not send {} cache invalidations: {}", batch.size(), e.toString());
+        }
+    }
+
+    /**
+     * Drop the keys of the regions that are evicted as a whole.
+     */
+    private static List<CacheInvalidation> coalesce(Collection<CacheInvalidation> invalidations) {
+        Set<String> wholeRegions = invalidations
+            .stream()
+            .filter(invalidation -> invalidation.getKey() == null)
+            .map(invalidation -> invalidation.getKind() + ":" + invalidation.getRegion())
+            .collect(Collectors.toSet());
+        List<CacheInvalidation> coalesced = new ArrayList<>();
+        for (CacheInvalidation invalidation : invalidations) {
+            if (invalidation.getKey() == null || !wholeRegions.contains(invalidation.getKind() + ":" + invalidation.getRegion())) {
+                coalesced.add(invalidation);
+            }
+        }
+        return coalesced;
+    }
+
+    private void receive(CacheInvalidationMessage message) {
+        if (nodeId.equals(message.getNodeId())) {
+            return;
+        }
+        log.debug("Applying {} from node {}", message, message.getNodeId());
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.getObject().unwrap(SessionFactoryImplementor.class);
+        Cache secondLevelCache = sessionFactory.getCache();
+        Map<Class<?>, Set<Long>> changedEntities = new LinkedHashMap<>();
+        for (CacheInvalidation invalidation : message.getInvalidations()) {
+            try {
+                evict(secondLevelCache, invalidation);
+                if (invalidation.getKind() == CacheInvalidation.Kind.ENTITY) {
+                    Class<?> entityType = sessionFactory.getMetamodel().entityPersister(invalidation.getRegion()).getMappedClass();
+                    Set<Long> ids = changedEntities.computeIfAbsent(entityType, type -> new LinkedHashSet<>());
+                    if (invalidation.getKey() instanceof Long) {
+                        ids.add((Long) invalidation.getKey());
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not apply {}: {}", invalidation, e.toString());
+            }
+        }
+        receivedCounter.increment(message.getInvalidations().size());
+        changedEntities.forEach((entityType, ids) -> {
+            try {
+                eventPublisher.publishEvent(new EntityChangeEvent(entityType, EntityChangeEvent.ChangeType.UPDATED, ids));
+            } catch (RuntimeException e) {
+                log.warn("Could not apply the changes of {} {}: {}", entityType.getSimpleName(), ids, e.toString());
+            }
+        });
+    }
+
+    private void evict(Cache secondLevelCache, CacheInvalidation invalidation) {
+        switch (invalidation.getKind()) {
+            case ENTITY:
+                if (invalidation.getKey() == null) {
+                    secondLevelCache.evictEntityData(invalidation.getRegion());
+                } else {
+                    secondLevelCache.evictEntityData(invalidation.getRegion(), invalidation.getKey());
+                }
+                break;
+            case COLLECTION:
+                if (invalidation.getKey() == null) {
+                    secondLevelCache.evictCollectionData(invalidation.getRegion());
+                } else {
+                    secondLevelCache.evictCollectionData(invalidation.getRegion(), invalidation.getKey());
+                }
+                break;
+            case CACHE:
+                org.springframework.cache.Cache cache = cacheManager.getCache(invalidation.getRegion());
+                if (cache == null) {
+                    return;
+                }
+                if (invalidation.getKey() == null) {
+                    cache.clear();
+                } else {
+                    cache.evict(invalidation.getKey());
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown invalidation kind " + invalidation.getKind());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.com.poc.service.invalidation;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Batch of invalidations sent by a node to the others.
+ */
+public final class CacheInvalidationMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String nodeId;
+
+    private final List<CacheInvalidation> invalidations;
+
+    public CacheInvalidationMessage(String nodeId, Collection<CacheInvalidation> invalidations) {
+        this.nodeId = nodeId;
+        this.invalidations = List.copyOf(invalidations);
+    }
+
+    /**
+     * @return the id of the node that sent the message.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public List<CacheInvalidation> getInvalidations() {
+        return invalidations;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheInvalidationMessage{" + "nodeId='" + nodeId + "'" + ", invalidations=" + invalidations.size() + "}";
+    }
+}
@@ -0,0 +1,35 @@
+package org.com.poc.service.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport of the {@link CacheInvalidationMessage invalidation messages} between the nodes of a deployment.
+ * <p>
+ * A transport delivers every message sent to every subscriber, including the ones of the sending node: the
+ * {@link CacheInvalidationBus} ignores its own messages. Delivery is best effort, the time to live of the regions
+ * bounding the staleness of a node that misses a message.
+ * <p>
+ * The application defines a {@link LoopbackCacheInvalidationTransport} unless another transport bean is declared.
+ */
+public interface CacheInvalidationTransport {
+    /**
+     * Send a message to the nodes.
+     *
+     * @param message the message.
+     */
+    void send(CacheInvalidationMessage message);
+
+    /**
+     * Register a receiver of the messages sent by the nodes.
+     *
+     * @param receiver the receiver, called on a thread of the transport.
+     */
+    void subscribe(Consumer<CacheInvalidationMessage> receiver);
+
+    /**
+     * Stop delivering the messages to a receiver.
+     *
+     * @param receiver the receiver.
+     */
+    void unsubscribe(Consumer<CacheInvalidationMessage> receiver);
+}
@@ -0,0 +1,50 @@
+package org.com.poc.service.invalidation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transport delivering the messages to the subscribers of the same channel in the same JVM, on the sending thread.
+ * <p>
+ * With a single instance this only loops the messages back. Several application contexts, or several
+ * {@link CacheInvalidationBus buses}, started in the same JVM on the same channel behave as the nodes of a
+ * multi-instance deployment, which is how the invalidation is tested on one machine.
+ */
+public class LoopbackCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final Map<String, List<Consumer<CacheInvalidationMessage>>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final Logger log = LoggerFactory.getLogger(LoopbackCacheInvalidationTransport.class);
+
+    private final List<Consumer<CacheInvalidationMessage>> subscribers;
+
+    public LoopbackCacheInvalidationTransport(String channel) {
+        this.subscribers = CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>());
+    }
+
+    @Override
+    public void send(CacheInvalidationMessage message) {
+        for (Consumer<CacheInvalidationMessage> subscriber : subscribers) {
+            try {
+                subscriber.accept(message);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation receiver failed on {}: {}", message, e.toString());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationMessage> receiver) {
+        subscribers.add(receiver);
+    }
+
+    @Override
+    public void unsubscribe(Consumer<CacheInvalidationMessage> receiver) {
+        subscribers.remove(receiver);
+    }
+}
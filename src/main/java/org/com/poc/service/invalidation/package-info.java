@@ -0,0 +1,4 @@
+/**
+ * Cross-node invalidation of the local caches.
+ */
+package org.com.poc.service.invalidation;
@@ -0,0 +1,289 @@
+package org.com.poc.service.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index ranking documents with Okapi BM25.
+ * <p>
+ * Each document gets an internal ordinal when it is indexed, and every term has a posting list of
+ * {@code (ordinal, term frequency)} pairs kept in ordinal order, stored in plain {@code int} arrays. Updating a
+ * document deletes its previous ordinal and appends a new one, so the index never has to find the old terms of a
+ * document. Deleted ordinals are skipped at query time and purged by a compaction once they outnumber the live
+ * documents. As in Lucene, the document frequencies used by the IDF still count deleted documents until then.
+ * <p>
+ * The index is thread-safe: queries run concurrently, updates are exclusive.
+ */
+public class InvertedIndex {
+
+    /**
+     * BM25 term frequency saturation.
+     */
+    static final float K1 = 1.2f;
+
+    /**
+     * BM25 document length normalization.
+     */
+    static final float B = 0.75f;
+
+    /**
+     * Minimum number of deleted documents before a compaction.
+     */
+    static final int COMPACTION_MIN_DELETED = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+
+    private long[] ids = new long[16];
+
+    private int[] lengths = new int[16];
+
+    private final BitSet deleted = new BitSet();
+
+    private int maxOrdinal;
+
+    private int deletedCount;
+
+    private long totalLength;
+
+    /**
+     * Index a document, replacing any previous version of it.
+     *
+     * @param id the document id.
+     * @param terms the terms of the document, with duplicates.
+     */
+    public void put(long id, Collection<String> terms) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        lock.writeLock().lock();
+        try {
+            Integer previous = ordinals.remove(id);
+            if (previous != null) {
+                delete(previous);
+            }
+            int ordinal = maxOrdinal++;
+            if (ordinal == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                lengths = Arrays.copyOf(lengths, lengths.length * 2);
+            }
+            ids[ordinal] = id;
+            lengths[ordinal] = terms.size();
+            totalLength += terms.size();
+            for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+                postings.computeIfAbsent(frequency.getKey(), term -> new PostingList()).add(ordinal, frequency.getValue());
+            }
+            ordinals.put(id, ordinal);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document.
+     *
+     * @param id the document id.
+     * @return {@code true} if the document was indexed.
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal == null) {
+                return false;
+            }
+            delete(ordinal);
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of indexed documents.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the documents containing any of the given terms, best BM25 score first.
+     *
+     * @param terms the query terms, duplicates are ignored.
+     * @param offset the number of hits to skip.
+     * @param limit the maximum number of hits to return.
+     * @return the page of hits.
+     */
+    public SearchResult search(Collection<String> terms, int offset, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(terms);
+        lock.readLock().lock();
+        try {
+            int liveCount = maxOrdinal - deletedCount;
+            if (queryTerms.isEmpty() || liveCount == 0) {
+                return SearchResult.empty();
+            }
+            float averageLength = Math.max(1f, (float) totalLength / liveCount);
+            float[] scores = new float[maxOrdinal];
+            int[] hits = new int[16];
+            int hitCount = 0;
+            for (String term : queryTerms) {
+                PostingList postingList = postings.get(term);
+                if (postingList == null) {
+                    continue;
+                }
+                float idf = (float) Math.log(1 + (maxOrdinal - postingList.size + 0.5) / (postingList.size + 0.5));
+                for (int i = 0; i < postingList.size; i++) {
+                    int ordinal = postingList.ordinals[i];
+                    if (deleted.get(ordinal)) {
+                        continue;
+                    }
+                    float frequency = postingList.frequencies[i];
+                    float norm = K1 * (1 - B + B * lengths[ordinal] / averageLength);
+                    if (scores[ordinal] == 0f) {
+                        if (hitCount == hits.length) {
+                            hits = Arrays.copyOf(hits, hitCount * 2);
+                        }
+                        hits[hitCount++] = ordinal;
+                    }
+                    scores[ordinal] += idf * frequency * (K1 + 1) / (frequency + norm);
+                }
+            }
+            return topHits(scores, hits, hitCount, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Select a page of the hits with a bounded heap, without sorting all of them.
+     */
+    private SearchResult topHits(float[] scores, int[] hits, int hitCount, int offset, int limit) {
+        int wanted = (int) Math.min((long) offset + limit, hitCount);
+        if (offset >= wanted) {
+            return new SearchResult(new long[0], new float[0], hitCount);
+        }
+        // Worst hit at the head; on equal scores the oldest document ranks first
+        PriorityQueue<Integer> heap = new PriorityQueue<>(
+            wanted,
+            (a, b) -> scores[a] != scores[b] ? Float.compare(scores[a], scores[b]) : Integer.compare(b, a)
+        );
+        for (int i = 0; i < hitCount; i++) {
+            int ordinal = hits[i];
+            if (heap.size() < wanted) {
+                heap.add(ordinal);
+            } else if (heap.comparator().compare(ordinal, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(ordinal);
+            }
+        }
+        int pageSize = wanted - offset;
+        long[] pageIds = new long[pageSize];
+        float[] pageScores = new float[pageSize];
+        for (int i = wanted - 1; i >= 0; i--) {
+            int ordinal = heap.poll();
+            if (i >= offset) {
+                pageIds[i - offset] = ids[ordinal];
+                pageScores[i - offset] = scores[ordinal];
+            }
+        }
+        return new SearchResult(pageIds, pageScores, hitCount);
+    }
+
+    private void delete(int ordinal) {
+        deleted.set(ordinal);
+        deletedCount++;
+        totalLength -= lengths[ordinal];
+    }
+
+    /**
+     * Purge the deleted documents from the posting lists and renumber the live ones, keeping their order.
+     */
+    private void compactIfNeeded() {
+        if (deletedCount < COMPACTION_MIN_DELETED || deletedCount < maxOrdinal - deletedCount) {
+            return;
+        }
+        int[] remap = new int[maxOrdinal];
+        int next = 0;
+        for (int ordinal = 0; ordinal < maxOrdinal; ordinal++) {
+            if (deleted.get(ordinal)) {
+                remap[ordinal] = -1;
+            } else {
+                ids[next] = ids[ordinal];
+                lengths[next] = lengths[ordinal];
+                remap[ordinal] = next++;
+            }
+        }
+        Iterator<PostingList> iterator = postings.values().iterator();
+        while (iterator.hasNext()) {
+            PostingList postingList = iterator.next();
+            postingList.remap(remap);
+            if (postingList.size == 0) {
+                iterator.remove();
+            }
+        }
+        ordinals.replaceAll((id, ordinal) -> remap[ordinal]);
+        deleted.clear();
+        deletedCount = 0;
+        maxOrdinal = next;
+    }
+
+    /**
+     * The documents containing a term, in ordinal order.
+     */
+    private static final class PostingList {
+
+        private int[] ordinals = new int[4];
+
+        private int[] frequencies = new int[4];
+
+        private int size;
+
+        void add(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                int capacity = size + (size >> 1);
+                ordinals = Arrays.copyOf(ordinals, capacity);
+                frequencies = Arrays.copyOf(frequencies, capacity);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = remap[ordinals[i]];
+                if (ordinal >= 0) {
+                    ordinals[kept] = ordinal;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (kept < ordinals.length / 2) {
+                ordinals = Arrays.copyOf(ordinals, Math.max(4, kept));
+                frequencies = Arrays.copyOf(frequencies, Math.max(4, kept));
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.com.poc.service.search;
+
+/**
+ * A page of search hits, best first.
+ */
+public final class SearchResult {
+
+    private static final SearchResult EMPTY = new SearchResult(new long[0], new float[0], 0);
+
+    private final long[] ids;
+
+    private final float[] scores;
+
+    private final long totalHits;
+
+    SearchResult(long[] ids, float[] scores, long totalHits) {
+        this.ids = ids;
+        this.scores = scores;
+        this.totalHits = totalHits;
+    }
+
+    public static SearchResult empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return the ids of the documents of the page, best first.
+     */
+    public long[] getIds() {
+        return ids.clone();
+    }
+
+    /**
+     * @return the BM25 scores of the documents of the page, in the order of {@link #getIds()}.
+     */
+    public float[] getScores() {
+        return scores.clone();
+    }
+
+    /**
+     * @return the number of documents matching at least one term, over all pages.
+     */
+    public long getTotalHits() {
+        return totalHits;
+    }
+}
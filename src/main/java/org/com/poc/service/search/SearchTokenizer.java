@@ -0,0 +1,45 @@
+package org.com.poc.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into search terms: accents are stripped, the text is lower-cased, and terms are the runs of letters and
+ * digits.
+ */
+public final class SearchTokenizer {
+
+    /**
+     * Terms longer than this are dropped, they are almost always noise (hashes, URLs, ...).
+     */
+    public static final int MAX_TERM_LENGTH = 64;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private SearchTokenizer() {}
+
+    /**
+     * Tokenize a text.
+     *
+     * @param text the text, may be {@code null}.
+     * @return the terms, in order, with duplicates.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        for (String term : SEPARATORS.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty() && term.length() <= MAX_TERM_LENGTH) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+}
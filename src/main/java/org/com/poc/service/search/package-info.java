@@ -0,0 +1,4 @@
+/**
+ * In-process full-text search.
+ */
+package org.com.poc.service.search;
@@ -0,0 +1,89 @@
+package org.com.poc.web.filter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.com.poc.config.ApplicationProperties;
+import org.com.poc.security.SecurityUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Filter pinning the requests of a client to the primary database for a short time after it wrote, so that it reads
+ * its own writes even when the replicas lag behind.
+ * <p>
+ * A client is identified by its login, or by its address when anonymous. Writes are the requests with an unsafe
+ * method; the window is {@code application.datasource-routing.read-your-writes-ms}. The last writes are kept in
+ * memory, so the stickiness only holds while the client stays on the same instance.
+ * <p>
+ * The filter runs around the {@link ResponseCacheFilter}, which tells whether a request read from a replica once its
+ * response is built.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@ConditionalOnProperty(prefix = "application.datasource-routing", name = "enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private final long windowMs;
+
+    public ReadYourWritesFilter(ApplicationProperties applicationProperties) {
+        this.windowMs = applicationProperties.getDatasourceRouting().getReadYourWritesMs();
+    }
+
+    /**
+     * Tell whether the current request must read from the primary.
+     *
+     * @return {@code true} if the client of the current request wrote recently.
+     */
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        String client = SecurityUtils.getCurrentUserLogin().orElseGet(request::getRemoteAddr);
+        long now = System.currentTimeMillis();
+        boolean write = isWrite(request);
+        Long lastWrite = lastWrites.get(client);
+        PINNED_TO_PRIMARY.set(write || (lastWrite != null && now - lastWrite < windowMs));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PINNED_TO_PRIMARY.remove();
+            if (write) {
+                recordWrite(client);
+            }
+        }
+    }
+
+    private void recordWrite(String client) {
+        long now = System.currentTimeMillis();
+        lastWrites.put(client, now);
+        if (lastWrites.size() > CLEANUP_THRESHOLD) {
+            lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowMs);
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        return Optional
+            .ofNullable(HttpMethod.resolve(request.getMethod()))
+            .map(method -> method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS)
+            .orElse(true);
+    }
+}
@@ -0,0 +1,194 @@
+package org.com.poc.web.filter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.com.poc.domain.Facility;
+import org.com.poc.domain.Resident;
+import org.com.poc.domain.Room;
+import org.com.poc.service.ResponseCacheService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Filter answering the hot {@code GET} endpoints from the {@link ResponseCacheService}.
+ * <p>
+ * A response is keyed by its path, its parameters, its {@code Accept} header and the authorities of the client; it is
+ * served gzipped to the clients accepting it, so every response of these routes varies on {@code Accept-Encoding}.
+ * Only successful JSON responses are cached. Conditional requests go to the endpoints, which already answer them
+ * without reading the entities.
+ * <p>
+ * The responses are invalidated by the {@link org.com.poc.service.event.EntityChangeEvent}s, including the ones
+ * republished from the other nodes by the cache invalidation bus, which must be enabled when running several instances.
+ * <p>
+ * The filter runs after Spring Security, so that a cached response is only served to a client allowed to get it.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.response-cache", name = "enabled", havingValue = "true")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final List<CachedRoute> ROUTES = List.of(
+        new CachedRoute("/api/rooms/\\d+", Room.class, Resident.class, Facility.class),
+        new CachedRoute("/api/facilities", Facility.class, Room.class),
+        new CachedRoute("/api/authorities")
+    );
+
+    /**
+     * Headers that are not replayed from the cache, the other headers set by the endpoint are.
+     */
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+        HttpHeaders.CONTENT_TYPE.toLowerCase(),
+        HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+        HttpHeaders.SET_COOKIE.toLowerCase(),
+        HttpHeaders.DATE.toLowerCase()
+    );
+
+    private final ResponseCacheService responseCacheService;
+
+    public ResponseCacheFilter(ResponseCacheService responseCacheService) {
+        this.responseCacheService = responseCacheService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return (
+            !HttpMethod.GET.matches(request.getMethod()) || request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || route(request) == null
+        );
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        CachedRoute route = route(request);
+        String key = key(request);
+        Optional<ResponseCacheService.CachedResponse> cached = responseCacheService.get(key);
+        if (cached.isPresent()) {
+            write(request, response, cached.get());
+            return;
+        }
+        long[] generations = responseCacheService.generations(route.entityTypes);
+        // Set before the endpoint writes the response, so that the cached and the uncached responses vary alike
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        Set<String> headersBefore = new HashSet<>(response.getHeaderNames());
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (isCacheable(wrapper)) {
+                Map<String, List<String>> headers = new LinkedHashMap<>();
+                for (String name : wrapper.getHeaderNames()) {
+                    if (!headersBefore.contains(name) && !UNCACHED_HEADERS.contains(name.toLowerCase())) {
+                        headers.put(name, List.copyOf(wrapper.getHeaders(name)));
+                    }
+                }
+                responseCacheService.put(
+                    key,
+                    route.entityTypes,
+                    generations,
+                    wrapper.getContentType(),
+                    headers,
+                    wrapper.getContentAsByteArray()
+                );
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void write(HttpServletRequest request, HttpServletResponse response, ResponseCacheService.CachedResponse cached)
+        throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cached.getContentType());
+        cached.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = cached.getBody();
+        if (cached.getGzippedBody() != null && acceptsGzip(request)) {
+            body = cached.getGzippedBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static boolean isCacheable(ContentCachingResponseWrapper response) {
+        return (
+            response.getStatus() == HttpStatus.OK.value() &&
+            response.getContentType() != null &&
+            MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(response.getContentType())) &&
+            !response.containsHeader(HttpHeaders.SET_COOKIE) &&
+            !response.containsHeader(HttpHeaders.CONTENT_ENCODING)
+        );
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static CachedRoute route(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return ROUTES.stream().filter(route -> route.path.matcher(path).matches()).findFirst().orElse(null);
+    }
+
+    /**
+     * The key of a response: the path, the sorted parameters, the {@code Accept} header and the sorted authorities.
+     */
+    private static String key(HttpServletRequest request) {
+        StringJoiner key = new StringJoiner("|");
+        key.add(request.getRequestURI());
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        key.add(
+            parameters
+                .entrySet()
+                .stream()
+                .map(parameter -> parameter.getKey() + "=" + Arrays.toString(parameter.getValue()))
+                .collect(Collectors.joining("&"))
+        );
+        key.add(String.valueOf(request.getHeader(HttpHeaders.ACCEPT)));
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Collection<? extends GrantedAuthority> authorities = authentication == null ? List.of() : authentication.getAuthorities();
+        key.add(authorities.stream().map(GrantedAuthority::getAuthority).sorted().collect(Collectors.joining(",")));
+        return key.toString();
+    }
+
+    private static final class CachedRoute {
+
+        private final Pattern path;
+
+        private final List<Class<?>> entityTypes;
+
+        /**
+         * @param path the regular expression of the path.
+         * @param entityTypes the entity types the response is built from, whose changes invalidate it.
+         */
+        CachedRoute(String path, Class<?>... entityTypes) {
+            this.path = Pattern.compile(path);
+            this.entityTypes = List.of(entityTypes);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.com.poc.domain.User;
 import org.com.poc.repository.UserRepository;
 import org.com.poc.security.SecurityUtils;
+import org.com.poc.security.UserExistenceFilter;
 import org.com.poc.service.MailService;
 import org.com.poc.service.UserService;
 import org.com.poc.service.dto.AdminUserDTO;
@@ -37,12 +38,20 @@ public class AccountResource {
 
     private final UserRepository userRepository;
 
+    private final UserExistenceFilter userExistenceFilter;
+
     private final UserService userService;
 
     private final MailService mailService;
 
-    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService) {
+    public AccountResource(
+        UserRepository userRepository,
+        UserExistenceFilter userExistenceFilter,
+        UserService userService,
+        MailService mailService
+    ) {
         this.userRepository = userRepository;
+        this.userExistenceFilter = userExistenceFilter;
         this.userService = userService;
         this.mailService = mailService;
     }
@@ -117,7 +126,9 @@ public class AccountResource {
         String userLogin = SecurityUtils
             .getCurrentUserLogin()
             .orElseThrow(() -> new AccountResourceException("Current user login not found"));
-        Optional<User> existingUser = userRepository.findOneByEmailIgnoreCase(userDTO.getEmail());
+        Optional<User> existingUser = userExistenceFilter.mightContainEmail(userDTO.getEmail())
+            ? userRepository.findOneByEmailIgnoreCase(userDTO.getEmail())
+            : Optional.empty();
         if (existingUser.isPresent() && (!existingUser.get().getLogin().equalsIgnoreCase(userLogin))) {
             throw new EmailAlreadyUsedException();
         }
@@ -1,21 +1,47 @@
 package org.com.poc.web.rest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.com.poc.domain.Facility;
+import org.com.poc.domain.Room;
 import org.com.poc.repository.FacilityRepository;
+import org.com.poc.service.BulkInsertService;
+import org.com.poc.service.EntityImportService;
+import org.com.poc.service.EntityTagService;
+import org.com.poc.service.FacilityQueryService;
+import org.com.poc.service.MultiIdService;
+import org.com.poc.service.NdjsonExportService;
+import org.com.poc.service.ReplicaReads;
+import org.com.poc.service.criteria.FacilityCriteria;
+import org.com.poc.service.dto.BulkResultDTO;
+import org.com.poc.service.dto.FacilityDTO;
+import org.com.poc.service.event.EntityChangeEvent;
 import org.com.poc.web.rest.errors.BadRequestAlertException;
+import org.com.poc.web.rest.util.ConditionalRequestUtil;
+import org.com.poc.web.rest.util.SlicePaginationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -36,8 +62,42 @@ public class FacilityResource {
 
     private final FacilityRepository facilityRepository;
 
-    public FacilityResource(FacilityRepository facilityRepository) {
+    private final FacilityQueryService facilityQueryService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final BulkInsertService bulkInsertService;
+
+    private final NdjsonExportService ndjsonExportService;
+
+    private final EntityImportService entityImportService;
+
+    private final EntityTagService entityTagService;
+
+    private final MultiIdService multiIdService;
+
+    private final ReplicaReads replicaReads;
+
+    public FacilityResource(
+        FacilityRepository facilityRepository,
+        FacilityQueryService facilityQueryService,
+        ApplicationEventPublisher eventPublisher,
+        BulkInsertService bulkInsertService,
+        NdjsonExportService ndjsonExportService,
+        EntityImportService entityImportService,
+        EntityTagService entityTagService,
+        MultiIdService multiIdService,
+        ObjectProvider<ReplicaReads> replicaReads
+    ) {
         this.facilityRepository = facilityRepository;
+        this.facilityQueryService = facilityQueryService;
+        this.eventPublisher = eventPublisher;
+        this.bulkInsertService = bulkInsertService;
+        this.ndjsonExportService = ndjsonExportService;
+        this.entityImportService = entityImportService;
+        this.entityTagService = entityTagService;
+        this.multiIdService = multiIdService;
+        this.replicaReads = replicaReads.getIfAvailable(() -> ReplicaReads.NONE);
     }
 
     /**
@@ -54,12 +114,61 @@ public class FacilityResource {
             throw new BadRequestAlertException("A new facility cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Facility result = facilityRepository.save(facility);
+        eventPublisher.publishEvent(EntityChangeEvent.created(Facility.class, result.getId()));
         return ResponseEntity
             .created(new URI("/api/facilities/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /facilities/bulk} : Create many new facilities at once.
+     * <p>
+     * The facilities are inserted with JDBC batching, in chunks that are each committed in their own transaction.
+     * Invalid facilities are reported and skipped.
+     *
+     * @param facilities the facilities to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the per-chunk results.
+     */
+    @PostMapping("/facilities/bulk")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<BulkResultDTO> createFacilities(@RequestBody List<Facility> facilities) {
+        log.debug("REST request to bulk save {} Facilities", facilities.size());
+        BulkResultDTO result = bulkInsertService.createAll(Facility.class, facilities);
+        return ResponseEntity.ok().body(result);
+    }
+
+    /**
+     * {@code POST  /facilities/import} : Import facilities from a CSV (the {@code facility.csv} fake-data layout) or NDJSON body.
+     * <p>
+     * The body is parsed as it is received and inserted in chunks; the result of each chunk is streamed back as an
+     * NDJSON line, followed by a line with the totals.
+     *
+     * @param request the request whose body holds the facilities.
+     * @param response the response the progress is written to.
+     * @throws IOException if the body cannot be read or the progress cannot be written.
+     */
+    @PostMapping(
+        value = "/facilities/import",
+        consumes = { EntityImportService.TEXT_CSV_VALUE, NdjsonExportService.APPLICATION_NDJSON_VALUE },
+        produces = NdjsonExportService.APPLICATION_NDJSON_VALUE
+    )
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void importFacilities(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("REST request to import Facilities");
+        response.setContentType(NdjsonExportService.APPLICATION_NDJSON_VALUE);
+        try {
+            entityImportService.importEntities(
+                Facility.class,
+                MediaType.parseMediaType(request.getContentType()),
+                request.getInputStream(),
+                response.getOutputStream()
+            );
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "importinvalid");
+        }
+    }
+
     /**
      * {@code PUT  /facilities/:id} : Updates an existing facility.
      *
@@ -67,6 +176,8 @@ public class FacilityResource {
      * @param facility the facility to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated facility,
      * or with status {@code 400 (Bad Request)} if the facility is not valid,
+     * or with status {@code 404 (Not Found)} if the facility is not found,
+     * or with status {@code 409 (Conflict)} if the facility has been changed since its {@code version} was read,
      * or with status {@code 500 (Internal Server Error)} if the facility couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -83,15 +194,13 @@ public class FacilityResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!facilityRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Optional<Facility> result = facilityRepository.updateIfCurrent(facility);
+        result.ifPresent(updated -> eventPublisher.publishEvent(EntityChangeEvent.updated(Facility.class, updated.getId())));
 
-        Facility result = facilityRepository.save(facility);
-        return ResponseEntity
-            .ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, facility.getId().toString()))
-            .body(result);
+        return ResponseUtil.wrapOrNotFound(
+            result,
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, facility.getId().toString())
+        );
     }
 
     /**
@@ -102,6 +211,7 @@ public class FacilityResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated facility,
      * or with status {@code 400 (Bad Request)} if the facility is not valid,
      * or with status {@code 404 (Not Found)} if the facility is not found,
+     * or with status {@code 409 (Conflict)} if the facility has been changed since its {@code version} was read,
      * or with status {@code 500 (Internal Server Error)} if the facility couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -118,20 +228,20 @@ public class FacilityResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!facilityRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
         Optional<Facility> result = facilityRepository
             .findById(facility.getId())
             .map(existingFacility -> {
+                if (facility.getVersion() != null && !facility.getVersion().equals(existingFacility.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Facility.class, id);
+                }
                 if (facility.getFacilityName() != null) {
                     existingFacility.setFacilityName(facility.getFacilityName());
                 }
 
                 return existingFacility;
             })
-            .map(facilityRepository::save);
+            .map(facilityRepository::saveAndFlush);
+        result.ifPresent(updated -> eventPublisher.publishEvent(EntityChangeEvent.updated(Facility.class, updated.getId())));
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -141,26 +251,148 @@ public class FacilityResource {
 
     /**
      * {@code GET  /facilities} : get all the facilities.
+     * <p>
+     * The list is tagged with the generations of the facilities and rooms, so a client sending back the {@code ETag}
+     * gets a {@code 304 (Not Modified)} while none of them has changed.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of facilities in body.
+     * @param criteria the criteria which the requested entities should match.
+     * @param request the request, checked for an {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of facilities in body,
+     * or with status {@code 304 (Not Modified)} if the list has not changed.
      */
     @GetMapping("/facilities")
-    public List<Facility> getAllFacilities() {
-        log.debug("REST request to get all Facilities");
-        return facilityRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Facility>> getAllFacilities(FacilityCriteria criteria, HttpServletRequest request) {
+        log.debug("REST request to get Facilities by criteria: {}", criteria);
+        String eTag = entityTagService.getListTag(Facility.class, Room.class);
+        Optional<ResponseEntity<List<Facility>>> notModified = ConditionalRequestUtil.notModified(request, eTag);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+        // The tag is made of what the primary committed, so the list is read from the primary
+        return replicaReads.onPrimary(() -> {
+            List<Facility> entityList = facilityQueryService.findByCriteria(criteria);
+            return ResponseEntity.ok().eTag(eTag).body(entityList);
+        });
+    }
+
+    /**
+     * {@code GET  /facilities?page=:page} : get a page of the facilities.
+     * <p>
+     * The page is read as a {@link Slice} of DTO projections, in a single query. Without filter, {@code X-Total-Count}
+     * is the approximate count maintained by {@link org.com.poc.service.ApproximateCountService}, so no {@code COUNT(*)}
+     * runs on each request; filtered pages are counted with the criteria. The first unfiltered pages are served from
+     * the {@link org.com.poc.service.QueryCacheService}.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param request the request, checked for an {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of facilities in body,
+     * or with status {@code 304 (Not Modified)} if the list has not changed.
+     */
+    @GetMapping(value = "/facilities", params = "page")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<FacilityDTO>> getFacilitiesPage(
+        FacilityCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        HttpServletRequest request
+    ) {
+        log.debug("REST request to get a page of Facilities by criteria: {}", criteria);
+        String eTag = entityTagService.getListTag(Facility.class, Room.class);
+        Optional<ResponseEntity<List<FacilityDTO>>> notModified = ConditionalRequestUtil.notModified(request, eTag);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+        // The tag is made of what the primary committed, so the list is read from the primary
+        return replicaReads.onPrimary(() -> {
+            Slice<FacilityDTO> slice = facilityQueryService.findByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSlicePaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                facilityQueryService.approximateCountByCriteria(criteria)
+            );
+            headers.setETag(eTag);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        });
+    }
+
+    /**
+     * {@code GET  /facilities/count} : count all the facilities.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/facilities/count")
+    @Transactional(readOnly = true)
+    public ResponseEntity<Long> countFacilities(FacilityCriteria criteria) {
+        log.debug("REST request to count Facilities by criteria: {}", criteria);
+        return ResponseEntity.ok().body(facilityQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code GET  /facilities/export} : export all the facilities as newline-delimited JSON.
+     * <p>
+     * The facilities are streamed from the database and written as they are read, so memory usage does not depend on
+     * the number of facilities.
+     *
+     * @param response the response the facilities are written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping(value = "/facilities/export", produces = NdjsonExportService.APPLICATION_NDJSON_VALUE)
+    @Transactional(readOnly = true)
+    public void exportFacilities(HttpServletResponse response) throws IOException {
+        log.debug("REST request to export all Facilities");
+        response.setContentType(NdjsonExportService.APPLICATION_NDJSON_VALUE);
+        ndjsonExportService.export(facilityRepository::streamAllBy, response.getOutputStream());
     }
 
     /**
      * {@code GET  /facilities/:id} : get the "id" facility.
+     * <p>
+     * The facility is tagged with its version and the one of its room; when the client sends back a tag that is still
+     * current, the facility is not read.
      *
      * @param id the id of the facility to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the facility, or with status {@code 404 (Not Found)}.
+     * @param request the request, checked for an {@code If-None-Match} or an {@code If-Modified-Since} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the facility,
+     * with status {@code 304 (Not Modified)} if the facility has not changed, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/facilities/{id}")
-    public ResponseEntity<Facility> getFacility(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Facility> getFacility(@PathVariable Long id, HttpServletRequest request) {
         log.debug("REST request to get Facility : {}", id);
+        Optional<ResponseEntity<Facility>> notModified = ConditionalRequestUtil.notModified(
+            request,
+            () -> entityTagService.getEntityTag(Facility.class, id),
+            () -> entityTagService.getLastModified(Facility.class, id)
+        );
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
         Optional<Facility> facility = facilityRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(facility);
+        HttpHeaders headers = new HttpHeaders();
+        facility.map(entityTagService::getEntityTag).ifPresent(headers::setETag);
+        facility.flatMap(entityTagService::getLastModified).ifPresent(headers::setLastModified);
+        return ResponseUtil.wrapOrNotFound(facility, headers);
+    }
+
+    /**
+     * {@code GET  /facilities?ids=:ids} : get the facilities with the given ids.
+     * <p>
+     * The facilities already in the second-level cache are not read again, the others are read with a single query.
+     *
+     * @param ids the ids of the facilities to retrieve, at most {@link MultiIdService#MAX_IDS}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the facilities found in body, in the order of the ids,
+     * or with status {@code 400 (Bad Request)} if there are too many ids.
+     */
+    @GetMapping(value = "/facilities", params = { "ids", "!page" })
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Facility>> getFacilitiesByIds(@RequestParam("ids") List<Long> ids) {
+        log.debug("REST request to get Facilities : {}", ids);
+        if (ids.size() > MultiIdService.MAX_IDS) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "toomanyids");
+        }
+        return ResponseEntity.ok().body(multiIdService.findAllById(Facility.class, ids));
     }
 
     /**
@@ -173,9 +405,42 @@ public class FacilityResource {
     public ResponseEntity<Void> deleteFacility(@PathVariable Long id) {
         log.debug("REST request to delete Facility : {}", id);
         facilityRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangeEvent.deleted(Facility.class, id));
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code DELETE  /facilities?ids=:ids} : delete the facilities with the given ids.
+     * <p>
+     * The facilities are deleted with a single statement, and only their entries are evicted from the second-level cache.
+     *
+     * @param ids the ids of the facilities to delete, at most {@link MultiIdService#MAX_IDS}; missing ids are ignored.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 400 (Bad Request)} if there are too many ids.
+     */
+    @DeleteMapping(value = "/facilities", params = "ids")
+    public ResponseEntity<Void> deleteFacilities(@RequestParam("ids") List<Long> ids) {
+        log.debug("REST request to delete Facilities : {}", ids);
+        if (ids.size() > MultiIdService.MAX_IDS) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "toomanyids");
+        }
+        List<Long> deletedIds = multiIdService.deleteAllById(Facility.class, ids);
+        if (!deletedIds.isEmpty()) {
+            eventPublisher.publishEvent(new EntityChangeEvent(Facility.class, EntityChangeEvent.ChangeType.DELETED, deletedIds));
+        }
+        return ResponseEntity
+            .noContent()
+            .headers(
+                HeaderUtil.createEntityDeletionAlert(
+                    applicationName,
+                    true,
+                    ENTITY_NAME,
+                    deletedIds.stream().map(String::valueOf).collect(Collectors.joining(","))
+                )
+            )
+            .build();
+    }
 }
@@ -1,28 +1,52 @@
 package org.com.poc.web.rest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.com.poc.domain.Resident;
 import org.com.poc.repository.ResidentRepository;
+import org.com.poc.service.BulkInsertService;
+import org.com.poc.service.EntityImportService;
+import org.com.poc.service.EntityTagService;
+import org.com.poc.service.MultiIdService;
+import org.com.poc.service.NdjsonExportService;
+import org.com.poc.service.ReplicaReads;
+import org.com.poc.service.ResidentDetailsService;
+import org.com.poc.service.ResidentQueryService;
+import org.com.poc.service.criteria.ResidentCriteria;
+import org.com.poc.service.dto.BulkResultDTO;
+import org.com.poc.service.dto.ResidentDTO;
+import org.com.poc.service.dto.ResidentDetailsDTO;
+import org.com.poc.service.event.EntityChangeEvent;
 import org.com.poc.web.rest.errors.BadRequestAlertException;
+import org.com.poc.web.rest.util.ConditionalRequestUtil;
+import org.com.poc.web.rest.util.KeysetPaginationUtil;
+import org.com.poc.web.rest.util.SlicePaginationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -42,8 +66,46 @@ public class ResidentResource {
 
     private final ResidentRepository residentRepository;
 
-    public ResidentResource(ResidentRepository residentRepository) {
+    private final ResidentQueryService residentQueryService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final BulkInsertService bulkInsertService;
+
+    private final NdjsonExportService ndjsonExportService;
+
+    private final EntityImportService entityImportService;
+
+    private final ResidentDetailsService residentDetailsService;
+
+    private final EntityTagService entityTagService;
+
+    private final MultiIdService multiIdService;
+
+    private final ReplicaReads replicaReads;
+
+    public ResidentResource(
+        ResidentRepository residentRepository,
+        ResidentQueryService residentQueryService,
+        ApplicationEventPublisher eventPublisher,
+        BulkInsertService bulkInsertService,
+        NdjsonExportService ndjsonExportService,
+        EntityImportService entityImportService,
+        ResidentDetailsService residentDetailsService,
+        EntityTagService entityTagService,
+        MultiIdService multiIdService,
+        ObjectProvider<ReplicaReads> replicaReads
+    ) {
         this.residentRepository = residentRepository;
+        this.residentQueryService = residentQueryService;
+        this.eventPublisher = eventPublisher;
+        this.bulkInsertService = bulkInsertService;
+        this.ndjsonExportService = ndjsonExportService;
+        this.entityImportService = entityImportService;
+        this.residentDetailsService = residentDetailsService;
+        this.entityTagService = entityTagService;
+        this.multiIdService = multiIdService;
+        this.replicaReads = replicaReads.getIfAvailable(() -> ReplicaReads.NONE);
     }
 
     /**
@@ -60,12 +122,61 @@ public class ResidentResource {
             throw new BadRequestAlertException("A new resident cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Resident result = residentRepository.save(resident);
+        eventPublisher.publishEvent(EntityChangeEvent.created(Resident.class, result.getId()));
         return ResponseEntity
             .created(new URI("/api/residents/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /residents/bulk} : Create many new residents at once.
+     * <p>
+     * The residents are inserted with JDBC batching, in chunks that are each committed in their own transaction.
+     * Invalid residents are reported and skipped.
+     *
+     * @param residents the residents to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the per-chunk results.
+     */
+    @PostMapping("/residents/bulk")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<BulkResultDTO> createResidents(@RequestBody List<Resident> residents) {
+        log.debug("REST request to bulk save {} Residents", residents.size());
+        BulkResultDTO result = bulkInsertService.createAll(Resident.class, residents);
+        return ResponseEntity.ok().body(result);
+    }
+
+    /**
+     * {@code POST  /residents/import} : Import residents from a CSV (the {@code resident.csv} fake-data layout) or NDJSON body.
+     * <p>
+     * The body is parsed as it is received and inserted in chunks; the result of each chunk is streamed back as an
+     * NDJSON line, followed by a line with the totals.
+     *
+     * @param request the request whose body holds the residents.
+     * @param response the response the progress is written to.
+     * @throws IOException if the body cannot be read or the progress cannot be written.
+     */
+    @PostMapping(
+        value = "/residents/import",
+        consumes = { EntityImportService.TEXT_CSV_VALUE, NdjsonExportService.APPLICATION_NDJSON_VALUE },
+        produces = NdjsonExportService.APPLICATION_NDJSON_VALUE
+    )
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void importResidents(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("REST request to import Residents");
+        response.setContentType(NdjsonExportService.APPLICATION_NDJSON_VALUE);
+        try {
+            entityImportService.importEntities(
+                Resident.class,
+                MediaType.parseMediaType(request.getContentType()),
+                request.getInputStream(),
+                response.getOutputStream()
+            );
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "importinvalid");
+        }
+    }
+
     /**
      * {@code PUT  /residents/:id} : Updates an existing resident.
      *
@@ -73,6 +184,8 @@ public class ResidentResource {
      * @param resident the resident to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated resident,
      * or with status {@code 400 (Bad Request)} if the resident is not valid,
+     * or with status {@code 404 (Not Found)} if the resident is not found,
+     * or with status {@code 409 (Conflict)} if the resident has been changed since its {@code version} was read,
      * or with status {@code 500 (Internal Server Error)} if the resident couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -89,15 +202,13 @@ public class ResidentResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!residentRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Optional<Resident> result = residentRepository.updateIfCurrent(resident);
+        result.ifPresent(updated -> eventPublisher.publishEvent(EntityChangeEvent.updated(Resident.class, updated.getId())));
 
-        Resident result = residentRepository.save(resident);
-        return ResponseEntity
-            .ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, resident.getId().toString()))
-            .body(result);
+        return ResponseUtil.wrapOrNotFound(
+            result,
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, resident.getId().toString())
+        );
     }
 
     /**
@@ -108,6 +219,7 @@ public class ResidentResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated resident,
      * or with status {@code 400 (Bad Request)} if the resident is not valid,
      * or with status {@code 404 (Not Found)} if the resident is not found,
+     * or with status {@code 409 (Conflict)} if the resident has been changed since its {@code version} was read,
      * or with status {@code 500 (Internal Server Error)} if the resident couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -124,13 +236,12 @@ public class ResidentResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!residentRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
         Optional<Resident> result = residentRepository
             .findById(resident.getId())
             .map(existingResident -> {
+                if (resident.getVersion() != null && !resident.getVersion().equals(existingResident.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Resident.class, id);
+                }
                 if (resident.getResidentName() != null) {
                     existingResident.setResidentName(resident.getResidentName());
                 }
@@ -140,7 +251,8 @@ public class ResidentResource {
 
                 return existingResident;
             })
-            .map(residentRepository::save);
+            .map(residentRepository::saveAndFlush);
+        result.ifPresent(updated -> eventPublisher.publishEvent(EntityChangeEvent.updated(Resident.class, updated.getId())));
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -150,31 +262,192 @@ public class ResidentResource {
 
     /**
      * {@code GET  /residents} : get all the residents.
+     * <p>
+     * The page is read as a {@link Slice} of DTO projections, in a single query. Without filter, {@code X-Total-Count}
+     * is the approximate count maintained by {@link org.com.poc.service.ApproximateCountService}, so no {@code COUNT(*)}
+     * runs on each request; filtered pages are counted with the criteria.
+     * <p>
+     * The list is tagged with the generation of the residents, so a client sending back the {@code ETag} gets a
+     * {@code 304 (Not Modified)} while no resident has changed.
      *
+     * @param criteria the criteria which the requested entities should match.
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of residents in body.
+     * @param request the request, checked for an {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of residents in body,
+     * or with status {@code 304 (Not Modified)} if the list has not changed.
      */
     @GetMapping("/residents")
-    public ResponseEntity<List<Resident>> getAllResidents(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
-        log.debug("REST request to get a page of Residents");
-        Page<Resident> page = residentRepository.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<ResidentDTO>> getAllResidents(
+        ResidentCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        HttpServletRequest request
+    ) {
+        log.debug("REST request to get Residents by criteria: {}", criteria);
+        String eTag = entityTagService.getListTag(Resident.class);
+        Optional<ResponseEntity<List<ResidentDTO>>> notModified = ConditionalRequestUtil.notModified(request, eTag);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+        // The tag is made of what the primary committed, so the list is read from the primary
+        return replicaReads.onPrimary(() -> {
+            Slice<ResidentDTO> slice = residentQueryService.findByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSlicePaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                residentQueryService.approximateCountByCriteria(criteria)
+            );
+            headers.setETag(eTag);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        });
+    }
+
+    /**
+     * {@code GET  /residents?after=:cursor} : get the residents after the given cursor, ordered by id.
+     * <p>
+     * Keyset alternative to {@link #getAllResidents(ResidentCriteria, Pageable, HttpServletRequest)} for infinite scroll: an
+     * empty cursor starts from the beginning, and the cursor of the next page is returned in the {@code Link} header.
+     *
+     * @param after the opaque cursor returned with the previous page.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information, only the size is used.
+     * @param request the request, checked for an {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of residents in body,
+     * with status {@code 304 (Not Modified)} if the list has not changed,
+     * or with status {@code 400 (Bad Request)} if the cursor is invalid.
+     */
+    @GetMapping(value = "/residents", params = KeysetPaginationUtil.CURSOR_PARAM)
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<ResidentDTO>> getAllResidentsAfter(
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAM, required = false) String after,
+        ResidentCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        HttpServletRequest request
+    ) {
+        log.debug("REST request to get a keyset page of Residents after : {}", after);
+        Long lastId;
+        try {
+            lastId = KeysetPaginationUtil.decodeCursor(after).orElse(Long.MIN_VALUE);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        String eTag = entityTagService.getListTag(Resident.class);
+        Optional<ResponseEntity<List<ResidentDTO>>> notModified = ConditionalRequestUtil.notModified(request, eTag);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+        // The tag is made of what the primary committed, so the list is read from the primary
+        return replicaReads.onPrimary(() -> {
+            Slice<ResidentDTO> slice = residentQueryService.findByCriteriaAfter(
+                criteria,
+                lastId,
+                KeysetPaginationUtil.keysetPageable(pageable)
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                ResidentDTO::getId
+            );
+            headers.setETag(eTag);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        });
+    }
+
+    /**
+     * {@code GET  /residents/count} : count all the residents.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/residents/count")
+    @Transactional(readOnly = true)
+    public ResponseEntity<Long> countResidents(ResidentCriteria criteria) {
+        log.debug("REST request to count Residents by criteria: {}", criteria);
+        return ResponseEntity.ok().body(residentQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code GET  /residents/export} : export all the residents as newline-delimited JSON.
+     * <p>
+     * The residents are streamed from the database and written as they are read, so memory usage does not depend on
+     * the number of residents.
+     *
+     * @param response the response the residents are written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping(value = "/residents/export", produces = NdjsonExportService.APPLICATION_NDJSON_VALUE)
+    @Transactional(readOnly = true)
+    public void exportResidents(HttpServletResponse response) throws IOException {
+        log.debug("REST request to export all Residents");
+        response.setContentType(NdjsonExportService.APPLICATION_NDJSON_VALUE);
+        ndjsonExportService.export(residentRepository::streamAllBy, response.getOutputStream());
     }
 
     /**
      * {@code GET  /residents/:id} : get the "id" resident.
+     * <p>
+     * The resident is tagged with its version; when the client sends back a tag that is still current, the resident
+     * is not read.
      *
      * @param id the id of the resident to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the resident, or with status {@code 404 (Not Found)}.
+     * @param request the request, checked for an {@code If-None-Match} or an {@code If-Modified-Since} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the resident,
+     * with status {@code 304 (Not Modified)} if the resident has not changed, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/residents/{id}")
-    public ResponseEntity<Resident> getResident(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Resident> getResident(@PathVariable Long id, HttpServletRequest request) {
         log.debug("REST request to get Resident : {}", id);
+        Optional<ResponseEntity<Resident>> notModified = ConditionalRequestUtil.notModified(
+            request,
+            () -> entityTagService.getEntityTag(Resident.class, id),
+            () -> entityTagService.getLastModified(Resident.class, id)
+        );
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
         Optional<Resident> resident = residentRepository.findById(id);
+        HttpHeaders headers = new HttpHeaders();
+        resident.map(entityTagService::getEntityTag).ifPresent(headers::setETag);
+        resident.flatMap(entityTagService::getLastModified).ifPresent(headers::setLastModified);
+        return ResponseUtil.wrapOrNotFound(resident, headers);
+    }
+
+    /**
+     * {@code GET  /residents/:id/full} : get the "id" resident with its rooms and their facilities.
+     * <p>
+     * The tree is read with three SQL statements, whatever the number of rooms and facilities.
+     *
+     * @param id the id of the resident to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the resident tree, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/residents/{id}/full")
+    @Transactional(readOnly = true)
+    public ResponseEntity<ResidentDetailsDTO> getResidentDetails(@PathVariable Long id) {
+        log.debug("REST request to get Resident with its rooms and facilities : {}", id);
+        Optional<ResidentDetailsDTO> resident = residentDetailsService.findResidentDetails(id);
         return ResponseUtil.wrapOrNotFound(resident);
     }
 
+    /**
+     * {@code GET  /residents?ids=:ids} : get the residents with the given ids.
+     * <p>
+     * The residents already in the second-level cache are not read again, the others are read with a single query.
+     *
+     * @param ids the ids of the residents to retrieve, at most {@link MultiIdService#MAX_IDS}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the residents found in body, in the order of the ids,
+     * or with status {@code 400 (Bad Request)} if there are too many ids.
+     */
+    @GetMapping(value = "/residents", params = { "ids", "!after" })
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Resident>> getResidentsByIds(@RequestParam("ids") List<Long> ids) {
+        log.debug("REST request to get Residents : {}", ids);
+        if (ids.size() > MultiIdService.MAX_IDS) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "toomanyids");
+        }
+        return ResponseEntity.ok().body(multiIdService.findAllById(Resident.class, ids));
+    }
+
     /**
      * {@code DELETE  /residents/:id} : delete the "id" resident.
      *
@@ -185,9 +458,43 @@ public class ResidentResource {
     public ResponseEntity<Void> deleteResident(@PathVariable Long id) {
         log.debug("REST request to delete Resident : {}", id);
         residentRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangeEvent.deleted(Resident.class, id));
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code DELETE  /residents?ids=:ids} : delete the residents with the given ids.
+     * <p>
+     * The residents are deleted with a single statement, and only their entries are evicted from the second-level cache.
+     *
+     * @param ids the ids of the residents to delete, at most {@link MultiIdService#MAX_IDS}; missing ids are ignored.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 400 (Bad Request)} if there are too many ids,
+     * or with status {@code 409 (Conflict)} if a resident is still referenced by a room.
+     */
+    @DeleteMapping(value = "/residents", params = "ids")
+    public ResponseEntity<Void> deleteResidents(@RequestParam("ids") List<Long> ids) {
+        log.debug("REST request to delete Residents : {}", ids);
+        if (ids.size() > MultiIdService.MAX_IDS) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "toomanyids");
+        }
+        List<Long> deletedIds = multiIdService.deleteAllById(Resident.class, ids);
+        if (!deletedIds.isEmpty()) {
+            eventPublisher.publishEvent(new EntityChangeEvent(Resident.class, EntityChangeEvent.ChangeType.DELETED, deletedIds));
+        }
+        return ResponseEntity
+            .noContent()
+            .headers(
+                HeaderUtil.createEntityDeletionAlert(
+                    applicationName,
+                    true,
+                    ENTITY_NAME,
+                    deletedIds.stream().map(String::valueOf).collect(Collectors.joining(","))
+                )
+            )
+            .build();
+    }
 }
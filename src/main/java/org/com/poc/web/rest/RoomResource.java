@@ -1,23 +1,54 @@
 package org.com.poc.web.rest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import org.com.poc.domain.Facility;
+import org.com.poc.domain.Resident;
 import org.com.poc.domain.Room;
 import org.com.poc.repository.RoomRepository;
+import org.com.poc.service.BulkInsertService;
+import org.com.poc.service.EntityImportService;
+import org.com.poc.service.EntityLoadService;
+import org.com.poc.service.EntityTagService;
+import org.com.poc.service.ListProjectionService;
+import org.com.poc.service.MultiIdService;
+import org.com.poc.service.NdjsonExportService;
+import org.com.poc.service.ReplicaReads;
+import org.com.poc.service.RoomQueryService;
+import org.com.poc.service.RoomSearchService;
+import org.com.poc.service.criteria.RoomCriteria;
+import org.com.poc.service.dto.BulkResultDTO;
+import org.com.poc.service.dto.RoomSummaryDTO;
+import org.com.poc.service.event.EntityChangeEvent;
+import org.com.poc.service.search.SearchResult;
 import org.com.poc.web.rest.errors.BadRequestAlertException;
+import org.com.poc.web.rest.util.ConditionalRequestUtil;
+import org.com.poc.web.rest.util.KeysetPaginationUtil;
+import org.com.poc.web.rest.util.SlicePaginationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -42,8 +73,54 @@ public class RoomResource {
 
     private final RoomRepository roomRepository;
 
-    public RoomResource(RoomRepository roomRepository) {
+    private final RoomQueryService roomQueryService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final BulkInsertService bulkInsertService;
+
+    private final NdjsonExportService ndjsonExportService;
+
+    private final EntityImportService entityImportService;
+
+    private final ListProjectionService listProjectionService;
+
+    private final RoomSearchService roomSearchService;
+
+    private final EntityTagService entityTagService;
+
+    private final MultiIdService multiIdService;
+
+    private final EntityLoadService entityLoadService;
+
+    private final ReplicaReads replicaReads;
+
+    public RoomResource(
+        RoomRepository roomRepository,
+        RoomQueryService roomQueryService,
+        ApplicationEventPublisher eventPublisher,
+        BulkInsertService bulkInsertService,
+        NdjsonExportService ndjsonExportService,
+        EntityImportService entityImportService,
+        ListProjectionService listProjectionService,
+        RoomSearchService roomSearchService,
+        EntityTagService entityTagService,
+        MultiIdService multiIdService,
+        EntityLoadService entityLoadService,
+        ObjectProvider<ReplicaReads> replicaReads
+    ) {
         this.roomRepository = roomRepository;
+        this.roomQueryService = roomQueryService;
+        this.eventPublisher = eventPublisher;
+        this.bulkInsertService = bulkInsertService;
+        this.ndjsonExportService = ndjsonExportService;
+        this.entityImportService = entityImportService;
+        this.listProjectionService = listProjectionService;
+        this.roomSearchService = roomSearchService;
+        this.entityTagService = entityTagService;
+        this.multiIdService = multiIdService;
+        this.entityLoadService = entityLoadService;
+        this.replicaReads = replicaReads.getIfAvailable(() -> ReplicaReads.NONE);
     }
 
     /**
@@ -60,12 +137,61 @@ public class RoomResource {
             throw new BadRequestAlertException("A new room cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Room result = roomRepository.save(room);
+        eventPublisher.publishEvent(EntityChangeEvent.created(Room.class, result.getId()));
         return ResponseEntity
             .created(new URI("/api/rooms/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /rooms/bulk} : Create many new rooms at once.
+     * <p>
+     * The rooms are inserted with JDBC batching, in chunks that are each committed in their own transaction.
+     * Invalid rooms are reported and skipped.
+     *
+     * @param rooms the rooms to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the per-chunk results.
+     */
+    @PostMapping("/rooms/bulk")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<BulkResultDTO> createRooms(@RequestBody List<Room> rooms) {
+        log.debug("REST request to bulk save {} Rooms", rooms.size());
+        BulkResultDTO result = bulkInsertService.createAll(Room.class, rooms);
+        return ResponseEntity.ok().body(result);
+    }
+
+    /**
+     * {@code POST  /rooms/import} : Import rooms from a CSV (the {@code room.csv} fake-data layout) or NDJSON body.
+     * <p>
+     * The body is parsed as it is received and inserted in chunks; the result of each chunk is streamed back as an
+     * NDJSON line, followed by a line with the totals.
+     *
+     * @param request the request whose body holds the rooms.
+     * @param response the response the progress is written to.
+     * @throws IOException if the body cannot be read or the progress cannot be written.
+     */
+    @PostMapping(
+        value = "/rooms/import",
+        consumes = { EntityImportService.TEXT_CSV_VALUE, NdjsonExportService.APPLICATION_NDJSON_VALUE },
+        produces = NdjsonExportService.APPLICATION_NDJSON_VALUE
+    )
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void importRooms(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("REST request to import Rooms");
+        response.setContentType(NdjsonExportService.APPLICATION_NDJSON_VALUE);
+        try {
+            entityImportService.importEntities(
+                Room.class,
+                MediaType.parseMediaType(request.getContentType()),
+                request.getInputStream(),
+                response.getOutputStream()
+            );
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "importinvalid");
+        }
+    }
+
     /**
      * {@code PUT  /rooms/:id} : Updates an existing room.
      *
@@ -73,6 +199,8 @@ public class RoomResource {
      * @param room the room to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated room,
      * or with status {@code 400 (Bad Request)} if the room is not valid,
+     * or with status {@code 404 (Not Found)} if the room is not found,
+     * or with status {@code 409 (Conflict)} if the room has been changed since its {@code version} was read,
      * or with status {@code 500 (Internal Server Error)} if the room couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -87,15 +215,13 @@ public class RoomResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!roomRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Optional<Room> result = roomRepository.updateIfCurrent(room);
+        result.ifPresent(updated -> eventPublisher.publishEvent(EntityChangeEvent.updated(Room.class, updated.getId())));
 
-        Room result = roomRepository.save(room);
-        return ResponseEntity
-            .ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, room.getId().toString()))
-            .body(result);
+        return ResponseUtil.wrapOrNotFound(
+            result,
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, room.getId().toString())
+        );
     }
 
     /**
@@ -106,6 +232,7 @@ public class RoomResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated room,
      * or with status {@code 400 (Bad Request)} if the room is not valid,
      * or with status {@code 404 (Not Found)} if the room is not found,
+     * or with status {@code 409 (Conflict)} if the room has been changed since its {@code version} was read,
      * or with status {@code 500 (Internal Server Error)} if the room couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -122,13 +249,12 @@ public class RoomResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!roomRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
         Optional<Room> result = roomRepository
             .findById(room.getId())
             .map(existingRoom -> {
+                if (room.getVersion() != null && !room.getVersion().equals(existingRoom.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Room.class, id);
+                }
                 if (room.getRoomTitle() != null) {
                     existingRoom.setRoomTitle(room.getRoomTitle());
                 }
@@ -141,7 +267,8 @@ public class RoomResource {
 
                 return existingRoom;
             })
-            .map(roomRepository::save);
+            .map(roomRepository::saveAndFlush);
+        result.ifPresent(updated -> eventPublisher.publishEvent(EntityChangeEvent.updated(Room.class, updated.getId())));
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -150,30 +277,203 @@ public class RoomResource {
     }
 
     /**
-     * {@code GET  /rooms} : get all the rooms.
+     * {@code GET  /rooms} : get all the rooms, as summaries.
+     * <p>
+     * The page is read as a {@link Slice} of {@link RoomSummaryDTO}, in a single query that never reads the full
+     * description. Without filter, {@code X-Total-Count} is the approximate count maintained by
+     * {@link org.com.poc.service.ApproximateCountService}, so no {@code COUNT(*)} runs on each request; filtered pages
+     * are counted with the criteria. The first unfiltered pages are served from the
+     * {@link org.com.poc.service.QueryCacheService}. The full room is returned by {@link #getRoom(Long, HttpServletRequest)}.
+     * <p>
+     * The list is tagged with the generations of the rooms, residents and facilities, so a client sending back the
+     * {@code ETag} gets a {@code 304 (Not Modified)} while none of them has changed.
      *
+     * @param criteria the criteria which the requested entities should match.
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of rooms in body.
+     * @param request the request, checked for an {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of room summaries in body,
+     * or with status {@code 304 (Not Modified)} if the list has not changed.
      */
     @GetMapping("/rooms")
-    public ResponseEntity<List<Room>> getAllRooms(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
-        log.debug("REST request to get a page of Rooms");
-        Page<Room> page = roomRepository.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<RoomSummaryDTO>> getAllRooms(
+        RoomCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        HttpServletRequest request
+    ) {
+        log.debug("REST request to get Rooms by criteria: {}", criteria);
+        String eTag = entityTagService.getListTag(Room.class, Resident.class, Facility.class);
+        Optional<ResponseEntity<List<RoomSummaryDTO>>> notModified = ConditionalRequestUtil.notModified(request, eTag);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+        // The tag is made of what the primary committed, so the list is read from the primary
+        return replicaReads.onPrimary(() -> {
+            Slice<RoomSummaryDTO> slice = roomQueryService.findByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSlicePaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                roomQueryService.approximateCountByCriteria(criteria)
+            );
+            headers.setETag(eTag);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        });
+    }
+
+    /**
+     * {@code GET  /rooms?after=:cursor} : get the summaries of the rooms after the given cursor, ordered by id.
+     * <p>
+     * Keyset alternative to {@link #getAllRooms(RoomCriteria, Pageable, HttpServletRequest)} for infinite scroll: an
+     * empty cursor starts from the beginning, and the cursor of the next page is returned in the {@code Link} header.
+     *
+     * @param after the opaque cursor returned with the previous page.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information, only the size is used.
+     * @param request the request, checked for an {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of room summaries in body,
+     * with status {@code 304 (Not Modified)} if the list has not changed,
+     * or with status {@code 400 (Bad Request)} if the cursor is invalid.
+     */
+    @GetMapping(value = "/rooms", params = KeysetPaginationUtil.CURSOR_PARAM)
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<RoomSummaryDTO>> getAllRoomsAfter(
+        @RequestParam(value = KeysetPaginationUtil.CURSOR_PARAM, required = false) String after,
+        RoomCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        HttpServletRequest request
+    ) {
+        log.debug("REST request to get a keyset page of Rooms after : {}", after);
+        Long lastId;
+        try {
+            lastId = KeysetPaginationUtil.decodeCursor(after).orElse(Long.MIN_VALUE);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        String eTag = entityTagService.getListTag(Room.class, Resident.class, Facility.class);
+        Optional<ResponseEntity<List<RoomSummaryDTO>>> notModified = ConditionalRequestUtil.notModified(request, eTag);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+        // The tag is made of what the primary committed, so the list is read from the primary
+        return replicaReads.onPrimary(() -> {
+            Slice<RoomSummaryDTO> slice = roomQueryService.findByCriteriaAfter(
+                criteria,
+                lastId,
+                KeysetPaginationUtil.keysetPageable(pageable)
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                RoomSummaryDTO::getId
+            );
+            headers.setETag(eTag);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        });
+    }
+
+    /**
+     * {@code GET  /rooms/count} : count all the rooms.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/rooms/count")
+    @Transactional(readOnly = true)
+    public ResponseEntity<Long> countRooms(RoomCriteria criteria) {
+        log.debug("REST request to count Rooms by criteria: {}", criteria);
+        return ResponseEntity.ok().body(roomQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code SEARCH  /_search/rooms?q=:query} : search the rooms by the words of their title and description.
+     *
+     * @param query the words to look for.
+     * @param pageable the pagination information, hits are ranked by relevance.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of room summaries in body, best match first.
+     */
+    @GetMapping("/_search/rooms")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<RoomSummaryDTO>> searchRooms(
+        @RequestParam("q") String query,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to search for a page of Rooms for query {}", query);
+        SearchResult result = roomSearchService.search(query, pageable);
+        List<RoomSummaryDTO> rooms = listProjectionService.findRoomSummariesByIds(
+            LongStream.of(result.getIds()).boxed().collect(Collectors.toList())
+        );
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            new PageImpl<>(rooms, pageable, result.getTotalHits())
+        );
+        return ResponseEntity.ok().headers(headers).body(rooms);
+    }
+
+    /**
+     * {@code GET  /rooms/export} : export all the rooms as newline-delimited JSON.
+     * <p>
+     * The rooms are streamed from the database and written as they are read, so memory usage does not depend on
+     * the number of rooms.
+     *
+     * @param response the response the rooms are written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping(value = "/rooms/export", produces = NdjsonExportService.APPLICATION_NDJSON_VALUE)
+    @Transactional(readOnly = true)
+    public void exportRooms(HttpServletResponse response) throws IOException {
+        log.debug("REST request to export all Rooms");
+        response.setContentType(NdjsonExportService.APPLICATION_NDJSON_VALUE);
+        ndjsonExportService.export(roomRepository::streamAllBy, response.getOutputStream());
     }
 
     /**
      * {@code GET  /rooms/:id} : get the "id" room.
+     * <p>
+     * The room is tagged with its version and the one of its resident; when the client sends back a tag that is
+     * still current, the room is not read. Concurrent requests for a room missing from the second-level cache read it
+     * from the database once.
      *
      * @param id the id of the room to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the room, or with status {@code 404 (Not Found)}.
+     * @param request the request, checked for an {@code If-None-Match} or an {@code If-Modified-Since} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the room,
+     * with status {@code 304 (Not Modified)} if the room has not changed, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/rooms/{id}")
-    public ResponseEntity<Room> getRoom(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Room> getRoom(@PathVariable Long id, HttpServletRequest request) {
         log.debug("REST request to get Room : {}", id);
-        Optional<Room> room = roomRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(room);
+        Optional<ResponseEntity<Room>> notModified = ConditionalRequestUtil.notModified(
+            request,
+            () -> entityTagService.getEntityTag(Room.class, id),
+            () -> entityTagService.getLastModified(Room.class, id)
+        );
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+        Optional<Room> room = entityLoadService.findById(Room.class, id);
+        HttpHeaders headers = new HttpHeaders();
+        room.map(entityTagService::getEntityTag).ifPresent(headers::setETag);
+        room.flatMap(entityTagService::getLastModified).ifPresent(headers::setLastModified);
+        return ResponseUtil.wrapOrNotFound(room, headers);
+    }
+
+    /**
+     * {@code GET  /rooms?ids=:ids} : get the rooms with the given ids.
+     * <p>
+     * The rooms already in the second-level cache are not read again, the others are read with a single query.
+     *
+     * @param ids the ids of the rooms to retrieve, at most {@link MultiIdService#MAX_IDS}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the rooms found in body, in the order of the ids,
+     * or with status {@code 400 (Bad Request)} if there are too many ids.
+     */
+    @GetMapping(value = "/rooms", params = { "ids", "!after" })
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Room>> getRoomsByIds(@RequestParam("ids") List<Long> ids) {
+        log.debug("REST request to get Rooms : {}", ids);
+        if (ids.size() > MultiIdService.MAX_IDS) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "toomanyids");
+        }
+        return ResponseEntity.ok().body(multiIdService.findAllById(Room.class, ids));
     }
 
     /**
@@ -186,9 +486,43 @@ public class RoomResource {
     public ResponseEntity<Void> deleteRoom(@PathVariable Long id) {
         log.debug("REST request to delete Room : {}", id);
         roomRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangeEvent.deleted(Room.class, id));
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code DELETE  /rooms?ids=:ids} : delete the rooms with the given ids.
+     * <p>
+     * The rooms are deleted with a single statement, and only their entries are evicted from the second-level cache.
+     *
+     * @param ids the ids of the rooms to delete, at most {@link MultiIdService#MAX_IDS}; missing ids are ignored.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 400 (Bad Request)} if there are too many ids,
+     * or with status {@code 409 (Conflict)} if a room is still referenced by a facility.
+     */
+    @DeleteMapping(value = "/rooms", params = "ids")
+    public ResponseEntity<Void> deleteRooms(@RequestParam("ids") List<Long> ids) {
+        log.debug("REST request to delete Rooms : {}", ids);
+        if (ids.size() > MultiIdService.MAX_IDS) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "toomanyids");
+        }
+        List<Long> deletedIds = multiIdService.deleteAllById(Room.class, ids);
+        if (!deletedIds.isEmpty()) {
+            eventPublisher.publishEvent(new EntityChangeEvent(Room.class, EntityChangeEvent.ChangeType.DELETED, deletedIds));
+        }
+        return ResponseEntity
+            .noContent()
+            .headers(
+                HeaderUtil.createEntityDeletionAlert(
+                    applicationName,
+                    true,
+                    ENTITY_NAME,
+                    deletedIds.stream().map(String::valueOf).collect(Collectors.joining(","))
+                )
+            )
+            .build();
+    }
 }
@@ -0,0 +1,38 @@
+package org.com.poc.web.rest;
+
+import org.com.poc.service.RoomStatisticsService;
+import org.com.poc.service.dto.RoomStatisticsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the aggregate statistics of the entities.
+ */
+@RestController
+@RequestMapping("/api/stats")
+public class StatisticsResource {
+
+    private final Logger log = LoggerFactory.getLogger(StatisticsResource.class);
+
+    private final RoomStatisticsService roomStatisticsService;
+
+    public StatisticsResource(RoomStatisticsService roomStatisticsService) {
+        this.roomStatisticsService = roomStatisticsService;
+    }
+
+    /**
+     * {@code GET  /stats/rooms} : get the room statistics: rooms per type, and the distributions of rooms per resident and
+     * of facilities per room.
+     * <p>
+     * The statistics are kept in memory and served without querying the database.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the statistics in body.
+     */
+    @GetMapping("/rooms")
+    public ResponseEntity<RoomStatisticsDTO> getRoomStatistics() {
+        log.debug("REST request to get Room statistics");
+        return ResponseEntity.ok(roomStatisticsService.getStatistics());
+    }
+}
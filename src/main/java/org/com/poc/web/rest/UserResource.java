@@ -10,6 +10,7 @@ import org.com.poc.config.Constants;
 import org.com.poc.domain.User;
 import org.com.poc.repository.UserRepository;
 import org.com.poc.security.AuthoritiesConstants;
+import org.com.poc.security.UserExistenceFilter;
 import org.com.poc.service.MailService;
 import org.com.poc.service.UserService;
 import org.com.poc.service.dto.AdminUserDTO;
@@ -85,11 +86,19 @@ public class UserResource {
 
     private final UserRepository userRepository;
 
+    private final UserExistenceFilter userExistenceFilter;
+
     private final MailService mailService;
 
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    public UserResource(
+        UserService userService,
+        UserRepository userRepository,
+        UserExistenceFilter userExistenceFilter,
+        MailService mailService
+    ) {
         this.userService = userService;
         this.userRepository = userRepository;
+        this.userExistenceFilter = userExistenceFilter;
         this.mailService = mailService;
     }
 
@@ -113,9 +122,9 @@ public class UserResource {
         if (userDTO.getId() != null) {
             throw new BadRequestAlertException("A new user cannot already have an ID", "userManagement", "idexists");
             // Lowercase the user login before comparing with database
-        } else if (userRepository.findOneByLogin(userDTO.getLogin().toLowerCase()).isPresent()) {
+        } else if (loginUser(userDTO.getLogin().toLowerCase()).isPresent()) {
             throw new LoginAlreadyUsedException();
-        } else if (userRepository.findOneByEmailIgnoreCase(userDTO.getEmail()).isPresent()) {
+        } else if (emailUser(userDTO.getEmail()).isPresent()) {
             throw new EmailAlreadyUsedException();
         } else {
             User newUser = userService.createUser(userDTO);
@@ -139,11 +148,11 @@ public class UserResource {
     @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
     public ResponseEntity<AdminUserDTO> updateUser(@Valid @RequestBody AdminUserDTO userDTO) {
         log.debug("REST request to update User : {}", userDTO);
-        Optional<User> existingUser = userRepository.findOneByEmailIgnoreCase(userDTO.getEmail());
+        Optional<User> existingUser = emailUser(userDTO.getEmail());
         if (existingUser.isPresent() && (!existingUser.get().getId().equals(userDTO.getId()))) {
             throw new EmailAlreadyUsedException();
         }
-        existingUser = userRepository.findOneByLogin(userDTO.getLogin().toLowerCase());
+        existingUser = loginUser(userDTO.getLogin().toLowerCase());
         if (existingUser.isPresent() && (!existingUser.get().getId().equals(userDTO.getId()))) {
             throw new LoginAlreadyUsedException();
         }
@@ -204,4 +213,18 @@ public class UserResource {
         userService.deleteUser(login);
         return ResponseEntity.noContent().headers(HeaderUtil.createAlert(applicationName, "userManagement.deleted", login)).build();
     }
+
+    /**
+     * The user with a login, looked up only if the login might be used.
+     */
+    private Optional<User> loginUser(String login) {
+        return userExistenceFilter.mightContainLogin(login) ? userRepository.findOneByLogin(login) : Optional.empty();
+    }
+
+    /**
+     * The user with an email, looked up only if the email might be used.
+     */
+    private Optional<User> emailUser(String email) {
+        return userExistenceFilter.mightContainEmail(email) ? userRepository.findOneByEmailIgnoreCase(email) : Optional.empty();
+    }
 }
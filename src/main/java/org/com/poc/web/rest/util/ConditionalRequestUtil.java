@@ -0,0 +1,88 @@
+package org.com.poc.web.rest.util;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Utility class for handling conditional {@code GET} requests.
+ * <p>
+ * A client sending back the {@code ETag} of its copy in an {@code If-None-Match} header, or its {@code Last-Modified}
+ * date in an {@code If-Modified-Since} header, gets a {@code 304 (Not Modified)} without body when the resource has
+ * not changed, so that the resource is neither read nor serialized again. As required by RFC 7232, the
+ * {@code If-Modified-Since} header is ignored when the request has an {@code If-None-Match} header.
+ */
+public final class ConditionalRequestUtil {
+
+    private ConditionalRequestUtil() {}
+
+    /**
+     * Check whether the copy of the client is still current.
+     *
+     * @param request the request, whose {@code If-None-Match} header is checked.
+     * @param currentTag supplies the current tag of the resource, or empty if it does not exist; only called when the
+     * request is conditional.
+     * @param <X> the type of the response body.
+     * @return the {@code 304 (Not Modified)} response to return, or empty if the full response must be built.
+     */
+    public static <X> Optional<ResponseEntity<X>> notModified(HttpServletRequest request, Supplier<Optional<String>> currentTag) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null) {
+            return Optional.empty();
+        }
+        // Built without the response, so that the ETag header is only set on the returned entity
+        return currentTag
+            .get()
+            .filter(tag -> new ServletWebRequest(request).checkNotModified(tag))
+            .map(ConditionalRequestUtil::notModified);
+    }
+
+    /**
+     * Check whether the copy of the client is still current.
+     *
+     * @param request the request, whose {@code If-None-Match} header is checked.
+     * @param currentTag the current tag of the resource.
+     * @param <X> the type of the response body.
+     * @return the {@code 304 (Not Modified)} response to return, or empty if the full response must be built.
+     */
+    public static <X> Optional<ResponseEntity<X>> notModified(HttpServletRequest request, String currentTag) {
+        return notModified(request, () -> Optional.of(currentTag));
+    }
+
+    /**
+     * Check whether the copy of the client is still current.
+     *
+     * @param request the request, whose {@code If-None-Match} or else {@code If-Modified-Since} header is checked.
+     * @param currentTag supplies the current tag of the resource, or empty if it does not exist; only called when the
+     * request has an {@code If-None-Match} header.
+     * @param lastModified supplies the last modification date of the resource, or empty if it does not exist or has
+     * none; only called when the request only has an {@code If-Modified-Since} header.
+     * @param <X> the type of the response body.
+     * @return the {@code 304 (Not Modified)} response to return, or empty if the full response must be built.
+     */
+    public static <X> Optional<ResponseEntity<X>> notModified(
+        HttpServletRequest request,
+        Supplier<Optional<String>> currentTag,
+        Supplier<Optional<Instant>> lastModified
+    ) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) == null) {
+            return notModified(request, currentTag);
+        }
+        return lastModified
+            .get()
+            .filter(date -> new ServletWebRequest(request).checkNotModified(date.toEpochMilli()))
+            .map(ConditionalRequestUtil::notModified);
+    }
+
+    private static <X> ResponseEntity<X> notModified(String tag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+    }
+
+    private static <X> ResponseEntity<X> notModified(Instant lastModified) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).lastModified(lastModified).build();
+    }
+}
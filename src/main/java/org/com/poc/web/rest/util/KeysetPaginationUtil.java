@@ -0,0 +1,99 @@
+package org.com.poc.web.rest.util;
+
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (seek) pagination.
+ * <p>
+ * Instead of a page number, the client sends an opaque {@code after} cursor pointing at the last row it has seen,
+ * and the next page is read with {@code WHERE id > :cursor ORDER BY id}. The cost of a page is therefore independent
+ * of how deep the client has scrolled, and no {@code COUNT(*)} is needed.
+ * <p>
+ * The next cursor is returned in a {@code Link} header with {@code rel="next"}, which is omitted on the last page.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String CURSOR_PARAM = "after";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Encode the id of the last row of a page as an opaque cursor.
+     *
+     * @param id the id of the last row returned.
+     * @return the cursor to send back as {@code after}.
+     */
+    public static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor previously built with {@link #encodeCursor(Long)}.
+     *
+     * @param cursor the cursor sent by the client, an empty value meaning "from the beginning".
+     * @return the id to seek after, or empty for the first page.
+     * @throws IllegalArgumentException if the cursor is not a valid token.
+     */
+    public static Optional<Long> decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid pagination cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Build the {@link Pageable} used to read one keyset page: always the first page, ordered by id, of the
+     * size requested by the client. Any page number or sort sent by the client is ignored.
+     *
+     * @param pageable the pagination information sent by the client.
+     * @return the pageable to pass to the repository.
+     */
+    public static Pageable keysetPageable(Pageable pageable) {
+        return PageRequest.of(0, pageable.getPageSize(), Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    /**
+     * Generate the {@code Link} header pointing at the next keyset page.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param slice the slice that has just been read.
+     * @param idExtractor how to read the id of an element of the slice.
+     * @param <T> the type of the elements.
+     * @return the http headers, empty if there is no next page.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        Slice<T> slice,
+        Function<T, Long> idExtractor
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        List<T> content = slice.getContent();
+        if (slice.hasNext() && !content.isEmpty()) {
+            String next = uriBuilder
+                .replaceQueryParam(CURSOR_PARAM, encodeCursor(idExtractor.apply(content.get(content.size() - 1))))
+                .replaceQueryParam("size", slice.getSize())
+                .replaceQueryParam("page")
+                .replaceQueryParam("sort")
+                .toUriString();
+            headers.add(HttpHeaders.LINK, MessageFormat.format(HEADER_LINK_FORMAT, next, "next"));
+        }
+        return headers;
+    }
+}
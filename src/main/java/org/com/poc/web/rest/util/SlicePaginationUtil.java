@@ -0,0 +1,37 @@
+package org.com.poc.web.rest.util;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * Utility class for paginating with a {@link Slice} and an approximate total.
+ * <p>
+ * The headers are the same as the ones of {@link PaginationUtil} ({@code X-Total-Count} and {@code Link}), but the
+ * total comes from a cached count instead of a {@code SELECT COUNT(*)} run for every page. The total is corrected when
+ * the slice proves it wrong, so that the {@code next} link is present exactly when there is a next slice.
+ */
+public final class SlicePaginationUtil {
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Generate pagination headers for a Spring Data {@link Slice} object.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param slice the slice that has just been read.
+     * @param approximateTotal the approximate total number of elements.
+     * @param <T> the type of the elements.
+     * @return the http headers.
+     */
+    public static <T> HttpHeaders generateSlicePaginationHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice, long approximateTotal) {
+        long minimumTotal = slice.getPageable().isPaged()
+            ? slice.getPageable().getOffset() + slice.getNumberOfElements()
+            : slice.getNumberOfElements();
+        // on the last slice the exact total is known, otherwise there is at least one more element
+        long total = slice.hasNext() ? Math.max(approximateTotal, minimumTotal + 1) : minimumTotal;
+        return PaginationUtil.generatePaginationHttpHeaders(uriBuilder, new PageImpl<>(slice.getContent(), slice.getPageable(), total));
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Helpers shared by the REST controllers.
+ */
+package org.com.poc.web.rest.util;
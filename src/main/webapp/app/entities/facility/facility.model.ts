@@ -2,6 +2,7 @@ import { IRoom } from 'app/entities/room/room.model';
 
 export interface IFacility {
   id?: number;
+  version?: number | null;
   facilityName?: string;
   room?: IRoom | null;
 }
@@ -21,6 +21,7 @@ export class FacilityUpdateComponent implements OnInit {
 
   editForm = this.fb.group({
     id: [],
+    version: [],
     facilityName: [null, [Validators.required, Validators.minLength(2)]],
     room: [],
   });
@@ -80,6 +81,7 @@ export class FacilityUpdateComponent implements OnInit {
   protected updateForm(facility: IFacility): void {
     this.editForm.patchValue({
       id: facility.id,
+      version: facility.version,
       facilityName: facility.facilityName,
       room: facility.room,
     });
@@ -99,6 +101,7 @@ export class FacilityUpdateComponent implements OnInit {
     return {
       ...new Facility(),
       id: this.editForm.get(['id'])!.value,
+      version: this.editForm.get(['version'])!.value,
       facilityName: this.editForm.get(['facilityName'])!.value,
       room: this.editForm.get(['room'])!.value,
     };
@@ -2,6 +2,7 @@ import { IRoom } from 'app/entities/room/room.model';
 
 export interface IResident {
   id?: number;
+  version?: number | null;
   residentName?: string;
   residentAddress?: string;
   rooms?: IRoom[] | null;
@@ -17,6 +17,7 @@ export class ResidentUpdateComponent implements OnInit {
 
   editForm = this.fb.group({
     id: [],
+    version: [],
     residentName: [null, [Validators.required, Validators.minLength(3)]],
     residentAddress: [null, [Validators.required, Validators.minLength(2)]],
   });
@@ -65,6 +66,7 @@ export class ResidentUpdateComponent implements OnInit {
   protected updateForm(resident: IResident): void {
     this.editForm.patchValue({
       id: resident.id,
+      version: resident.version,
       residentName: resident.residentName,
       residentAddress: resident.residentAddress,
     });
@@ -74,6 +76,7 @@ export class ResidentUpdateComponent implements OnInit {
     return {
       ...new Resident(),
       id: this.editForm.get(['id'])!.value,
+      version: this.editForm.get(['version'])!.value,
       residentName: this.editForm.get(['residentName'])!.value,
       residentAddress: this.editForm.get(['residentAddress'])!.value,
     };
@@ -3,11 +3,14 @@ import { IResident } from 'app/entities/resident/resident.model';
 
 export interface IRoom {
   id?: number;
+  version?: number | null;
   roomTitle?: string;
   roomDescription?: string;
   roomType?: string;
   facilities?: IFacility[] | null;
   resident?: IResident | null;
+  descriptionPreview?: string | null;
+  facilityCount?: number | null;
 }
 
 export class Room implements IRoom {
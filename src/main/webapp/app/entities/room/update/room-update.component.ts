@@ -24,6 +24,7 @@ export class RoomUpdateComponent implements OnInit {
 
   editForm = this.fb.group({
     id: [],
+    version: [],
     roomTitle: [null, [Validators.required]],
     roomDescription: [null, [Validators.required]],
     roomType: [null, [Validators.required]],
@@ -102,6 +103,7 @@ export class RoomUpdateComponent implements OnInit {
   protected updateForm(room: IRoom): void {
     this.editForm.patchValue({
       id: room.id,
+      version: room.version,
       roomTitle: room.roomTitle,
       roomDescription: room.roomDescription,
       roomType: room.roomType,
@@ -127,6 +129,7 @@ export class RoomUpdateComponent implements OnInit {
     return {
       ...new Room(),
       id: this.editForm.get(['id'])!.value,
+      version: this.editForm.get(['version'])!.value,
       roomTitle: this.editForm.get(['roomTitle'])!.value,
       roomDescription: this.editForm.get(['roomDescription'])!.value,
       roomType: this.editForm.get(['roomType'])!.value,
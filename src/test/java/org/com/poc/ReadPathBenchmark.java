@@ -0,0 +1,170 @@
+package org.com.poc;
+
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.com.poc.domain.Room;
+import org.com.poc.management.SecurityMetersService;
+import org.com.poc.repository.RoomRepository;
+import org.com.poc.security.AuthoritiesConstants;
+import org.com.poc.security.jwt.JWTFilter;
+import org.com.poc.security.jwt.TokenProvider;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Heap allocation and CPU time benchmark of the work done on every read request: the authentication of its JWT, and
+ * the transaction a page is read in.
+ * <p>
+ * The class name does not match the Surefire nor the Failsafe includes, so it is not part of the build; run it
+ * explicitly with {@code ./mvnw test -Dtest=ReadPathBenchmark}. The figures are logged rather than asserted, as they
+ * depend on the JIT, the TLAB sizes and the garbage collector.
+ */
+@IntegrationTest
+class ReadPathBenchmark {
+
+    private static final int WARMUP_REQUESTS = 2_000;
+
+    private static final int MEASURED_REQUESTS = 10_000;
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final int WARMUP_ROUNDS = 3;
+
+    private static final int MEASURED_ROUNDS = 5;
+
+    private final Logger log = LoggerFactory.getLogger(ReadPathBenchmark.class);
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void jwtVerifiedOnceVersusParsedTwice() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        String base64Secret = "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(base64Secret);
+        TokenProvider tokenProvider = new TokenProvider(jHipsterProperties, new SecurityMetersService(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(tokenProvider, "key", Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)));
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 60000);
+        JWTFilter jwtFilter = new JWTFilter(tokenProvider);
+        String jwt = tokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken(
+                "test-user",
+                "test-password",
+                Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+            ),
+            false
+        );
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        request.setRequestURI("/api/test");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Runnable filter = () -> {
+            try {
+                jwtFilter.doFilter(request, response, new MockFilterChain());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            SecurityContextHolder.getContext().setAuthentication(null);
+        };
+        Runnable validateThenAuthenticate = () -> {
+            if (tokenProvider.validateToken(jwt)) {
+                Authentication parsed = tokenProvider.getAuthentication(jwt);
+                SecurityContextHolder.getContext().setAuthentication(parsed);
+            }
+            SecurityContextHolder.getContext().setAuthentication(null);
+        };
+        Measure verifiedOnce = Measure.perRun(WARMUP_REQUESTS, MEASURED_REQUESTS, filter);
+        Measure parsedTwice = Measure.perRun(WARMUP_REQUESTS, MEASURED_REQUESTS, validateThenAuthenticate);
+        log.info("JWT authentication per request, token verified once: {}, token parsed twice: {}", verifiedOnce, parsedTwice);
+    }
+
+    @Test
+    void pageReadInReadOnlyVersusReadWriteTransactions() {
+        TransactionTemplate readWriteTransaction = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        List<Long> roomIds = readWriteTransaction.execute(status -> {
+            List<Room> rooms = new ArrayList<>();
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                rooms.add(new Room().roomTitle("room " + i).roomDescription("description " + i).roomType("single"));
+            }
+            return roomRepository.saveAll(rooms).stream().map(Room::getId).collect(Collectors.toList());
+        });
+        try {
+            Runnable readWrite = () -> readWriteTransaction.executeWithoutResult(status -> readPage());
+            Runnable readOnly = () -> readOnlyTransaction.executeWithoutResult(status -> readPage());
+            Measure readWritePage = Measure.perRun(WARMUP_ROUNDS, MEASURED_ROUNDS, readWrite);
+            Measure readOnlyPage = Measure.perRun(WARMUP_ROUNDS, MEASURED_ROUNDS, readOnly);
+            log.info("Read of a {}-row page, read-write: {}, read-only: {}", PAGE_SIZE, readWritePage, readOnlyPage);
+        } finally {
+            readWriteTransaction.executeWithoutResult(status -> roomRepository.deleteAllByIdInBatch(roomIds));
+        }
+    }
+
+    private void readPage() {
+        roomRepository.findAll(PageRequest.of(0, PAGE_SIZE, Sort.by("id"))).getContent();
+    }
+
+    /**
+     * Heap allocated and CPU time used by a run of some work, averaged over the measured runs after a warm-up.
+     */
+    private static final class Measure {
+
+        private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory
+            .getThreadMXBean();
+
+        private final long allocatedBytes;
+
+        private final long cpuNanos;
+
+        private Measure(long allocatedBytes, long cpuNanos) {
+            this.allocatedBytes = allocatedBytes;
+            this.cpuNanos = cpuNanos;
+        }
+
+        static Measure perRun(int warmupRuns, int measuredRuns, Runnable work) {
+            for (int i = 0; i < warmupRuns; i++) {
+                work.run();
+            }
+            long threadId = Thread.currentThread().getId();
+            long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+            long cpuBefore = THREADS.getCurrentThreadCpuTime();
+            for (int i = 0; i < measuredRuns; i++) {
+                work.run();
+            }
+            long cpuNanos = (THREADS.getCurrentThreadCpuTime() - cpuBefore) / measuredRuns;
+            long allocatedBytes = (THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore) / measuredRuns;
+            return new Measure(allocatedBytes, cpuNanos);
+        }
+
+        @Override
+        public String toString() {
+            return allocatedBytes + " bytes allocated, " + cpuNanos + " ns CPU";
+        }
+    }
+}
@@ -2,12 +2,17 @@ package org.com.poc;
 
 import static com.tngtech.archunit.base.DescribedPredicate.alwaysTrue;
 import static com.tngtech.archunit.core.domain.JavaClass.Predicates.belongToAnyOf;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.methods;
 import static com.tngtech.archunit.library.Architectures.layeredArchitecture;
 
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaAnnotation;
 import com.tngtech.archunit.core.importer.ImportOption.DoNotIncludeTests;
 import com.tngtech.archunit.junit.AnalyzeClasses;
 import com.tngtech.archunit.junit.ArchTest;
 import com.tngtech.archunit.lang.ArchRule;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
 
 @AnalyzeClasses(packagesOf = PocApp.class, importOptions = DoNotIncludeTests.class)
 class TechnicalStructureTest {
@@ -34,4 +39,26 @@ class TechnicalStructureTest {
             org.com.poc.config.Constants.class,
             org.com.poc.config.ApplicationProperties.class
         ));
+
+    // Resources are transactional at class level: without this, a GET would run in a read-write transaction and
+    // Hibernate would keep a snapshot of every entity it reads, to dirty-check it on commit.
+    @ArchTest
+    static final ArchRule getMappingsRunInReadOnlyTransactions = methods()
+        .that()
+        .areAnnotatedWith(GetMapping.class)
+        .and()
+        .areDeclaredInClassesThat()
+        .areAnnotatedWith(Transactional.class)
+        .should()
+        .beAnnotatedWith(
+            new DescribedPredicate<JavaAnnotation<?>>("@Transactional(readOnly = true)") {
+                @Override
+                public boolean apply(JavaAnnotation<?> annotation) {
+                    return (
+                        annotation.getRawType().isEquivalentTo(Transactional.class) &&
+                        annotation.get("readOnly").map(Boolean.TRUE::equals).orElse(false)
+                    );
+                }
+            }
+        );
 }
@@ -0,0 +1,121 @@
+package org.com.poc.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.com.poc.domain.Resident;
+import org.com.poc.domain.Room;
+import org.com.poc.repository.UserRepository;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the sizing of the cache regions by {@link CacheConfiguration}, their {@link CacheTierMetrics}, and the
+ * refresh ahead of the {@link SingleFlightCacheManager}.
+ */
+class CacheConfigurationTest {
+
+    private CacheManager cacheManager;
+
+    private CacheConfiguration cacheConfiguration;
+
+    @BeforeEach
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Cache.Region room = new ApplicationProperties.Cache.Region();
+        room.setHeapEntries(10L);
+        room.setOffHeapMb(1);
+        applicationProperties.getCache().getRegions().put("Room", room);
+        ApplicationProperties.Cache.Region usersByLogin = new ApplicationProperties.Cache.Region();
+        usersByLogin.setRefreshAheadRatio(0.0);
+        applicationProperties.getCache().getRegions().put(UserRepository.USERS_BY_LOGIN_CACHE, usersByLogin);
+
+        cacheManager =
+            Caching.getCachingProvider().getCacheManager(URI.create("urn:cache-test:" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheConfiguration = new CacheConfiguration(jHipsterProperties, applicationProperties);
+        cacheConfiguration.cacheManagerCustomizer().customize(cacheManager);
+    }
+
+    @AfterEach
+    public void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void listedRegionsHaveTheirOwnTiers() {
+        ResourcePools room = resourcePools(Room.class.getName());
+        assertThat(room.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(10);
+        SizedResourcePool offHeap = room.getPoolForResource(ResourceType.Core.OFFHEAP);
+        assertThat(offHeap.getSize()).isEqualTo(1);
+        assertThat(offHeap.getUnit()).isEqualTo(MemoryUnit.MB);
+    }
+
+    @Test
+    void otherRegionsOnlyHaveTheDefaultHeapTier() {
+        ResourcePools resident = resourcePools(Resident.class.getName());
+        assertThat(resident.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(100);
+        assertThat(resident.getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(EntryUnit.ENTRIES);
+        assertThat(resident.getResourceTypeSet()).doesNotContain(ResourceType.Core.OFFHEAP);
+    }
+
+    @Test
+    void tierMetricsCountTheHitsOfEachTier() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new CacheTierMetrics(cacheManager).bindTo(meterRegistry);
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(Room.class.getName());
+
+        cache.put("key", "value");
+        // The first get faults the entry from the off-heap tier into the heap tier, the second one hits the heap
+        cache.get("key");
+        cache.get("key");
+
+        assertThat(tierGets(meterRegistry, "OffHeap", "hit")).isEqualTo(1);
+        assertThat(tierGets(meterRegistry, "OnHeap", "hit")).isEqualTo(1);
+        assertThat(meterRegistry.find("cache.tier.occupied").tag("cache", Room.class.getName()).gauge()).isNotNull();
+        assertThat(meterRegistry.find("cache.tier.gets").tag("cache", Resident.class.getName()).tag("tier", "OffHeap").meters())
+            .isEmpty();
+    }
+
+    @Test
+    void refreshAheadRegionsReloadTheEntriesInTheBackground() {
+        AtomicInteger loads = new AtomicInteger();
+        org.springframework.cache.Cache cache = cacheConfiguration
+            .singleFlightCachingConfigurer(cacheManager, Runnable::run, new SimpleMeterRegistry())
+            .cacheManager()
+            .getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+
+        assertThat(cache.get("admin", loads::incrementAndGet)).isEqualTo(1);
+        // Served from the cache, then reloaded as it is already due for a refresh
+        assertThat(cache.get("admin", loads::incrementAndGet)).isEqualTo(1);
+        assertThat(cache.get("admin").get()).isEqualTo(2);
+    }
+
+    private ResourcePools resourcePools(String cacheName) {
+        return cacheManager.getCache(cacheName).unwrap(org.ehcache.Cache.class).getRuntimeConfiguration().getResourcePools();
+    }
+
+    private static double tierGets(MeterRegistry meterRegistry, String tier, String result) {
+        return meterRegistry
+            .get("cache.tier.gets")
+            .tag("cache", Room.class.getName())
+            .tag("tier", tier)
+            .tag("result", result)
+            .functionCounter()
+            .count();
+    }
+}
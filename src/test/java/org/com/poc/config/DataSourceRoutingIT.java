@@ -0,0 +1,107 @@
+package org.com.poc.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.persistence.EntityManagerFactory;
+import org.com.poc.IntegrationTest;
+import org.com.poc.domain.Room;
+import org.com.poc.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests of the read-only transactions sent to a replica lagging behind the primary.
+ * <p>
+ * The replica is a copy of the primary H2 database, taken before the room of each test is changed.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestPropertySource(
+    properties = {
+        "application.datasource-routing.enabled=true",
+        "application.datasource-routing.read-your-writes-ms=0",
+        "application.datasource-routing.replicas[0].url=" + DataSourceRoutingIT.REPLICA_URL,
+        "application.datasource-routing.replicas[0].username=sa",
+    }
+)
+class DataSourceRoutingIT {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-it;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    private Room room;
+
+    @BeforeEach
+    public void initLaggingReplica() {
+        room = roomRepository.saveAndFlush(new Room().roomTitle("On the replica").roomType("SUITE"));
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.execute("drop all objects");
+        new JdbcTemplate(primaryDataSource).queryForList("script", String.class).forEach(replica::execute);
+
+        roomRepository.saveAndFlush(room.roomTitle("On the primary"));
+        entityManagerFactory.getCache().evict(Room.class, room.getId());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        roomRepository.deleteById(room.getId());
+    }
+
+    @Test
+    void replicaReadsDoNotFillTheSecondLevelCache() {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        String roomTitle = readOnlyTransaction.execute(status -> roomRepository.findById(room.getId()).orElseThrow().getRoomTitle());
+
+        assertThat(roomTitle).isEqualTo("On the replica");
+        assertThat(entityManagerFactory.getCache().contains(Room.class, room.getId())).isFalse();
+    }
+
+    @Test
+    void entitiesMissingFromTheSecondLevelCacheAreReadFromThePrimary() throws Exception {
+        restMockMvc
+            .perform(get("/api/rooms/{id}", room.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.roomTitle").value("On the primary"));
+
+        assertThat(entityManagerFactory.getCache().contains(Room.class, room.getId())).isTrue();
+    }
+
+    @Test
+    void taggedListsAreReadFromThePrimary() throws Exception {
+        restMockMvc
+            .perform(get("/api/rooms?id.equals=" + room.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].roomTitle").value("On the primary"));
+    }
+}
@@ -0,0 +1,107 @@
+package org.com.poc.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Unit tests for {@link ReplicaRoutingDataSource}, with two H2 databases standing in for the primary and the replica.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final AtomicBoolean pinnedToPrimary = new AtomicBoolean();
+
+    private ReplicaRoutingDataSource routing;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWriteTransaction;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    public void setup() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), pinnedToPrimary::get);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactionsRunOnTheReplica() {
+        assertThat(readOnlyTransaction.execute(status -> server())).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransactionsRunOnThePrimary() {
+        assertThat(readWriteTransaction.execute(status -> server())).isEqualTo("primary");
+    }
+
+    @Test
+    void pinnedReadOnlyTransactionsRunOnThePrimary() {
+        pinnedToPrimary.set(true);
+        assertThat(readOnlyTransaction.execute(status -> server())).isEqualTo("primary");
+    }
+
+    @Test
+    void readsOnThePrimaryRunOnThePrimary() {
+        assertThat(readOnlyTransaction.execute(status -> routing.onPrimary(this::server))).isEqualTo("primary");
+        assertThat(routing.onPrimary(routing::isReadingFromReplica)).isFalse();
+        assertThat(readOnlyTransaction.execute(status -> server())).isEqualTo("replica");
+    }
+
+    @Test
+    void tellsTheCachesWhenReadingFromTheReplica() {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+            database("primary"),
+            List.of(database("replica")),
+            pinnedToPrimary::get
+        );
+        assertThat(routing.isReadingFromReplica()).isTrue();
+
+        pinnedToPrimary.set(true);
+        assertThat(routing.isReadingFromReplica()).isFalse();
+        assertThat(new ReplicaRoutingDataSource(database("alone"), List.of(), () -> false).isReadingFromReplica()).isFalse();
+    }
+
+    @Test
+    void readsWithoutReplicaRunOnThePrimary() {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(database("alone"), List.of(), () -> false));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(true);
+        JdbcTemplate aloneJdbcTemplate = new JdbcTemplate(dataSource);
+        assertThat(transactionTemplate.execute(status -> aloneJdbcTemplate.queryForObject("select name from server", String.class)))
+            .isEqualTo("alone");
+    }
+
+    private String server() {
+        return jdbcTemplate.queryForObject("select name from server", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "sa",
+            ""
+        );
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop table if exists server");
+        jdbcTemplate.execute("create table server (name varchar(20))");
+        jdbcTemplate.update("insert into server (name) values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,42 @@
+package org.com.poc.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class HotKeySketchTest {
+
+    @Test
+    void listsTheHottestKeysFirst() {
+        HotKeySketch sketch = new HotKeySketch(3, Long.MAX_VALUE);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("cold-" + i);
+            if (i % 2 == 0) {
+                sketch.add("hot");
+            }
+            if (i % 10 == 0) {
+                sketch.add("warm");
+            }
+        }
+
+        List<Map.Entry<String, Long>> hottest = sketch.hottest();
+
+        assertThat(hottest).hasSize(3);
+        assertThat(hottest.get(0).getKey()).isEqualTo("hot");
+        assertThat(hottest.get(0).getValue()).isBetween(500L, 510L);
+        assertThat(hottest.get(1).getKey()).isEqualTo("warm");
+        assertThat(hottest.get(1).getValue()).isBetween(100L, 110L);
+    }
+
+    @Test
+    void halvesTheCountsAfterTheDecayPeriod() {
+        HotKeySketch sketch = new HotKeySketch(3, 100);
+        for (int i = 0; i < 100; i++) {
+            sketch.add("hot");
+        }
+
+        assertThat(sketch.hottest()).containsExactly(Map.entry("hot", 50L));
+    }
+}
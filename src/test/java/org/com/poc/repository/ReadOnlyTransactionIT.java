@@ -0,0 +1,111 @@
+package org.com.poc.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.com.poc.IntegrationTest;
+import org.com.poc.domain.Room;
+import org.hibernate.FlushMode;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests of the read-only transactions the GET endpoints run in. The work they save on a page read is
+ * measured by {@link org.com.poc.ReadPathBenchmark}.
+ */
+@IntegrationTest
+class ReadOnlyTransactionIT {
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readWriteTransaction;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private List<Long> roomIds;
+
+    @BeforeEach
+    public void init() {
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        roomIds =
+            readWriteTransaction.execute(status -> {
+                List<Room> rooms = new ArrayList<>();
+                for (int i = 0; i < PAGE_SIZE; i++) {
+                    rooms.add(new Room().roomTitle("room " + i).roomDescription("description " + i).roomType("single"));
+                }
+                return roomRepository.saveAll(rooms).stream().map(Room::getId).collect(Collectors.toList());
+            });
+    }
+
+    @AfterEach
+    public void cleanup() {
+        readWriteTransaction.executeWithoutResult(status -> roomRepository.deleteAllByIdInBatch(roomIds));
+    }
+
+    @Test
+    void readOnlyTransactionsDoNotFlushAndDoNotKeepSnapshots() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            SessionImplementor session = em.unwrap(SessionImplementor.class);
+            assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.MANUAL);
+            assertThat(session.isDefaultReadOnly()).isTrue();
+            assertThat(session.doReturningWork(Connection::isReadOnly)).isTrue();
+
+            Room room = roomRepository.findById(roomIds.get(0)).orElseThrow();
+            assertThat(session.isReadOnly(room)).isTrue();
+            assertThat(session.getPersistenceContextInternal().getEntry(room).getLoadedState()).isNull();
+            room.setRoomTitle("changed");
+        });
+
+        assertThat(roomRepository.findById(roomIds.get(0))).map(Room::getRoomTitle).contains("room 0");
+    }
+
+    @Test
+    void readOnlyTransactionsDoNotKeepSnapshotsOfAPage() {
+        assertThat(readPage(readWriteTransaction)).isEqualTo(PAGE_SIZE);
+        assertThat(readPage(readOnlyTransaction)).isZero();
+    }
+
+    /**
+     * Read the page of rooms in a transaction of the given template.
+     *
+     * @return the number of loaded states kept by the session for dirty checking.
+     */
+    private long readPage(TransactionTemplate transactionTemplate) {
+        Long snapshots = transactionTemplate.execute(status -> {
+            List<Room> rooms = roomRepository.findAll(PageRequest.of(0, PAGE_SIZE, Sort.by("id"))).getContent();
+            assertThat(rooms).hasSize(PAGE_SIZE);
+            return countSnapshots();
+        });
+        return snapshots == null ? 0 : snapshots;
+    }
+
+    private long countSnapshots() {
+        return Arrays
+            .stream(em.unwrap(SessionImplementor.class).getPersistenceContextInternal().reentrantSafeEntityEntries())
+            .filter(entry -> entry.getValue().getLoadedState() != null)
+            .count();
+    }
+}
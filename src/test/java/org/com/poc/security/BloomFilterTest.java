@@ -0,0 +1,50 @@
+package org.com.poc.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link BloomFilter}.
+ */
+class BloomFilterTest {
+
+    @Test
+    void containsEveryStringAdded() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("user-" + i)).isTrue();
+        }
+        assertThat(filter.isFull()).isFalse();
+    }
+
+    @Test
+    void keepsItsFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user-" + i + "@localhost");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i + "@localhost")) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void isFullOnceOverItsCapacity() {
+        BloomFilter filter = new BloomFilter(10, 0.01);
+        for (int i = 0; i <= 10; i++) {
+            filter.add("user-" + i);
+        }
+
+        assertThat(filter.isFull()).isTrue();
+    }
+}
@@ -0,0 +1,149 @@
+package org.com.poc.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import javax.persistence.EntityManager;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.com.poc.IntegrationTest;
+import org.com.poc.domain.User;
+import org.com.poc.repository.UserRepository;
+import org.com.poc.service.UserService;
+import org.com.poc.service.UsernameAlreadyUsedException;
+import org.com.poc.service.dto.AdminUserDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link UserExistenceFilter}.
+ */
+@IntegrationTest
+@Transactional
+class UserExistenceFilterIT {
+
+    @Autowired
+    private UserExistenceFilter userExistenceFilter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserDetailsService domainUserDetailsService;
+
+    @Autowired
+    private EntityManager em;
+
+    @BeforeEach
+    public void rebuild() {
+        userExistenceFilter.rebuild();
+    }
+
+    @Test
+    void containsTheExistingUsers() {
+        assertThat(userExistenceFilter.isReady()).isTrue();
+        assertThat(userExistenceFilter.mightContainLogin("admin")).isTrue();
+        assertThat(userExistenceFilter.mightContainLogin("ADMIN")).isTrue();
+        assertThat(userExistenceFilter.mightContainEmail("Admin@localhost")).isTrue();
+    }
+
+    @Test
+    void containsTheUsersSavedSinceTheBuild() {
+        User user = new User();
+        user.setLogin("existence-filter");
+        user.setPassword(RandomStringUtils.random(60));
+        user.setActivated(true);
+        user.setEmail("existence-filter@localhost");
+
+        userRepository.saveAndFlush(user);
+
+        assertThat(userExistenceFilter.mightContainLogin("existence-filter")).isTrue();
+        assertThat(userExistenceFilter.mightContainEmail("existence-filter@localhost")).isTrue();
+    }
+
+    @Test
+    void rejectsMostUnknownLogins() {
+        int maybe = 0;
+        for (int i = 0; i < 100; i++) {
+            if (userExistenceFilter.mightContainLogin("unknown-" + i)) {
+                maybe++;
+            }
+        }
+
+        assertThat(maybe).isLessThan(10);
+    }
+
+    @Test
+    void authenticationSkipsTheQueryOfAnUnknownLogin() {
+        String login = unknownLogin();
+        Statistics statistics = statistics();
+        try {
+            assertThatExceptionOfType(UsernameNotFoundException.class)
+                .isThrownBy(() -> domainUserDetailsService.loadUserByUsername(login));
+            assertThatExceptionOfType(UsernameNotFoundException.class)
+                .isThrownBy(() -> domainUserDetailsService.loadUserByUsername(login + "@localhost"));
+
+            assertThat(statistics.getQueryExecutionCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void authenticationFindsAnExistingUser() {
+        assertThat(domainUserDetailsService.loadUserByUsername("admin").getUsername()).isEqualTo("admin");
+        assertThat(domainUserDetailsService.loadUserByUsername("admin@localhost").getUsername()).isEqualTo("admin");
+    }
+
+    @Test
+    void registrationSkipsTheQueriesOfAnUnknownLoginAndEmail() {
+        String login = unknownLogin();
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin(login);
+        userDTO.setEmail(login + "@localhost");
+        Statistics statistics = statistics();
+        try {
+            User user = userService.registerUser(userDTO, "password");
+
+            assertThat(user.getId()).isNotNull();
+            assertThat(statistics.getQueryExecutionCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void registrationRejectsAnExistingLogin() {
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin("admin");
+        userDTO.setEmail(unknownLogin() + "@localhost");
+
+        assertThatExceptionOfType(UsernameAlreadyUsedException.class).isThrownBy(() -> userService.registerUser(userDTO, "password"));
+    }
+
+    /**
+     * A login, and the email made from it, that the filters tell apart from the existing ones.
+     */
+    private String unknownLogin() {
+        String login;
+        do {
+            login = RandomStringUtils.randomAlphabetic(10).toLowerCase();
+        } while (userExistenceFilter.mightContainLogin(login) || userExistenceFilter.mightContainEmail(login + "@localhost"));
+        return login;
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+}
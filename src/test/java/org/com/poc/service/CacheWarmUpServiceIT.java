@@ -0,0 +1,73 @@
+package org.com.poc.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.com.poc.IntegrationTest;
+import org.com.poc.domain.User;
+import org.com.poc.repository.UserRepository;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for {@link CacheWarmUpService}.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "application.cache.regions.usersByLogin.refresh-ahead-ratio=0.8")
+class CacheWarmUpServiceIT {
+
+    @Autowired
+    private CacheWarmUpService cacheWarmUpService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    @Qualifier("singleFlightCachingConfigurer")
+    private CachingConfigurer cachingConfigurer;
+
+    private Cache usersByLogin;
+
+    @BeforeEach
+    public void clearUserCache() {
+        usersByLogin = cachingConfigurer.cacheManager().getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        usersByLogin.clear();
+    }
+
+    @AfterEach
+    public void clearUserCacheAfter() {
+        usersByLogin.clear();
+    }
+
+    @Test
+    void warmUpLoadsTheUsers() throws Exception {
+        cacheWarmUpService.warmUp().get(10, TimeUnit.SECONDS);
+
+        assertThat(cacheWarmUpService.isWarm()).isTrue();
+        assertThat(cacheWarmUpService.getLoadedEntries()).isPositive();
+        User admin = usersByLogin.get("admin", User.class);
+        assertThat(admin).isNotNull();
+        assertThat(Hibernate.isInitialized(admin.getAuthorities())).isTrue();
+        assertThat(userRepository.findOneWithAuthoritiesByLogin("admin")).map(User::getId).contains(admin.getId());
+    }
+
+    @Test
+    void warmUpStoresTheUsersAsTheCacheableMethodsDo() throws Exception {
+        cacheWarmUpService.warmUp().get(10, TimeUnit.SECONDS);
+        Object warmedUp = ((javax.cache.Cache<?, ?>) usersByLogin.getNativeCache()).get("admin");
+        usersByLogin.clear();
+        userRepository.findOneWithAuthoritiesByLogin("admin");
+        Object loaded = ((javax.cache.Cache<?, ?>) usersByLogin.getNativeCache()).get("admin");
+
+        // Stored with their load time to be refreshed ahead of expiry, not as bare users
+        assertThat(loaded).isNotNull().isNotInstanceOf(User.class);
+        assertThat(warmedUp).isNotNull().hasSameClassAs(loaded);
+    }
+}
@@ -0,0 +1,44 @@
+package org.com.poc.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CsvRowReader} class.
+ */
+class CsvRowReaderTest {
+
+    @Test
+    void readsSimpleRecords() throws IOException {
+        try (CsvRowReader reader = new CsvRowReader(new StringReader("id;name\n1;Car\n\n2;\n"), ';')) {
+            assertThat(reader.readRecord()).containsExactly("id", "name");
+            assertThat(reader.getRecordLineNumber()).isEqualTo(1);
+            assertThat(reader.readRecord()).containsExactly("1", "Car");
+            assertThat(reader.getRecordLineNumber()).isEqualTo(2);
+            assertThat(reader.readRecord()).isEqualTo(Arrays.asList("2", null));
+            assertThat(reader.getRecordLineNumber()).isEqualTo(4);
+            assertThat(reader.readRecord()).isNull();
+        }
+    }
+
+    @Test
+    void readsQuotedFields() throws IOException {
+        try (CsvRowReader reader = new CsvRowReader(new StringReader("\"a;b\";\"say \"\"hi\"\"\";\"\"\n\"multi\nline\";x\n"), ';')) {
+            assertThat(reader.readRecord()).containsExactly("a;b", "say \"hi\"", "");
+            assertThat(reader.readRecord()).containsExactly("multi\nline", "x");
+            assertThat(reader.getRecordLineNumber()).isEqualTo(2);
+            assertThat(reader.readRecord()).isNull();
+        }
+    }
+
+    @Test
+    void rejectsUnterminatedQuotedField() {
+        CsvRowReader reader = new CsvRowReader(new StringReader("\"never closed\n"), ';');
+        assertThatThrownBy(reader::readRecord).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,133 @@
+package org.com.poc.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.com.poc.IntegrationTest;
+import org.com.poc.domain.Facility;
+import org.com.poc.domain.Resident;
+import org.com.poc.domain.Room;
+import org.com.poc.service.dto.RoomSummaryDTO;
+import org.com.poc.service.event.EntityChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link QueryCacheService}.
+ */
+@IntegrationTest
+class QueryCacheServiceIT {
+
+    @Autowired
+    private QueryCacheService queryCacheService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private ReplicaReads replicaReads;
+
+    private QueryCacheService.CachedQuery query;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void init() {
+        query = new QueryCacheService.CachedQuery("test-" + UUID.randomUUID(), Room.class, Resident.class);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void cachesPagesInReadOnlyTransactions() {
+        assertThat(findInReadOnlyTransaction(0).getContent()).extracting(RoomSummaryDTO::getId).containsExactly(1L);
+        assertThat(findInReadOnlyTransaction(0).getContent()).extracting(RoomSummaryDTO::getId).containsExactly(1L);
+        assertThat(loads.get()).isEqualTo(1);
+
+        // Another page is another entry
+        findInReadOnlyTransaction(1);
+        assertThat(loads.get()).isEqualTo(2);
+
+        assertThat(meterRegistry.get("cache.query.gets").tag("query", query.getName()).tag("result", "hit").counter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("cache.query.gets").tag("query", query.getName()).tag("result", "miss").counter().count())
+            .isEqualTo(2);
+        assertThat(meterRegistry.get("cache.query.hit.ratio").tag("query", query.getName()).gauge().value()).isEqualTo(1.0 / 3);
+    }
+
+    @Test
+    void changeOfAReadEntityTypeInvalidatesPages() {
+        findInReadOnlyTransaction(0);
+
+        queryCacheService.onEntityChange(EntityChangeEvent.updated(Facility.class, 1L));
+        findInReadOnlyTransaction(0);
+        assertThat(loads.get()).isEqualTo(1);
+
+        queryCacheService.onEntityChange(EntityChangeEvent.updated(Resident.class, 1L));
+        findInReadOnlyTransaction(0);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotCachePagesReadFromAReplica() {
+        // The replica may lag behind: what it returns is not cached
+        when(replicaReads.isReadingFromReplica()).thenReturn(true);
+        findInReadOnlyTransaction(0);
+        findInReadOnlyTransaction(0);
+        assertThat(loads.get()).isEqualTo(2);
+
+        // What the primary returns is, and is served to the reads going to the replica too
+        when(replicaReads.isReadingFromReplica()).thenReturn(false);
+        findInReadOnlyTransaction(0);
+        when(replicaReads.isReadingFromReplica()).thenReturn(true);
+        findInReadOnlyTransaction(0);
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    void doesNotCacheInReadWriteTransactions() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> find(0));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> find(0));
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotCachePagesAfterTheMaximum() {
+        findInReadOnlyTransaction(Integer.MAX_VALUE - 1);
+        findInReadOnlyTransaction(Integer.MAX_VALUE - 1);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private Slice<RoomSummaryDTO> findInReadOnlyTransaction(int page) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> find(page));
+    }
+
+    private Slice<RoomSummaryDTO> find(int page) {
+        PageRequest pageable = PageRequest.of(page, 20);
+        return queryCacheService.findSlice(
+            query,
+            pageable,
+            () -> {
+                loads.incrementAndGet();
+                RoomSummaryDTO room = new RoomSummaryDTO();
+                room.setId(1L);
+                return new SliceImpl<>(List.of(room), pageable, false);
+            }
+        );
+    }
+}
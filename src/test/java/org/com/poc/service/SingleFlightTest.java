@@ -0,0 +1,66 @@
+package org.com.poc.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SingleFlight singleFlight = new SingleFlight("test", meterRegistry);
+
+    @Test
+    void concurrentLoadsOfAKeyRunOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() ->
+            load("key", () -> {
+                loading.countDown();
+                release.await();
+                return loads.incrementAndGet();
+            })
+        );
+        loading.await();
+        CompletableFuture<Integer> follower = CompletableFuture.supplyAsync(() -> load("key", loads::incrementAndGet));
+        while (meterRegistry.get("cache.single.flight").tag("result", "coalesced").counter().count() == 0) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(loads).hasValue(1);
+        // Once done, the next load of the key runs again
+        assertThat(singleFlight.load("key", loads::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    void failuresAreNotRemembered() throws Exception {
+        assertThatThrownBy(() -> singleFlight.load("key", SingleFlightTest::failingLoad)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.load("key", () -> "value")).isEqualTo("value");
+        assertThat(meterRegistry.get("cache.single.flight").tag("result", "loaded").counter().count()).isEqualTo(2);
+    }
+
+    private static String failingLoad() {
+        throw new IllegalStateException("database down");
+    }
+
+    private <T> T load(Object key, Callable<T> loader) {
+        try {
+            return singleFlight.load(key, loader);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
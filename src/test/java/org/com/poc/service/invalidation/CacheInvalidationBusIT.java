@@ -0,0 +1,220 @@
+package org.com.poc.service.invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.persistence.EntityManagerFactory;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.com.poc.IntegrationTest;
+import org.com.poc.config.ApplicationProperties;
+import org.com.poc.domain.Resident;
+import org.com.poc.domain.Room;
+import org.com.poc.domain.User;
+import org.com.poc.repository.ResidentRepository;
+import org.com.poc.repository.RoomRepository;
+import org.com.poc.repository.UserRepository;
+import org.com.poc.service.EntityTagService;
+import org.com.poc.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link CacheInvalidationBus}, with a second node on the loopback channel of the application.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "application.cache-invalidation.enabled=true",
+        "application.cache-invalidation.channel=" + CacheInvalidationBusIT.CHANNEL,
+        "application.cache-invalidation.flush-interval-ms=3600000",
+    }
+)
+class CacheInvalidationBusIT {
+
+    static final String CHANNEL = "CacheInvalidationBusIT";
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ResidentRepository residentRepository;
+
+    @Autowired
+    private EntityTagService entityTagService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final LoopbackCacheInvalidationTransport transport = new LoopbackCacheInvalidationTransport(CHANNEL);
+
+    private final BlockingQueue<CacheInvalidationMessage> received = new LinkedBlockingQueue<>();
+
+    private final Consumer<CacheInvalidationMessage> receiver = received::add;
+
+    private CacheInvalidationBus otherNode;
+
+    @BeforeEach
+    public void init() {
+        cacheInvalidationBus.flush();
+        transport.subscribe(receiver);
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getCacheInvalidation().setEnabled(true);
+        properties.getCacheInvalidation().setNodeId("other-node");
+        otherNode =
+            new CacheInvalidationBus(
+                transport,
+                applicationContext.getBeanProvider(EntityManagerFactory.class),
+                cacheManager,
+                applicationContext,
+                properties,
+                new SimpleMeterRegistry()
+            );
+    }
+
+    @AfterEach
+    public void cleanup() {
+        transport.unsubscribe(receiver);
+        otherNode.close();
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+    }
+
+    @Test
+    void otherNodesEvictTheKeys() throws Exception {
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).put("evicted", "stale");
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).put("kept", "fresh");
+
+        cacheInvalidationBus.invalidateAfterCommit(List.of(CacheInvalidation.cache(UserRepository.USERS_BY_LOGIN_CACHE, "evicted")));
+        cacheInvalidationBus.flush();
+
+        CacheInvalidationMessage message = received.poll(5, TimeUnit.SECONDS);
+        assertThat(message.getNodeId()).isEqualTo(cacheInvalidationBus.getNodeId());
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("evicted")).isNull();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("kept")).isNotNull();
+    }
+
+    @Test
+    void broadcastsTheUserEvictionsAfterCommit() throws Exception {
+        String login = RandomStringUtils.randomAlphabetic(10).toLowerCase();
+        User user = new User();
+        user.setLogin(login);
+        user.setPassword(RandomStringUtils.random(60));
+        user.setEmail(login + "@localhost");
+        user.setActivated(true);
+        userRepository.saveAndFlush(user);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userService.deleteUser(login);
+            cacheInvalidationBus.flush();
+            assertThat(received).isEmpty();
+        });
+        cacheInvalidationBus.flush();
+
+        CacheInvalidationMessage message = received.poll(5, TimeUnit.SECONDS);
+        assertThat(message.getInvalidations())
+            .contains(
+                CacheInvalidation.cache(UserRepository.USERS_BY_LOGIN_CACHE, login),
+                CacheInvalidation.cache(UserRepository.USERS_BY_EMAIL_CACHE, login + "@localhost")
+            );
+    }
+
+    @Test
+    void otherNodesEvictTheEntitiesUpdatedThroughJpa() throws Exception {
+        Room room = roomRepository.saveAndFlush(new Room().roomTitle("Cache invalidation").roomType("SUITE"));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> roomRepository.findById(room.getId()).orElseThrow().setRoomTitle("Invalidated"));
+        assertThat(entityManagerFactory.getCache().contains(Room.class, room.getId())).isTrue();
+        String listTag = entityTagService.getListTag(Room.class);
+
+        cacheInvalidationBus.flush();
+
+        CacheInvalidationMessage message = received.poll(5, TimeUnit.SECONDS);
+        assertThat(message.getInvalidations()).contains(CacheInvalidation.entity(Room.class.getName(), room.getId()));
+        assertThat(entityManagerFactory.getCache().contains(Room.class, room.getId())).isFalse();
+        assertThat(entityTagService.getListTag(Room.class)).isNotEqualTo(listTag);
+        roomRepository.deleteById(room.getId());
+    }
+
+    @Test
+    void evictsTheOldAndNewOwnersOfADetachedEntityMoved() throws Exception {
+        Resident oldResident = residentRepository.saveAndFlush(new Resident().residentName("Old").residentAddress("Old address"));
+        Resident newResident = residentRepository.saveAndFlush(new Resident().residentName("New").residentAddress("New address"));
+        Room room = roomRepository.saveAndFlush(new Room().roomTitle("Moved").roomType("SUITE").resident(oldResident));
+        cacheInvalidationBus.flush();
+        received.clear();
+
+        Room moved = new Room().id(room.getId()).roomTitle("Moved").roomType("SUITE").resident(new Resident().id(newResident.getId()));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> roomRepository.updateIfCurrent(moved));
+        cacheInvalidationBus.flush();
+
+        String role = Resident.class.getName() + ".rooms";
+        CacheInvalidationMessage message = received.poll(5, TimeUnit.SECONDS);
+        assertThat(message.getInvalidations())
+            .contains(CacheInvalidation.collection(role, oldResident.getId()), CacheInvalidation.collection(role, newResident.getId()))
+            .doesNotContain(CacheInvalidation.collection(role, null));
+        roomRepository.deleteById(room.getId());
+        residentRepository.deleteAllById(List.of(oldResident.getId(), newResident.getId()));
+    }
+
+    @Test
+    void dropsTheInvalidationsOfRolledBackTransactions() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            cacheInvalidationBus.invalidateAfterCommit(List.of(CacheInvalidation.cache(UserRepository.USERS_BY_LOGIN_CACHE, "admin")));
+            status.setRollbackOnly();
+        });
+        cacheInvalidationBus.flush();
+
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    void coalescesTheInvalidations() throws Exception {
+        cacheInvalidationBus.publish(
+            List.of(
+                CacheInvalidation.entity("org.com.poc.domain.Room", 1L),
+                CacheInvalidation.entity("org.com.poc.domain.Room", 1L),
+                CacheInvalidation.collection("org.com.poc.domain.Resident.rooms", 2L),
+                CacheInvalidation.collection("org.com.poc.domain.Resident.rooms", null)
+            )
+        );
+        cacheInvalidationBus.flush();
+
+        CacheInvalidationMessage message = received.poll(5, TimeUnit.SECONDS);
+        assertThat(message.getInvalidations())
+            .containsExactly(
+                CacheInvalidation.entity("org.com.poc.domain.Room", 1L),
+                CacheInvalidation.collection("org.com.poc.domain.Resident.rooms", null)
+            );
+        assertThat(received).isEmpty();
+    }
+}
@@ -0,0 +1,114 @@
+package org.com.poc.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Query latency benchmark of the {@link InvertedIndex} at 1M rooms.
+ * <p>
+ * The class name does not match the Surefire includes, so it is not part of the build; run it explicitly with
+ * {@code ./mvnw test -Dtest=InvertedIndexBenchmark -DargLine=-Xmx2g}.
+ * <p>
+ * The rooms are synthetic: titles of 4 terms and descriptions of 40 terms drawn from a 50k-term vocabulary with a
+ * Zipf distribution, which gives the long-tailed posting lists of natural text.
+ */
+class InvertedIndexBenchmark {
+
+    private static final int ROOMS = 1_000_000;
+
+    private static final int VOCABULARY = 50_000;
+
+    private static final int TITLE_TERMS = 4;
+
+    private static final int DESCRIPTION_TERMS = 40;
+
+    private static final int WARMUP_QUERIES = 500;
+
+    private static final int QUERIES = 2_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private final Logger log = LoggerFactory.getLogger(InvertedIndexBenchmark.class);
+
+    private final Random random = new Random(42);
+
+    private final double[] cumulative = zipf(VOCABULARY, 1.0);
+
+    @Test
+    void queryLatencyAt1MRooms() {
+        InvertedIndex index = new InvertedIndex();
+        long start = System.nanoTime();
+        for (long id = 1; id <= ROOMS; id++) {
+            List<String> terms = new ArrayList<>(TITLE_TERMS * 2 + DESCRIPTION_TERMS);
+            for (int i = 0; i < TITLE_TERMS; i++) {
+                String term = randomTerm();
+                terms.add(term);
+                terms.add(term);
+            }
+            for (int i = 0; i < DESCRIPTION_TERMS; i++) {
+                terms.add(randomTerm());
+            }
+            index.put(id, terms);
+        }
+        log.info("Indexed {} rooms in {} ms", ROOMS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        assertThat(index.size()).isEqualTo(ROOMS);
+
+        for (int terms = 1; terms <= 3; terms++) {
+            run(index, terms, WARMUP_QUERIES);
+            long[] latencies = run(index, terms, QUERIES);
+            Arrays.sort(latencies);
+            log.info(
+                "{}-term queries: p50 {} us, p90 {} us, p99 {} us, max {} us",
+                terms,
+                micros(latencies[latencies.length / 2]),
+                micros(latencies[latencies.length * 9 / 10]),
+                micros(latencies[latencies.length * 99 / 100]),
+                micros(latencies[latencies.length - 1])
+            );
+        }
+    }
+
+    private long[] run(InvertedIndex index, int termCount, int queries) {
+        long[] latencies = new long[queries];
+        for (int q = 0; q < queries; q++) {
+            List<String> terms = new ArrayList<>(termCount);
+            for (int i = 0; i < termCount; i++) {
+                terms.add(randomTerm());
+            }
+            long start = System.nanoTime();
+            index.search(terms, 0, PAGE_SIZE);
+            latencies[q] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private String randomTerm() {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        return "t" + (rank < 0 ? -rank - 1 : rank);
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static double[] zipf(int size, double exponent) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+        return cumulative;
+    }
+}
@@ -0,0 +1,74 @@
+package org.com.poc.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link InvertedIndex} class.
+ */
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(1L, SearchTokenizer.tokenize("quiet room with a garden view"));
+        index.put(2L, SearchTokenizer.tokenize("garden room garden access"));
+        index.put(3L, SearchTokenizer.tokenize("room near the elevator"));
+    }
+
+    @Test
+    void ranksByTermFrequencyAndRarity() {
+        SearchResult result = index.search(List.of("garden"), 0, 10);
+
+        assertThat(result.getIds()).containsExactly(2L, 1L);
+        assertThat(result.getTotalHits()).isEqualTo(2);
+        assertThat(result.getScores()[0]).isGreaterThan(result.getScores()[1]);
+
+        // "elevator" is rarer than "room", so the room near the elevator ranks first
+        assertThat(index.search(List.of("room", "elevator"), 0, 10).getIds()).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void paginatesHits() {
+        SearchResult firstPage = index.search(List.of("room"), 0, 2);
+        SearchResult secondPage = index.search(List.of("room"), 2, 2);
+
+        assertThat(firstPage.getIds()).hasSize(2);
+        assertThat(firstPage.getTotalHits()).isEqualTo(3);
+        assertThat(secondPage.getIds()).hasSize(1).doesNotContain(firstPage.getIds());
+        assertThat(index.search(List.of("room"), 3, 2).getIds()).isEmpty();
+    }
+
+    @Test
+    void replacesAndRemovesDocuments() {
+        index.put(1L, SearchTokenizer.tokenize("quiet room with a pool"));
+        index.remove(2L);
+
+        assertThat(index.search(List.of("garden"), 0, 10).getTotalHits()).isZero();
+        assertThat(index.search(List.of("pool"), 0, 10).getIds()).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.remove(2L)).isFalse();
+    }
+
+    @Test
+    void compactsDeletedDocuments() {
+        int count = 3 * InvertedIndex.COMPACTION_MIN_DELETED;
+        for (long id = 10; id < 10 + count; id++) {
+            index.put(id, SearchTokenizer.tokenize("filler room " + id));
+        }
+        for (long id = 10; id < 10 + count; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search(List.of("room"), 0, 10).getTotalHits()).isEqualTo(3);
+        assertThat(index.search(List.of("garden"), 0, 10).getIds()).containsExactly(2L, 1L);
+        index.put(4L, SearchTokenizer.tokenize("garden"));
+        assertThat(index.search(List.of("garden"), 0, 10).getIds()).contains(4L).hasSize(3);
+    }
+}
@@ -0,0 +1,32 @@
+package org.com.poc.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link SearchTokenizer} class.
+ */
+class SearchTokenizerTest {
+
+    @Test
+    void splitsOnNonAlphanumericCharacters() {
+        assertThat(SearchTokenizer.tokenize("Sea-view room, 2nd floor!")).containsExactly("sea", "view", "room", "2nd", "floor");
+    }
+
+    @Test
+    void stripsAccentsAndLowerCases() {
+        assertThat(SearchTokenizer.tokenize("Chambre ÉTÉ Noël")).containsExactly("chambre", "ete", "noel");
+    }
+
+    @Test
+    void dropsOverlongTerms() {
+        assertThat(SearchTokenizer.tokenize("ok " + "x".repeat(SearchTokenizer.MAX_TERM_LENGTH + 1))).containsExactly("ok");
+    }
+
+    @Test
+    void handlesEmptyText() {
+        assertThat(SearchTokenizer.tokenize(null)).isEmpty();
+        assertThat(SearchTokenizer.tokenize(" - ")).isEmpty();
+    }
+}
@@ -0,0 +1,177 @@
+package org.com.poc.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.com.poc.IntegrationTest;
+import org.com.poc.domain.Facility;
+import org.com.poc.repository.FacilityRepository;
+import org.com.poc.service.ReplicaReads;
+import org.com.poc.service.ResponseCacheService;
+import org.com.poc.service.event.EntityChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link ResponseCacheFilter}.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestPropertySource(properties = "application.response-cache.enabled=true")
+class ResponseCacheFilterIT {
+
+    private static final String FACILITIES_URL = "/api/facilities?page=0&size=20&facilityName.contains=ResponseCacheFilterIT";
+
+    @Autowired
+    private FacilityRepository facilityRepository;
+
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    @MockBean
+    private ReplicaReads replicaReads;
+
+    private final List<Facility> facilities = new ArrayList<>();
+
+    @BeforeEach
+    public void initTest() {
+        responseCacheService.clear();
+        for (int i = 0; i < 10; i++) {
+            facilities.add(facilityRepository.saveAndFlush(new Facility().facilityName("ResponseCacheFilterIT " + i)));
+        }
+    }
+
+    @AfterEach
+    public void cleanup() {
+        facilityRepository.deleteAll(facilities);
+        responseCacheService.clear();
+    }
+
+    @Test
+    void servesTheCachedResponse() throws Exception {
+        MockHttpServletResponse response = restMockMvc.perform(get(FACILITIES_URL)).andExpect(status().isOk()).andReturn().getResponse();
+        double hits = hits();
+
+        restMockMvc
+            .perform(get(FACILITIES_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, response.getHeader(HttpHeaders.ETAG)))
+            .andExpect(content().json(response.getContentAsString(), true));
+
+        assertThat(hits()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void variesOnTheAcceptedEncodingsOnAMissAndAHit() throws Exception {
+        restMockMvc
+            .perform(get(FACILITIES_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)));
+
+        restMockMvc
+            .perform(get(FACILITIES_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)));
+    }
+
+    @Test
+    void servesTheGzippedResponseToTheClientsAcceptingIt() throws Exception {
+        String body = restMockMvc.perform(get(FACILITIES_URL)).andReturn().getResponse().getContentAsString();
+
+        byte[] gzipped = restMockMvc
+            .perform(get(FACILITIES_URL).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        try (GZIPInputStream gunzipped = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertThat(new String(gunzipped.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+        }
+    }
+
+    @Test
+    void invalidatesTheResponseWhenAnEntityChanges() throws Exception {
+        restMockMvc.perform(get(FACILITIES_URL)).andExpect(status().isOk());
+
+        Facility changed = facilities.get(0);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Facility facility = facilityRepository.findById(changed.getId()).orElseThrow();
+            facilityRepository.save(facility.facilityName("ResponseCacheFilterIT changed"));
+            applicationEventPublisher.publishEvent(EntityChangeEvent.updated(Facility.class, changed.getId()));
+        });
+        double hits = hits();
+
+        String body = restMockMvc.perform(get(FACILITIES_URL)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+
+        assertThat(body).contains("ResponseCacheFilterIT changed");
+        assertThat(hits()).isEqualTo(hits);
+    }
+
+    @Test
+    void invalidatesTheResponseWhenAnEntityChangesOnAnotherNode() throws Exception {
+        restMockMvc.perform(get(FACILITIES_URL)).andExpect(status().isOk());
+
+        // The cache invalidation bus publishes the changes of the other nodes outside of a transaction
+        applicationEventPublisher.publishEvent(
+            new EntityChangeEvent(Facility.class, EntityChangeEvent.ChangeType.UPDATED, List.of(facilities.get(0).getId()))
+        );
+        double hits = hits();
+
+        restMockMvc.perform(get(FACILITIES_URL)).andExpect(status().isOk());
+
+        assertThat(hits()).isEqualTo(hits);
+    }
+
+    @Test
+    void doesNotCacheTheResponsesReadFromAReplica() throws Exception {
+        when(replicaReads.isReadingFromReplica()).thenReturn(true);
+        restMockMvc.perform(get(FACILITIES_URL)).andExpect(status().isOk());
+        double hits = hits();
+
+        restMockMvc.perform(get(FACILITIES_URL)).andExpect(status().isOk());
+
+        assertThat(hits()).isEqualTo(hits);
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.response.gets").tag("result", "hit").counter().count();
+    }
+}
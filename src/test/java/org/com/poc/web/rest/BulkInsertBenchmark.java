@@ -0,0 +1,104 @@
+package org.com.poc.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.com.poc.IntegrationTest;
+import org.com.poc.domain.Room;
+import org.com.poc.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Throughput benchmark of {@code POST /api/rooms/bulk} against as many {@code POST /api/rooms}, on the same rooms.
+ * <p>
+ * The class name does not match the Surefire nor the Failsafe includes, so it is not part of the build; run it
+ * explicitly with {@code ./mvnw test -Dtest=BulkInsertBenchmark}, against the database of the profile it should be
+ * measured on.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class BulkInsertBenchmark {
+
+    private static final int WARMUP_ROWS = 500;
+
+    private static final int ROWS = 10_000;
+
+    private static final String TITLE_PREFIX = "bulk-benchmark ";
+
+    private final Logger log = LoggerFactory.getLogger(BulkInsertBenchmark.class);
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private MockMvc restRoomMockMvc;
+
+    @AfterEach
+    public void cleanup() {
+        roomRepository.deleteAllInBatch(
+            roomRepository.findAll().stream().filter(room -> room.getRoomTitle().startsWith(TITLE_PREFIX)).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void bulkEndpointVersusSingleInserts() throws Exception {
+        createOneByOne(rooms(WARMUP_ROWS));
+        createInBulk(rooms(WARMUP_ROWS));
+
+        List<Room> rooms = rooms(ROWS);
+        long singleMillis = createOneByOne(rooms);
+        long bulkMillis = createInBulk(rooms);
+
+        double singleRowsPerSecond = ROWS * 1000d / Math.max(1, singleMillis);
+        double bulkRowsPerSecond = ROWS * 1000d / Math.max(1, bulkMillis);
+        log.info(
+            "{} rooms, single inserts: {} ms ({} rows/s), bulk insert: {} ms ({} rows/s), {}x",
+            ROWS,
+            singleMillis,
+            Math.round(singleRowsPerSecond),
+            bulkMillis,
+            Math.round(bulkRowsPerSecond),
+            Math.round(bulkRowsPerSecond / singleRowsPerSecond * 10) / 10d
+        );
+    }
+
+    private long createOneByOne(List<Room> rooms) throws Exception {
+        long start = System.currentTimeMillis();
+        for (Room room : rooms) {
+            restRoomMockMvc
+                .perform(post("/api/rooms").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(room)))
+                .andExpect(status().isCreated());
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    private long createInBulk(List<Room> rooms) throws Exception {
+        long start = System.currentTimeMillis();
+        restRoomMockMvc
+            .perform(post("/api/rooms/bulk").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(rooms)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(rooms.size()));
+        return System.currentTimeMillis() - start;
+    }
+
+    private static List<Room> rooms(int count) {
+        List<Room> rooms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rooms.add(new Room().roomTitle(TITLE_PREFIX + i).roomDescription("description " + i).roomType("single"));
+        }
+        return rooms;
+    }
+}
@@ -11,6 +11,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
 import org.com.poc.IntegrationTest;
 import org.com.poc.domain.Facility;
+import org.com.poc.domain.Room;
 import org.com.poc.repository.FacilityRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -142,6 +143,22 @@ class FacilityResourceIT {
             .andExpect(jsonPath("$.[*].facilityName").value(hasItem(DEFAULT_FACILITY_NAME)));
     }
 
+    @Test
+    @Transactional
+    void getFacilitiesPage() throws Exception {
+        // Initialize the database
+        facilityRepository.saveAndFlush(facility);
+
+        // Get a page of the facilityList, with an approximate total
+        restFacilityMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=20&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[0].id").value(facility.getId().intValue()))
+            .andExpect(jsonPath("$.[0].facilityName").value(DEFAULT_FACILITY_NAME));
+    }
+
     @Test
     @Transactional
     void getFacility() throws Exception {
@@ -157,6 +174,111 @@ class FacilityResourceIT {
             .andExpect(jsonPath("$.facilityName").value(DEFAULT_FACILITY_NAME));
     }
 
+    @Test
+    @Transactional
+    void getFacilitiesByIdFiltering() throws Exception {
+        // Initialize the database
+        facilityRepository.saveAndFlush(facility);
+
+        Long id = facility.getId();
+
+        defaultFacilityShouldBeFound("id.equals=" + id);
+        defaultFacilityShouldNotBeFound("id.notEquals=" + id);
+
+        defaultFacilityShouldBeFound("id.greaterThanOrEqual=" + id);
+        defaultFacilityShouldNotBeFound("id.greaterThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllFacilitiesByFacilityNameContainsSomething() throws Exception {
+        // Initialize the database
+        facilityRepository.saveAndFlush(facility);
+
+        // Get all the facilityList where facilityName contains DEFAULT_FACILITY_NAME
+        defaultFacilityShouldBeFound("facilityName.contains=" + DEFAULT_FACILITY_NAME);
+
+        // Get all the facilityList where facilityName contains UPDATED_FACILITY_NAME
+        defaultFacilityShouldNotBeFound("facilityName.contains=" + UPDATED_FACILITY_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllFacilitiesByRoomIsEqualToSomething() throws Exception {
+        // Initialize the database
+        facilityRepository.saveAndFlush(facility);
+        Room room;
+        if (TestUtil.findAll(em, Room.class).isEmpty()) {
+            room = RoomResourceIT.createEntity(em);
+            em.persist(room);
+            em.flush();
+        } else {
+            room = TestUtil.findAll(em, Room.class).get(0);
+        }
+        em.persist(room);
+        em.flush();
+        facility.setRoom(room);
+        facilityRepository.saveAndFlush(facility);
+        Long roomId = room.getId();
+
+        // Get all the facilityList where room equals to roomId
+        defaultFacilityShouldBeFound("roomId.equals=" + roomId);
+
+        // Get all the facilityList where room equals to (roomId + 1)
+        defaultFacilityShouldNotBeFound("roomId.equals=" + (roomId + 1));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultFacilityShouldBeFound(String filter) throws Exception {
+        restFacilityMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(facility.getId().intValue())))
+            .andExpect(jsonPath("$.[*].facilityName").value(hasItem(DEFAULT_FACILITY_NAME)));
+
+        // The paginated list applies the same filter
+        restFacilityMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=20&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(facility.getId().intValue())));
+
+        // Check, that the count call also returns 1
+        restFacilityMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultFacilityShouldNotBeFound(String filter) throws Exception {
+        restFacilityMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // The paginated list applies the same filter
+        restFacilityMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=20&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restFacilityMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
     @Test
     @Transactional
     void getNonExistingFacility() throws Exception {
@@ -199,14 +321,14 @@ class FacilityResourceIT {
         int databaseSizeBeforeUpdate = facilityRepository.findAll().size();
         facility.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // An entity that does not exist cannot be updated
         restFacilityMockMvc
             .perform(
                 put(ENTITY_API_URL_ID, facility.getId())
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(facility))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Facility in the database
         List<Facility> facilityList = facilityRepository.findAll();
@@ -311,14 +433,14 @@ class FacilityResourceIT {
         int databaseSizeBeforeUpdate = facilityRepository.findAll().size();
         facility.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // An entity that does not exist cannot be updated
         restFacilityMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, facility.getId())
                     .contentType("application/merge-patch+json")
                     .content(TestUtil.convertObjectToJsonBytes(facility))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Facility in the database
         List<Facility> facilityList = facilityRepository.findAll();
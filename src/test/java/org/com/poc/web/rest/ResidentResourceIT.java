@@ -1,6 +1,7 @@
 package org.com.poc.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -10,12 +11,18 @@ import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
 import org.com.poc.IntegrationTest;
+import org.com.poc.domain.Facility;
 import org.com.poc.domain.Resident;
+import org.com.poc.domain.Room;
 import org.com.poc.repository.ResidentRepository;
+import org.com.poc.web.rest.util.KeysetPaginationUtil;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -159,11 +166,44 @@ class ResidentResourceIT {
             .perform(get(ENTITY_API_URL + "?sort=id,desc"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
             .andExpect(jsonPath("$.[*].id").value(hasItem(resident.getId().intValue())))
             .andExpect(jsonPath("$.[*].residentName").value(hasItem(DEFAULT_RESIDENT_NAME)))
             .andExpect(jsonPath("$.[*].residentAddress").value(hasItem(DEFAULT_RESIDENT_ADDRESS)));
     }
 
+    @Test
+    @Transactional
+    void getAllResidentsWithKeysetPagination() throws Exception {
+        // Initialize the database
+        Resident first = residentRepository.saveAndFlush(createEntity(em));
+        Resident second = residentRepository.saveAndFlush(createEntity(em));
+        Resident third = residentRepository.saveAndFlush(createEntity(em));
+
+        // Get the page following the first resident, the cursor of the next page is in the Link header
+        restResidentMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + KeysetPaginationUtil.encodeCursor(first.getId()) + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(second.getId().intValue()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + KeysetPaginationUtil.encodeCursor(second.getId()))))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")));
+
+        // The last page has no next link
+        restResidentMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + KeysetPaginationUtil.encodeCursor(second.getId()) + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    @Transactional
+    void getAllResidentsWithInvalidCursor() throws Exception {
+        restResidentMockMvc.perform(get(ENTITY_API_URL + "?after=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getResident() throws Exception {
@@ -180,6 +220,120 @@ class ResidentResourceIT {
             .andExpect(jsonPath("$.residentAddress").value(DEFAULT_RESIDENT_ADDRESS));
     }
 
+    @Test
+    @Transactional
+    void getAllResidentsByResidentNameIsEqualToSomething() throws Exception {
+        // Initialize the database
+        residentRepository.saveAndFlush(resident);
+
+        // Get all the residentList where residentName equals to DEFAULT_RESIDENT_NAME
+        defaultResidentShouldBeFound("residentName.equals=" + DEFAULT_RESIDENT_NAME);
+
+        // Get all the residentList where residentName equals to UPDATED_RESIDENT_NAME
+        defaultResidentShouldNotBeFound("residentName.equals=" + UPDATED_RESIDENT_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllResidentsByResidentAddressContainsSomething() throws Exception {
+        // Initialize the database
+        residentRepository.saveAndFlush(resident);
+
+        // Get all the residentList where residentAddress contains DEFAULT_RESIDENT_ADDRESS
+        defaultResidentShouldBeFound("residentAddress.contains=" + DEFAULT_RESIDENT_ADDRESS);
+
+        // Get all the residentList where residentAddress contains UPDATED_RESIDENT_ADDRESS
+        defaultResidentShouldNotBeFound("residentAddress.contains=" + UPDATED_RESIDENT_ADDRESS);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultResidentShouldBeFound(String filter) throws Exception {
+        restResidentMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(resident.getId().intValue())))
+            .andExpect(jsonPath("$.[*].residentName").value(hasItem(DEFAULT_RESIDENT_NAME)))
+            .andExpect(jsonPath("$.[*].residentAddress").value(hasItem(DEFAULT_RESIDENT_ADDRESS)));
+
+        // Check, that the count call also returns 1
+        restResidentMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultResidentShouldNotBeFound(String filter) throws Exception {
+        restResidentMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restResidentMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
+    @Test
+    @Transactional
+    void getResidentDetails() throws Exception {
+        // Initialize the database
+        residentRepository.saveAndFlush(resident);
+        Room firstRoom = RoomResourceIT.createEntity(em).resident(resident);
+        Room secondRoom = RoomResourceIT.createEntity(em).resident(resident);
+        em.persist(firstRoom);
+        em.persist(secondRoom);
+        Facility firstFacility = FacilityResourceIT.createEntity(em).room(firstRoom);
+        Facility secondFacility = FacilityResourceIT.createEntity(em).room(firstRoom);
+        em.persist(firstFacility);
+        em.persist(secondFacility);
+        em.flush();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            // Get the resident with its rooms and facilities
+            restResidentMockMvc
+                .perform(get(ENTITY_API_URL_ID + "/full", resident.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.id").value(resident.getId().intValue()))
+                .andExpect(jsonPath("$.residentName").value(DEFAULT_RESIDENT_NAME))
+                .andExpect(jsonPath("$.rooms.length()").value(2))
+                .andExpect(jsonPath("$.rooms.[0].id").value(firstRoom.getId().intValue()))
+                .andExpect(jsonPath("$.rooms.[0].roomDescription").value(firstRoom.getRoomDescription()))
+                .andExpect(jsonPath("$.rooms.[0].facilities.length()").value(2))
+                .andExpect(jsonPath("$.rooms.[0].facilities.[0].id").value(firstFacility.getId().intValue()))
+                .andExpect(jsonPath("$.rooms.[0].facilities.[0].room").doesNotExist())
+                .andExpect(jsonPath("$.rooms.[1].id").value(secondRoom.getId().intValue()))
+                .andExpect(jsonPath("$.rooms.[1].facilities").isEmpty());
+
+            // One statement per level of the tree
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingResidentDetails() throws Exception {
+        // Get the resident
+        restResidentMockMvc.perform(get(ENTITY_API_URL_ID + "/full", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void getNonExistingResident() throws Exception {
@@ -223,14 +377,14 @@ class ResidentResourceIT {
         int databaseSizeBeforeUpdate = residentRepository.findAll().size();
         resident.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // An entity that does not exist cannot be updated
         restResidentMockMvc
             .perform(
                 put(ENTITY_API_URL_ID, resident.getId())
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(resident))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Resident in the database
         List<Resident> residentList = residentRepository.findAll();
@@ -337,14 +491,14 @@ class ResidentResourceIT {
         int databaseSizeBeforeUpdate = residentRepository.findAll().size();
         resident.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // An entity that does not exist cannot be updated
         restResidentMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, resident.getId())
                     .contentType("application/merge-patch+json")
                     .content(TestUtil.convertObjectToJsonBytes(resident))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Resident in the database
         List<Resident> residentList = residentRepository.findAll();
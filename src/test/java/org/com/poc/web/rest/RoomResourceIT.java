@@ -1,26 +1,41 @@
 package org.com.poc.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import javax.persistence.EntityManager;
 import org.com.poc.IntegrationTest;
+import org.com.poc.domain.Facility;
+import org.com.poc.domain.Resident;
 import org.com.poc.domain.Room;
 import org.com.poc.repository.RoomRepository;
+import org.com.poc.service.EntityTagService;
+import org.com.poc.service.MultiIdService;
+import org.com.poc.service.dto.RoomSummaryDTO;
+import org.com.poc.service.event.EntityChangeEvent;
+import org.com.poc.web.rest.util.KeysetPaginationUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Base64Utils;
+import org.springframework.util.StreamUtils;
 
 /**
  * Integration tests for the {@link RoomResource} REST controller.
@@ -48,6 +63,9 @@ class RoomResourceIT {
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private EntityTagService entityTagService;
+
     @Autowired
     private EntityManager em;
 
@@ -101,6 +119,192 @@ class RoomResourceIT {
         assertThat(testRoom.getRoomType()).isEqualTo(DEFAULT_ROOM_TYPE);
     }
 
+    @Test
+    void bulkCreateRooms() throws Exception {
+        List<Room> roomListBeforeCreate = roomRepository.findAll();
+        Room invalidRoom = createEntity(em).roomTitle(null);
+
+        // Create two valid rooms and an invalid one, which is reported and skipped
+        restRoomMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(createEntity(em), invalidRoom, createUpdatedEntity(em))))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.received").value(3))
+            .andExpect(jsonPath("$.created").value(2))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.chunks.[0].errors.[0].row").value(1))
+            .andExpect(jsonPath("$.chunks.[0].createdIds.length()").value(2));
+
+        // Validate the Rooms in the database, the chunk is committed on its own so clean up afterwards
+        List<Room> roomList = roomRepository.findAll();
+        roomList.removeAll(roomListBeforeCreate);
+        try {
+            assertThat(roomList).hasSize(2);
+            assertThat(roomList).extracting(Room::getRoomTitle).containsExactlyInAnyOrder(DEFAULT_ROOM_TITLE, UPDATED_ROOM_TITLE);
+        } finally {
+            roomRepository.deleteAll(roomList);
+        }
+    }
+
+    @Test
+    void importRoomsFromCsv() throws Exception {
+        List<Room> roomListBeforeImport = roomRepository.findAll();
+        String csv =
+            "id;room_title;room_description;room_type;resident_id\n" +
+            "1;" + DEFAULT_ROOM_TITLE + ";\"multi-line;\n\"\"description\"\"\";" + DEFAULT_ROOM_TYPE + ";\n" +
+            "2;;" + DEFAULT_ROOM_DESCRIPTION + ";" + DEFAULT_ROOM_TYPE + ";\n" +
+            "3;" + UPDATED_ROOM_TITLE + ";" + DEFAULT_ROOM_DESCRIPTION + ";" + DEFAULT_ROOM_TYPE + ";" + Long.MAX_VALUE + "\n";
+
+        // Import the rooms: the one without title and the one referencing a missing resident are reported
+        String progress = restRoomMockMvc
+            .perform(post(ENTITY_API_URL + "/import").contentType("text/csv").content(csv))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        List<Room> roomList = roomRepository.findAll();
+        roomList.removeAll(roomListBeforeImport);
+        try {
+            String[] lines = progress.split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(lines[0]).contains("\"row\":4,").contains("\"row\":5,").contains("resident " + Long.MAX_VALUE + " does not exist");
+            assertThat(lines[1]).contains("\"received\":3").contains("\"created\":1").contains("\"rejected\":2");
+            assertThat(roomList).hasSize(1);
+            assertThat(roomList.get(0).getRoomTitle()).isEqualTo(DEFAULT_ROOM_TITLE);
+            assertThat(roomList.get(0).getRoomDescription()).isEqualTo("multi-line;\n\"description\"");
+        } finally {
+            roomRepository.deleteAll(roomList);
+        }
+    }
+
+    @Test
+    void importRoomsFromFakeDataCsv() throws Exception {
+        List<Room> roomListBeforeImport = roomRepository.findAll();
+        String csv = StreamUtils.copyToString(
+            new ClassPathResource("config/liquibase/fake-data/room.csv").getInputStream(),
+            StandardCharsets.UTF_8
+        );
+        String description = StreamUtils.copyToString(
+            new ClassPathResource("config/liquibase/fake-data/blob/hipster.txt").getInputStream(),
+            StandardCharsets.UTF_8
+        );
+        long rows = csv.lines().skip(1).filter(line -> !line.isBlank()).count();
+        csv +=
+            "98;" + DEFAULT_ROOM_TITLE + ";../fake-data/blob/missing.txt;" + DEFAULT_ROOM_TYPE + "\n" +
+            "99;" + DEFAULT_ROOM_TITLE + ";../../../application.yml;" + DEFAULT_ROOM_TYPE + "\n";
+
+        // Import the rooms: the descriptions are read from the blob files, the missing and outside ones are reported
+        String progress = restRoomMockMvc
+            .perform(post(ENTITY_API_URL + "/import").contentType("text/csv").content(csv))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        List<Room> roomList = roomRepository.findAll();
+        roomList.removeAll(roomListBeforeImport);
+        try {
+            String[] lines = progress.split("\n");
+            assertThat(lines[0]).contains("references a missing file").contains("outside of the fake-data directory");
+            assertThat(lines[lines.length - 1]).contains("\"created\":" + rows).contains("\"rejected\":2");
+            assertThat(roomList).hasSize((int) rows).extracting(Room::getRoomDescription).containsOnly(description);
+        } finally {
+            roomRepository.deleteAll(roomList);
+        }
+    }
+
+    @Test
+    void importRoomsFromNdjsonWithMalformedLines() throws Exception {
+        List<Room> roomListBeforeImport = roomRepository.findAll();
+        String room =
+            "{\"roomTitle\":\"%s\",\"roomDescription\":\"" + DEFAULT_ROOM_DESCRIPTION + "\",\"roomType\":\"" + DEFAULT_ROOM_TYPE + "\"}";
+        String ndjson =
+            String.format(room, DEFAULT_ROOM_TITLE) +
+            "\n" +
+            "{\"roomTitle\":\"unterminated\",\n" +
+            "not json\n" +
+            String.format(room, "trailing") +
+            " }\n" +
+            "\n" +
+            String.format(room, UPDATED_ROOM_TITLE) +
+            "\n";
+
+        // Import the rooms: the malformed lines are reported and the following lines still imported
+        String progress = restRoomMockMvc
+            .perform(post(ENTITY_API_URL + "/import").contentType("application/x-ndjson").content(ndjson))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        List<Room> roomList = roomRepository.findAll();
+        roomList.removeAll(roomListBeforeImport);
+        try {
+            String[] lines = progress.split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(lines[0]).contains("\"row\":2,").contains("\"row\":3,").contains("\"row\":4,");
+            assertThat(lines[1]).contains("\"received\":5").contains("\"created\":2").contains("\"rejected\":3");
+            assertThat(roomList).extracting(Room::getRoomTitle).containsExactlyInAnyOrder(DEFAULT_ROOM_TITLE, UPDATED_ROOM_TITLE);
+        } finally {
+            roomRepository.deleteAll(roomList);
+        }
+    }
+
+    @Test
+    void importRoomsWithUnknownColumn() throws Exception {
+        restRoomMockMvc
+            .perform(post(ENTITY_API_URL + "/import").contentType("text/csv").content("room_title;unknown\nA;B\n"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchRooms() throws Exception {
+        // Create the rooms through the API, the index is updated once their transaction is committed
+        Room seaView = createEntity(em).roomTitle("Seaview suite").roomDescription("Large balcony facing the harbour");
+        Room garden = createEntity(em).roomTitle("Garden room").roomDescription("Ground floor, close to the harbour");
+        List<Long> ids = new ArrayList<>();
+        for (Room room : List.of(seaView, garden)) {
+            String location = restRoomMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(room)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.LOCATION);
+            ids.add(Long.valueOf(location.substring(location.lastIndexOf('/') + 1)));
+        }
+
+        try {
+            // Both rooms mention the harbour, the title match ranks first
+            restRoomMockMvc
+                .perform(get("/api/_search/rooms").param("q", "harbour SEAVIEW").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$.[0].id").value(ids.get(0).intValue()))
+                .andExpect(jsonPath("$.[1].id").value(ids.get(1).intValue()))
+                .andExpect(jsonPath("$.[0].roomDescription").doesNotExist());
+
+            restRoomMockMvc
+                .perform(get("/api/_search/rooms").param("q", "garden"))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(ids.get(1).intValue())));
+        } finally {
+            for (Long id : ids) {
+                restRoomMockMvc.perform(delete(ENTITY_API_URL_ID, id));
+            }
+        }
+
+        // Deleted rooms are removed from the index
+        restRoomMockMvc
+            .perform(get("/api/_search/rooms").param("q", "seaview"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+    }
+
     @Test
     @Transactional
     void createRoomWithExistingId() throws Exception {
@@ -164,10 +368,112 @@ class RoomResourceIT {
             .perform(get(ENTITY_API_URL + "?sort=id,desc"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
             .andExpect(jsonPath("$.[*].id").value(hasItem(room.getId().intValue())))
             .andExpect(jsonPath("$.[*].roomTitle").value(hasItem(DEFAULT_ROOM_TITLE)))
-            .andExpect(jsonPath("$.[*].roomDescription").value(hasItem(DEFAULT_ROOM_DESCRIPTION.toString())))
-            .andExpect(jsonPath("$.[*].roomType").value(hasItem(DEFAULT_ROOM_TYPE)));
+            .andExpect(jsonPath("$.[*].descriptionPreview").value(hasItem(DEFAULT_ROOM_DESCRIPTION.toString())))
+            .andExpect(jsonPath("$.[*].roomType").value(hasItem(DEFAULT_ROOM_TYPE)))
+            .andExpect(jsonPath("$.[*].roomDescription").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllRoomsAsSummaries() throws Exception {
+        // Initialize the database
+        String description = "A".repeat(RoomSummaryDTO.DESCRIPTION_PREVIEW_LENGTH) + "BBBBBBBBBB";
+        room.setRoomDescription(description);
+        roomRepository.saveAndFlush(room);
+        Facility facility = FacilityResourceIT.createEntity(em);
+        facility.setRoom(room);
+        em.persist(facility);
+        em.flush();
+
+        // Get all the roomList, the description is truncated and the facilities are counted
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(room.getId().intValue()))
+            .andExpect(jsonPath("$.[0].descriptionPreview").value(description.substring(0, RoomSummaryDTO.DESCRIPTION_PREVIEW_LENGTH)))
+            .andExpect(jsonPath("$.[0].facilityCount").value(1));
+
+        // The full description is only returned by the room itself
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL_ID, room.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.roomDescription").value(description));
+    }
+
+    @Test
+    @Transactional
+    void getAllRoomsWithResident() throws Exception {
+        // Initialize the database
+        Resident resident = ResidentResourceIT.createEntity(em);
+        em.persist(resident);
+        room.setResident(resident);
+        roomRepository.saveAndFlush(room);
+
+        // Get all the roomList, the resident is read by the same query
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(room.getId().intValue()))
+            .andExpect(jsonPath("$.[0].resident.id").value(resident.getId().intValue()))
+            .andExpect(jsonPath("$.[0].resident.residentName").value(resident.getResidentName()));
+    }
+
+    @Test
+    @Transactional
+    void getAllRoomsWithKeysetPagination() throws Exception {
+        // Initialize the database
+        Room first = roomRepository.saveAndFlush(createEntity(em));
+        Room second = roomRepository.saveAndFlush(createEntity(em));
+        Room third = roomRepository.saveAndFlush(createEntity(em));
+
+        // Get the page following the first room, the cursor of the next page is in the Link header
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + KeysetPaginationUtil.encodeCursor(first.getId()) + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(second.getId().intValue()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + KeysetPaginationUtil.encodeCursor(second.getId()))))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")));
+
+        // The last page has no next link
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + KeysetPaginationUtil.encodeCursor(second.getId()) + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    @Transactional
+    void getAllRoomsWithInvalidCursor() throws Exception {
+        restRoomMockMvc.perform(get(ENTITY_API_URL + "?after=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void exportRooms() throws Exception {
+        // Initialize the database
+        roomRepository.saveAndFlush(room);
+        roomRepository.saveAndFlush(createUpdatedEntity(em));
+
+        // Export all the rooms, one JSON document per line
+        String export = restRoomMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertThat(export).endsWith("\n");
+        assertThat(export.split("\n"))
+            .hasSize(roomRepository.findAll().size())
+            .anyMatch(line -> line.contains("\"id\":" + room.getId() + ",") && line.contains("\"roomTitle\":\"" + DEFAULT_ROOM_TITLE + "\""))
+            .anyMatch(line -> line.contains("\"roomTitle\":\"" + UPDATED_ROOM_TITLE + "\""));
     }
 
     @Test
@@ -187,6 +493,290 @@ class RoomResourceIT {
             .andExpect(jsonPath("$.roomType").value(DEFAULT_ROOM_TYPE));
     }
 
+    @Test
+    @Transactional
+    void getRoomWithEntityTag() throws Exception {
+        // Initialize the database
+        roomRepository.saveAndFlush(room);
+
+        String eTag = restRoomMockMvc
+            .perform(get(ENTITY_API_URL_ID, room.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // The copy of the client is still current
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL_ID, room.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+
+        // Update the room
+        Room updatedRoom = roomRepository.findById(room.getId()).get();
+        updatedRoom.setRoomTitle(UPDATED_ROOM_TITLE);
+        roomRepository.saveAndFlush(updatedRoom);
+
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL_ID, room.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.roomTitle").value(UPDATED_ROOM_TITLE));
+    }
+
+    @Test
+    @Transactional
+    void getRoomWithLastModified() throws Exception {
+        // Initialize the database
+        roomRepository.saveAndFlush(room);
+
+        String lastModified = restRoomMockMvc
+            .perform(get(ENTITY_API_URL_ID, room.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LAST_MODIFIED);
+
+        // The copy of the client is still current
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL_ID, room.getId()).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.LAST_MODIFIED, lastModified))
+            .andExpect(content().string(""));
+
+        // An older copy, or a tag that is not current, which takes precedence
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL_ID, room.getId()).header(HttpHeaders.IF_MODIFIED_SINCE, "Thu, 01 Jan 1970 00:00:00 GMT"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.roomTitle").value(DEFAULT_ROOM_TITLE));
+        restRoomMockMvc
+            .perform(
+                get(ENTITY_API_URL_ID, room.getId())
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"42\"")
+                    .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified)
+            )
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @Transactional
+    void getRoomWithResidentEntityTag() throws Exception {
+        // Initialize the database
+        Resident resident = ResidentResourceIT.createEntity(em);
+        em.persist(resident);
+        em.flush();
+        room.setResident(resident);
+        roomRepository.saveAndFlush(room);
+
+        // The tag of the room changes with the resident it embeds
+        restRoomMockMvc.perform(get(ENTITY_API_URL_ID, room.getId())).andExpect(header().string(HttpHeaders.ETAG, "\"0.0\""));
+        resident.setResidentName("BBBBBBBBBB");
+        em.flush();
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL_ID, room.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0.0\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0.1\""));
+    }
+
+    @Test
+    @Transactional
+    void getAllRoomsWithEntityTag() throws Exception {
+        // Initialize the database
+        roomRepository.saveAndFlush(room);
+
+        String eTag = restRoomMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // A committed change of a resident changes the tag of the room list
+        entityTagService.onEntityChange(EntityChangeEvent.updated(Resident.class, 1L));
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(room.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getRoomsByIds() throws Exception {
+        // Initialize the database
+        Room first = roomRepository.saveAndFlush(createEntity(em));
+        Room second = roomRepository.saveAndFlush(createEntity(em));
+
+        // The rooms are returned in the order of the ids, missing ids are skipped
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL + "?ids=" + second.getId() + "," + Long.MAX_VALUE + "," + first.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(second.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[1].roomDescription").value(DEFAULT_ROOM_DESCRIPTION));
+    }
+
+    @Test
+    @Transactional
+    void getRoomsByTooManyIds() throws Exception {
+        String ids = LongStream.rangeClosed(1, MultiIdService.MAX_IDS + 1).mapToObj(String::valueOf).collect(Collectors.joining(","));
+        restRoomMockMvc.perform(get(ENTITY_API_URL + "?ids=" + ids)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getRoomsByIdFiltering() throws Exception {
+        // Initialize the database
+        roomRepository.saveAndFlush(room);
+
+        Long id = room.getId();
+
+        defaultRoomShouldBeFound("id.equals=" + id);
+        defaultRoomShouldNotBeFound("id.notEquals=" + id);
+
+        defaultRoomShouldBeFound("id.greaterThanOrEqual=" + id);
+        defaultRoomShouldNotBeFound("id.greaterThan=" + id);
+
+        defaultRoomShouldBeFound("id.lessThanOrEqual=" + id);
+        defaultRoomShouldNotBeFound("id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllRoomsByRoomTitleContainsSomething() throws Exception {
+        // Initialize the database
+        roomRepository.saveAndFlush(room);
+
+        // Get all the roomList where roomTitle contains DEFAULT_ROOM_TITLE
+        defaultRoomShouldBeFound("roomTitle.contains=" + DEFAULT_ROOM_TITLE);
+
+        // Get all the roomList where roomTitle contains UPDATED_ROOM_TITLE
+        defaultRoomShouldNotBeFound("roomTitle.contains=" + UPDATED_ROOM_TITLE);
+    }
+
+    @Test
+    @Transactional
+    void getAllRoomsByRoomTypeIsEqualToSomething() throws Exception {
+        // Initialize the database
+        roomRepository.saveAndFlush(room);
+
+        // Get all the roomList where roomType equals to DEFAULT_ROOM_TYPE
+        defaultRoomShouldBeFound("roomType.equals=" + DEFAULT_ROOM_TYPE);
+
+        // Get all the roomList where roomType equals to UPDATED_ROOM_TYPE
+        defaultRoomShouldNotBeFound("roomType.equals=" + UPDATED_ROOM_TYPE);
+    }
+
+    @Test
+    @Transactional
+    void getAllRoomsByRoomTypeIsInShouldWork() throws Exception {
+        // Initialize the database
+        roomRepository.saveAndFlush(room);
+
+        // Get all the roomList where roomType in DEFAULT_ROOM_TYPE or UPDATED_ROOM_TYPE
+        defaultRoomShouldBeFound("roomType.in=" + DEFAULT_ROOM_TYPE + "," + UPDATED_ROOM_TYPE);
+
+        // Get all the roomList where roomType equals to UPDATED_ROOM_TYPE
+        defaultRoomShouldNotBeFound("roomType.in=" + UPDATED_ROOM_TYPE);
+    }
+
+    @Test
+    @Transactional
+    void getAllRoomsByResidentIsEqualToSomething() throws Exception {
+        // Initialize the database
+        roomRepository.saveAndFlush(room);
+        Resident resident;
+        if (TestUtil.findAll(em, Resident.class).isEmpty()) {
+            resident = ResidentResourceIT.createEntity(em);
+            em.persist(resident);
+            em.flush();
+        } else {
+            resident = TestUtil.findAll(em, Resident.class).get(0);
+        }
+        em.persist(resident);
+        em.flush();
+        room.setResident(resident);
+        roomRepository.saveAndFlush(room);
+        Long residentId = resident.getId();
+
+        // Get all the roomList where resident equals to residentId
+        defaultRoomShouldBeFound("residentId.equals=" + residentId);
+
+        // Get all the roomList where resident in residentId
+        defaultRoomShouldBeFound("residentId.in=" + residentId + "," + (residentId + 1));
+
+        // Get all the roomList where resident equals to (residentId + 1)
+        defaultRoomShouldNotBeFound("residentId.equals=" + (residentId + 1));
+    }
+
+    @Test
+    @Transactional
+    void getAllRoomsWithKeysetPaginationAndFilter() throws Exception {
+        // Initialize the database
+        Room first = roomRepository.saveAndFlush(createEntity(em));
+        roomRepository.saveAndFlush(createEntity(em).roomType(UPDATED_ROOM_TYPE));
+        Room third = roomRepository.saveAndFlush(createEntity(em));
+
+        // The filter also applies to keyset pages
+        restRoomMockMvc
+            .perform(
+                get(ENTITY_API_URL + "?after=" + KeysetPaginationUtil.encodeCursor(first.getId()) + "&size=1&roomType.equals=" + DEFAULT_ROOM_TYPE)
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultRoomShouldBeFound(String filter) throws Exception {
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(room.getId().intValue())))
+            .andExpect(jsonPath("$.[*].roomTitle").value(hasItem(DEFAULT_ROOM_TITLE)))
+            .andExpect(jsonPath("$.[*].descriptionPreview").value(hasItem(DEFAULT_ROOM_DESCRIPTION)))
+            .andExpect(jsonPath("$.[*].roomType").value(hasItem(DEFAULT_ROOM_TYPE)));
+
+        // Check, that the count call also returns 1
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultRoomShouldNotBeFound(String filter) throws Exception {
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
     @Test
     @Transactional
     void getNonExistingRoom() throws Exception {
@@ -231,20 +821,77 @@ class RoomResourceIT {
         int databaseSizeBeforeUpdate = roomRepository.findAll().size();
         room.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // An entity that does not exist cannot be updated
         restRoomMockMvc
             .perform(
                 put(ENTITY_API_URL_ID, room.getId())
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(room))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Room in the database
         List<Room> roomList = roomRepository.findAll();
         assertThat(roomList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void putRoomWithOutdatedVersion() throws Exception {
+        // Initialize the database
+        roomRepository.saveAndFlush(room);
+
+        // Update the room
+        Room updatedRoom = roomRepository.findById(room.getId()).get();
+        // Disconnect from session so that the updates on updatedRoom are not directly saved in db
+        em.detach(updatedRoom);
+        long version = updatedRoom.getVersion();
+        updatedRoom.roomTitle(UPDATED_ROOM_TITLE);
+
+        restRoomMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedRoom.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedRoom))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(version + 1));
+        em.clear();
+
+        // A second update from the same, now outdated, version is rejected
+        updatedRoom.roomTitle(DEFAULT_ROOM_TITLE);
+        restRoomMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedRoom.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedRoom))
+            )
+            .andExpect(status().isConflict());
+
+        // Validate the Room in the database
+        Room testRoom = roomRepository.findById(room.getId()).get();
+        assertThat(testRoom.getRoomTitle()).isEqualTo(UPDATED_ROOM_TITLE);
+        assertThat(testRoom.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void putDeletedRoomWithVersion() throws Exception {
+        // Not transactional: the resource commits its own transaction, which must not have been marked for rollback
+        Room deletedRoom = roomRepository.saveAndFlush(room);
+        roomRepository.deleteById(deletedRoom.getId());
+        deletedRoom.roomTitle(UPDATED_ROOM_TITLE);
+
+        restRoomMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, deletedRoom.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(deletedRoom))
+            )
+            .andExpect(status().isNotFound());
+
+        assertThat(roomRepository.findById(deletedRoom.getId())).isEmpty();
+    }
+
     @Test
     @Transactional
     void putWithIdMismatchRoom() throws Exception {
@@ -349,20 +996,45 @@ class RoomResourceIT {
         int databaseSizeBeforeUpdate = roomRepository.findAll().size();
         room.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // An entity that does not exist cannot be updated
         restRoomMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, room.getId())
                     .contentType("application/merge-patch+json")
                     .content(TestUtil.convertObjectToJsonBytes(room))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Room in the database
         List<Room> roomList = roomRepository.findAll();
         assertThat(roomList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void patchRoomWithOutdatedVersion() throws Exception {
+        // Initialize the database
+        roomRepository.saveAndFlush(room);
+
+        // Update the room using partial update, from a version that is not the current one
+        Room partialUpdatedRoom = new Room();
+        partialUpdatedRoom.setId(room.getId());
+
+        partialUpdatedRoom.version(room.getVersion() + 1).roomType(UPDATED_ROOM_TYPE);
+
+        restRoomMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedRoom.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedRoom))
+            )
+            .andExpect(status().isConflict());
+
+        // Validate the Room in the database
+        Room testRoom = roomRepository.findById(room.getId()).get();
+        assertThat(testRoom.getRoomType()).isEqualTo(DEFAULT_ROOM_TYPE);
+    }
+
     @Test
     @Transactional
     void patchWithIdMismatchRoom() throws Exception {
@@ -416,4 +1088,45 @@ class RoomResourceIT {
         List<Room> roomList = roomRepository.findAll();
         assertThat(roomList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void deleteRoomsByIds() throws Exception {
+        // Initialize the database
+        Room first = roomRepository.saveAndFlush(createEntity(em));
+        Room second = roomRepository.saveAndFlush(createEntity(em));
+        Room kept = roomRepository.saveAndFlush(createEntity(em));
+
+        int databaseSizeBeforeDelete = roomRepository.findAll().size();
+
+        // Delete the rooms, the missing id is ignored
+        restRoomMockMvc
+            .perform(delete(ENTITY_API_URL + "?ids=" + first.getId() + "," + second.getId() + "," + Long.MAX_VALUE))
+            .andExpect(status().isNoContent());
+
+        // Validate the database contains two less items
+        List<Room> roomList = roomRepository.findAll();
+        assertThat(roomList).hasSize(databaseSizeBeforeDelete - 2);
+        assertThat(roomRepository.findById(first.getId())).isEmpty();
+        assertThat(roomRepository.findById(kept.getId())).isPresent();
+    }
+
+    @Test
+    @Transactional
+    void deleteReferencedRoomsByIds() throws Exception {
+        // Initialize the database
+        Room referenced = roomRepository.saveAndFlush(createEntity(em));
+        Facility facility = FacilityResourceIT.createEntity(em);
+        facility.setRoom(referenced);
+        em.persist(facility);
+        em.flush();
+
+        // The facility still references the room
+        restRoomMockMvc
+            .perform(delete(ENTITY_API_URL + "?ids=" + referenced.getId()))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("error.dataIntegrityViolation"));
+
+        assertThat(roomRepository.findById(referenced.getId())).isPresent();
+    }
 }
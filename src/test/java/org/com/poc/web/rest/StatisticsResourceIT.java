@@ -0,0 +1,216 @@
+package org.com.poc.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.jayway.jsonpath.JsonPath;
+import java.util.UUID;
+import javax.persistence.EntityManagerFactory;
+import org.com.poc.IntegrationTest;
+import org.com.poc.domain.Facility;
+import org.com.poc.domain.Resident;
+import org.com.poc.domain.Room;
+import org.com.poc.repository.RoomRepository;
+import org.com.poc.service.RoomStatisticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link StatisticsResource} REST controller.
+ * <p>
+ * The statistics are updated once a transaction is committed, so these tests are not transactional: they write
+ * through the API or the repositories and clean up after themselves.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class StatisticsResourceIT {
+
+    private static final String API_URL = "/api/stats/rooms";
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomStatisticsService roomStatisticsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc restStatisticsMockMvc;
+
+    @Test
+    void getRoomStatisticsFollowsChanges() throws Exception {
+        String roomType = "STATS-" + UUID.randomUUID();
+        long totalRooms = readLong("$.totalRooms");
+        long totalFacilities = readLong("$.totalFacilities");
+        long residentsWithOneRoom = roomStatisticsService.getStatistics().getResidentsPerRoomCount().getOrDefault(1, 0L);
+        long roomsWithOneFacility = roomStatisticsService.getStatistics().getRoomsPerFacilityCount().getOrDefault(1, 0L);
+
+        Long residentId = create("/api/residents", new Resident().residentName("AAAAAAAAAA").residentAddress("AAAAAAAAAA"));
+        Resident resident = new Resident();
+        resident.setId(residentId);
+        Long firstRoomId = create(
+            "/api/rooms",
+            new Room().roomTitle("AAAAAAAAAA").roomDescription("AAAAAAAAAA").roomType(roomType).resident(resident)
+        );
+        Long secondRoomId = create("/api/rooms", new Room().roomTitle("AAAAAAAAAA").roomDescription("AAAAAAAAAA").roomType(roomType));
+        Room firstRoom = new Room();
+        firstRoom.setId(firstRoomId);
+        Long facilityId = create("/api/facilities", new Facility().facilityName("AAAAAAAAAA").room(firstRoom));
+
+        try {
+            restStatisticsMockMvc
+                .perform(get(API_URL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.totalRooms").value(totalRooms + 2))
+                .andExpect(jsonPath("$.totalFacilities").value(totalFacilities + 1))
+                .andExpect(jsonPath("$.roomsPerType['" + roomType + "']").value(2))
+                .andExpect(jsonPath("$.residentsPerRoomCount['1']").value(residentsWithOneRoom + 1))
+                .andExpect(jsonPath("$.roomsPerFacilityCount['1']").value(roomsWithOneFacility + 1));
+
+            // Moving a room to another type is reflected in both types
+            restStatisticsMockMvc.perform(
+                patch("/api/rooms/{id}", secondRoomId)
+                    .contentType("application/merge-patch+json")
+                    .content("{\"id\":" + secondRoomId + ",\"roomType\":\"" + roomType + "-2\"}")
+            );
+            restStatisticsMockMvc
+                .perform(get(API_URL))
+                .andExpect(jsonPath("$.roomsPerType['" + roomType + "']").value(1))
+                .andExpect(jsonPath("$.roomsPerType['" + roomType + "-2']").value(1));
+        } finally {
+            restStatisticsMockMvc.perform(delete("/api/facilities/{id}", facilityId));
+            restStatisticsMockMvc.perform(delete("/api/rooms/{id}", firstRoomId));
+            restStatisticsMockMvc.perform(delete("/api/rooms/{id}", secondRoomId));
+            restStatisticsMockMvc.perform(delete("/api/residents/{id}", residentId));
+        }
+
+        restStatisticsMockMvc
+            .perform(get(API_URL))
+            .andExpect(jsonPath("$.totalRooms").value(totalRooms))
+            .andExpect(jsonPath("$.totalFacilities").value(totalFacilities))
+            .andExpect(jsonPath("$.roomsPerType['" + roomType + "']").doesNotExist());
+        assertThat(roomStatisticsService.getStatistics().getResidentsPerRoomCount().getOrDefault(1, 0L)).isEqualTo(residentsWithOneRoom);
+        assertThat(roomStatisticsService.getStatistics().getRoomsPerFacilityCount().getOrDefault(1, 0L)).isEqualTo(roomsWithOneFacility);
+    }
+
+    @Test
+    void getRoomStatisticsFollowsPuts() throws Exception {
+        String roomType = "STATS-" + UUID.randomUUID();
+        long residentsWithOneRoom = roomStatisticsService.getStatistics().getResidentsPerRoomCount().getOrDefault(1, 0L);
+        long roomsWithoutResident = readLong("$.roomsWithoutResident");
+
+        Long residentId = create("/api/residents", new Resident().residentName("AAAAAAAAAA").residentAddress("AAAAAAAAAA"));
+        Resident resident = new Resident();
+        resident.setId(residentId);
+        Long roomId = create(
+            "/api/rooms",
+            new Room().roomTitle("AAAAAAAAAA").roomDescription("AAAAAAAAAA").roomType(roomType).resident(resident)
+        );
+
+        try {
+            restStatisticsMockMvc
+                .perform(get(API_URL))
+                .andExpect(jsonPath("$.roomsPerType['" + roomType + "']").value(1))
+                .andExpect(jsonPath("$.residentsPerRoomCount['1']").value(residentsWithOneRoom + 1));
+
+            // The whole room is replaced, with another type and without its resident
+            Room updatedRoom = new Room().roomTitle("AAAAAAAAAA").roomDescription("AAAAAAAAAA").roomType(roomType + "-2");
+            updatedRoom.setId(roomId);
+            restStatisticsMockMvc
+                .perform(
+                    put("/api/rooms/{id}", roomId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(updatedRoom))
+                )
+                .andExpect(status().isOk());
+
+            restStatisticsMockMvc
+                .perform(get(API_URL))
+                .andExpect(jsonPath("$.roomsPerType['" + roomType + "']").doesNotExist())
+                .andExpect(jsonPath("$.roomsPerType['" + roomType + "-2']").value(1))
+                .andExpect(jsonPath("$.roomsWithoutResident").value(roomsWithoutResident + 1));
+            assertThat(roomStatisticsService.getStatistics().getResidentsPerRoomCount().getOrDefault(1, 0L))
+                .isEqualTo(residentsWithOneRoom);
+        } finally {
+            restStatisticsMockMvc.perform(delete("/api/rooms/{id}", roomId));
+            restStatisticsMockMvc.perform(delete("/api/residents/{id}", residentId));
+        }
+    }
+
+    @Test
+    void getRoomStatisticsFollowsDeletesByIds() throws Exception {
+        String roomType = "STATS-" + UUID.randomUUID();
+        long totalRooms = readLong("$.totalRooms");
+        Room room = new Room().roomTitle("AAAAAAAAAA").roomDescription("AAAAAAAAAA").roomType(roomType);
+        Long firstId = create("/api/rooms", room);
+        Long secondId = create("/api/rooms", room);
+
+        try {
+            restStatisticsMockMvc.perform(get(API_URL)).andExpect(jsonPath("$.roomsPerType['" + roomType + "']").value(2));
+
+            restStatisticsMockMvc.perform(delete("/api/rooms?ids=" + firstId + "," + secondId)).andExpect(status().isNoContent());
+
+            restStatisticsMockMvc
+                .perform(get(API_URL))
+                .andExpect(jsonPath("$.totalRooms").value(totalRooms))
+                .andExpect(jsonPath("$.roomsPerType['" + roomType + "']").doesNotExist());
+        } finally {
+            restStatisticsMockMvc.perform(delete("/api/rooms?ids=" + firstId + "," + secondId));
+        }
+    }
+
+    @Test
+    void reconcileFixesDrift() throws Exception {
+        String roomType = "STATS-" + UUID.randomUUID();
+
+        Room room = roomRepository.saveAndFlush(new Room().roomTitle("AAAAAAAAAA").roomDescription("AAAAAAAAAA").roomType(roomType));
+        try {
+            restStatisticsMockMvc.perform(get(API_URL)).andExpect(jsonPath("$.roomsPerType['" + roomType + "']").value(1));
+
+            // Updated without going through Hibernate, so the statistics do not see the change
+            jdbcTemplate.update("update room set room_type = ? where id = ?", roomType + "-2", room.getId());
+            entityManagerFactory.getCache().evict(Room.class, room.getId());
+            restStatisticsMockMvc.perform(get(API_URL)).andExpect(jsonPath("$.roomsPerType['" + roomType + "-2']").doesNotExist());
+
+            roomStatisticsService.reconcile();
+
+            restStatisticsMockMvc
+                .perform(get(API_URL))
+                .andExpect(jsonPath("$.roomsPerType['" + roomType + "']").doesNotExist())
+                .andExpect(jsonPath("$.roomsPerType['" + roomType + "-2']").value(1));
+        } finally {
+            roomRepository.deleteById(room.getId());
+            roomStatisticsService.reconcile();
+        }
+        assertThat(roomStatisticsService.getStatistics().getRoomsPerType()).doesNotContainKey(roomType + "-2");
+    }
+
+    private long readLong(String path) throws Exception {
+        String content = restStatisticsMockMvc.perform(get(API_URL)).andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(content, path)).longValue();
+    }
+
+    private Long create(String url, Object entity) throws Exception {
+        String location = restStatisticsMockMvc
+            .perform(post(url).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(entity)))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LOCATION);
+        return Long.valueOf(location.substring(location.lastIndexOf('/') + 1));
+    }
+}
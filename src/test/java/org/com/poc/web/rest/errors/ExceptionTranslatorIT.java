@@ -35,6 +35,15 @@ class ExceptionTranslatorIT {
             .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_CONCURRENCY_FAILURE));
     }
 
+    @Test
+    void testDataIntegrityViolation() throws Exception {
+        mockMvc
+            .perform(get("/api/exception-translator-test/data-integrity-violation"))
+            .andExpect(status().isConflict())
+            .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_DATA_INTEGRITY_VIOLATION));
+    }
+
     @Test
     void testMethodArgumentNotValid() throws Exception {
         mockMvc
@@ -0,0 +1,67 @@
+package org.com.poc.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Test class for the {@link KeysetPaginationUtil} utility class.
+ */
+class KeysetPaginationUtilTest {
+
+    @Test
+    void cursorRoundTrip() {
+        String cursor = KeysetPaginationUtil.encodeCursor(123456789L);
+        assertThat(cursor).doesNotContain("123456789");
+        assertThat(KeysetPaginationUtil.decodeCursor(cursor)).contains(123456789L);
+    }
+
+    @Test
+    void emptyCursorStartsFromTheBeginning() {
+        assertThat(KeysetPaginationUtil.decodeCursor(null)).isEmpty();
+        assertThat(KeysetPaginationUtil.decodeCursor("")).isEmpty();
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        assertThatThrownBy(() -> KeysetPaginationUtil.decodeCursor("not-a-cursor")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void keysetPageableIgnoresPageAndSort() {
+        Pageable pageable = KeysetPaginationUtil.keysetPageable(PageRequest.of(7, 30, Sort.by("roomTitle")));
+        assertThat(pageable.getPageNumber()).isZero();
+        assertThat(pageable.getPageSize()).isEqualTo(30);
+        assertThat(pageable.getSort()).isEqualTo(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    @Test
+    void generateNextLinkHeader() {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString("/api/rooms?after=&page=3&size=2&sort=id,desc");
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            uriBuilder,
+            new SliceImpl<>(List.of(4L, 9L), PageRequest.of(0, 2), true),
+            id -> id
+        );
+        assertThat(headers.getFirst(HttpHeaders.LINK))
+            .isEqualTo("</api/rooms?after=" + KeysetPaginationUtil.encodeCursor(9L) + "&size=2>; rel=\"next\"");
+    }
+
+    @Test
+    void noNextLinkOnLastSlice() {
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            UriComponentsBuilder.fromUriString("/api/rooms?after="),
+            new SliceImpl<>(List.of(4L), PageRequest.of(0, 2), false),
+            id -> id
+        );
+        assertThat(headers.containsKey(HttpHeaders.LINK)).isFalse();
+    }
+}
@@ -0,0 +1,51 @@
+package org.com.poc.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Test class for the {@link SlicePaginationUtil} utility class.
+ */
+class SlicePaginationUtilTest {
+
+    private static final String BASE_URL = "/api/_search/example";
+
+    @Test
+    void approximateTotalIsUsedWhenThereIsANextSlice() {
+        HttpHeaders headers = SlicePaginationUtil.generateSlicePaginationHttpHeaders(
+            UriComponentsBuilder.fromUriString(BASE_URL),
+            new SliceImpl<>(List.of("a", "b"), PageRequest.of(1, 2), true),
+            100L
+        );
+        assertThat(headers.getFirst("X-Total-Count")).isEqualTo("100");
+        assertThat(headers.getFirst(HttpHeaders.LINK)).contains("rel=\"next\"");
+    }
+
+    @Test
+    void approximateTotalIsRaisedWhenTooLow() {
+        HttpHeaders headers = SlicePaginationUtil.generateSlicePaginationHttpHeaders(
+            UriComponentsBuilder.fromUriString(BASE_URL),
+            new SliceImpl<>(List.of("a", "b"), PageRequest.of(1, 2), true),
+            3L
+        );
+        assertThat(headers.getFirst("X-Total-Count")).isEqualTo("5");
+        assertThat(headers.getFirst(HttpHeaders.LINK)).contains("rel=\"next\"");
+    }
+
+    @Test
+    void exactTotalIsUsedOnTheLastSlice() {
+        HttpHeaders headers = SlicePaginationUtil.generateSlicePaginationHttpHeaders(
+            UriComponentsBuilder.fromUriString(BASE_URL),
+            new SliceImpl<>(List.of("a"), PageRequest.of(1, 2), false),
+            100L
+        );
+        assertThat(headers.getFirst("X-Total-Count")).isEqualTo("3");
+        assertThat(headers.getFirst(HttpHeaders.LINK)).doesNotContain("rel=\"next\"");
+    }
+}